@@ -0,0 +1,186 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.core.jar.boot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+/**
+ * A cache of the servers extracted from bootable JARs, so that a server is only extracted once, rather than each time a
+ * bootable JAR is started.
+ * <p>
+ * Each server is extracted in a directory of the cache named after the content of the server, which is then shared by
+ * the processes started from bootable JARs containing the same server. A process is given an installation in which
+ * the files of the cached server that are never written in place are hard links, i.e. the JAR files outside the
+ * {@code standalone} directory, such as those of the modules, and the files of the content repository. The other files
+ * are copied, as the server, its CLI scripts or extensions may update them in place, e.g. a {@code module.xml} or the
+ * configuration, which would otherwise change the cached server for every process sharing it.
+ * </p>
+ */
+final class InstallationCache {
+
+    // Written once a server is completely extracted
+    private static final String COMPLETE_MARKER = ".installation-complete";
+    private static final String SERVER_DIR = "standalone";
+    private static final String CONTENT_DIR = "standalone/data/content";
+    private static final String JAR_SUFFIX = ".jar";
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Extracts a server.
+     */
+    @FunctionalInterface
+    interface Extractor {
+        void extract(Path dir) throws Exception;
+    }
+
+    private final Path cacheDir;
+
+    InstallationCache(final Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Gets the key identifying the content of a server in the cache, i.e. the SHA-256 hash of the server archive.
+     * <p>
+     * The hash is read from the digest computed when the bootable JAR was packaged, if any, so that the server archive
+     * is not read when the server is already cached. Otherwise, it is computed from the content of the archive.
+     * </p>
+     *
+     * @param server the server archive
+     * @param digest the lowercase hexadecimal SHA-256 hash of the server archive, or {@code null} if it was not
+     *               computed when the bootable JAR was packaged
+     * @return the key
+     * @throws IOException if the server or its digest cannot be read
+     */
+    static String getKey(final URL server, final URL digest) throws IOException {
+        if (digest != null) {
+            try (InputStream in = digest.openStream()) {
+                final String key = new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+                if (SHA_256.matcher(key).matches()) {
+                    return key;
+                }
+            }
+        }
+        try (InputStream in = server.openStream()) {
+            final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+            }
+            final StringBuilder key = new StringBuilder();
+            for (byte b : sha256.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Gets the cached server with the given key, extracting it in the cache if it is not already there.
+     *
+     * @param key the key of the server
+     * @param extractor extracts the server if it is not cached
+     * @return the directory of the cached server
+     * @throws Exception if the server cannot be extracted
+     */
+    Path getServer(final String key, final Extractor extractor) throws Exception {
+        final Path server = cacheDir.resolve(key);
+        if (Files.exists(server.resolve(COMPLETE_MARKER))) {
+            return server;
+        }
+        Files.createDirectories(cacheDir);
+        // Extracted aside, then moved in place, so that other processes never see a partially extracted server
+        final Path extracted = Files.createTempDirectory(cacheDir, key + "-");
+        try {
+            extractor.extract(extracted);
+            Files.createFile(extracted.resolve(COMPLETE_MARKER));
+            Files.move(extracted, server, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileSystemException e) {
+            // Extracted by another process in the meantime, the move then failing with an exception depending on the
+            // platform, e.g. a plain FileSystemException on Linux when the target is a non-empty directory
+            if (Files.notExists(server.resolve(COMPLETE_MARKER))) {
+                throw e;
+            }
+        } finally {
+            delete(extracted);
+        }
+        return server;
+    }
+
+    /**
+     * Creates the installation of a process from a cached server.
+     *
+     * @param server the directory of the cached server
+     * @param installDir the directory of the installation
+     * @throws IOException if the installation cannot be created
+     */
+    static void install(final Path server, final Path installDir) throws IOException {
+        final Path serverDir = server.resolve(SERVER_DIR);
+        final Path contentDir = server.resolve(CONTENT_DIR);
+        Files.walkFileTree(server, new SimpleFileVisitor<Path>() {
+            private boolean link = true;
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(installDir.resolve(server.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                final Path target = installDir.resolve(server.relativize(file).toString());
+                if (file.getParent().equals(server) && file.getFileName().toString().equals(COMPLETE_MARKER)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (link && (file.startsWith(contentDir) || (!file.startsWith(serverDir) && file.getFileName().toString().endsWith(JAR_SUFFIX)))) {
+                    try {
+                        Files.createLink(target, file);
+                        return FileVisitResult.CONTINUE;
+                    } catch (UnsupportedOperationException | IOException e) {
+                        // Such as when the cache and the installation are on different file systems
+                        link = false;
+                    }
+                }
+                Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(final Path dir) throws IOException {
+        if (Files.notExists(dir)) {
+            return;
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -60,11 +60,15 @@ public final class Main {
     private static final String BOOTABLE_JAR_RUNTIME_CONFIGURATOR_ARGS_METHOD_NAME = "getArguments";
 
     private static final String INSTALL_DIR = "--install-dir";
+    private static final String INSTALL_CACHE_DIR = "--install-cache-dir";
     private static final String SECMGR = "-secmgr";
     private static final String DISPLAY_GALLEON_CONFIG = "--display-galleon-config";
 
     private static final String WILDFLY_RESOURCE = "/wildfly.zip";
 
+    // The SHA-256 hash of the server archive, if computed when the bootable JAR was packaged
+    private static final String WILDFLY_DIGEST_RESOURCE = "/wildfly.zip.sha256";
+
     private static final String PROVISIONING_RESOURCE = "/provisioning.xml";
 
     private static final String WILDFLY_BOOTABLE_TMP_DIR_PREFIX = "wildfly-bootable-server";
@@ -86,11 +90,14 @@ public final class Main {
 
         List<String> filteredArgs = new ArrayList<>();
         Path installDir = null;
+        Path installCacheDir = null;
         boolean securityManager = false;
         boolean displayGalleonConfig = false;
 
         for (String arg : args) {
-            if (arg.startsWith(INSTALL_DIR)) {
+            if (arg.startsWith(INSTALL_CACHE_DIR)) {
+                installCacheDir = Paths.get(getValue(arg));
+            } else if (arg.startsWith(INSTALL_DIR)) {
                 installDir = Paths.get(getValue(arg));
             } else if (SECMGR.equals(arg)) {
                 securityManager = true;
@@ -135,11 +142,23 @@ public final class Main {
                     "to be running.", installDir));
         }
 
-        try (InputStream wf = Main.class.getResourceAsStream(WILDFLY_RESOURCE)) {
-            if (wf == null) {
-                throw new Exception("Resource " + WILDFLY_RESOURCE + " doesn't exist, can't run.");
+        final URL wildfly = Main.class.getResource(WILDFLY_RESOURCE);
+        if (wildfly == null) {
+            throw new Exception("Resource " + WILDFLY_RESOURCE + " doesn't exist, can't run.");
+        }
+        if (installCacheDir == null) {
+            try (InputStream wf = wildfly.openStream()) {
+                unzip(wf, installDir);
             }
-            unzip(wf, installDir);
+        } else {
+            // The server is only extracted if it is not already in the cache
+            final String key = InstallationCache.getKey(wildfly, Main.class.getResource(WILDFLY_DIGEST_RESOURCE));
+            final Path server = new InstallationCache(installCacheDir).getServer(key, dir -> {
+                try (InputStream wf = wildfly.openStream()) {
+                    unzip(wf, dir);
+                }
+            });
+            InstallationCache.install(server, installDir);
         }
 
         //Extensions are injected by the maven plugin during packaging.
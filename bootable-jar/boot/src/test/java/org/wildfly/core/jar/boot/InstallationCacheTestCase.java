@@ -0,0 +1,163 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.core.jar.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link InstallationCache}.
+ */
+public class InstallationCacheTestCase {
+
+    private Path dir;
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("installation-cache");
+    }
+
+    @After
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testServerExtractedOnce() throws Exception {
+        final InstallationCache cache = new InstallationCache(dir.resolve("cache"));
+        final AtomicInteger extractions = new AtomicInteger();
+        final InstallationCache.Extractor extractor = server -> {
+            extractions.incrementAndGet();
+            write(server.resolve("modules/module.xml"), "module");
+        };
+        final Path server = cache.getServer("key", extractor);
+        assertEquals(server, cache.getServer("key", extractor));
+        assertEquals(1, extractions.get());
+        // Only the extracted server is left in the cache
+        try (Stream<Path> files = Files.list(dir.resolve("cache"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testConcurrentExtraction() throws Exception {
+        final InstallationCache cache = new InstallationCache(dir.resolve("cache"));
+        // Both extract the server before either moves it in place
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final InstallationCache.Extractor extractor = server -> {
+            write(server.resolve("modules/module.xml"), "module");
+            barrier.await(10, TimeUnit.SECONDS);
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Path> first = executor.submit(() -> cache.getServer("key", extractor));
+            final Future<Path> second = executor.submit(() -> cache.getServer("key", extractor));
+            final Path server = first.get(10, TimeUnit.SECONDS);
+            assertEquals(server, second.get(10, TimeUnit.SECONDS));
+            assertEquals("module", read(server.resolve("modules/module.xml")));
+        } finally {
+            executor.shutdownNow();
+        }
+        // The server extracted by the loser is deleted
+        try (Stream<Path> files = Files.list(dir.resolve("cache"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testFailedExtraction() throws Exception {
+        final InstallationCache cache = new InstallationCache(dir.resolve("cache"));
+        try {
+            cache.getServer("key", server -> {
+                write(server.resolve("modules/module.xml"), "module");
+                throw new IOException("Truncated");
+            });
+        } catch (IOException expected) {
+        }
+        final Path server = cache.getServer("key", extracted -> write(extracted.resolve("modules/module.xml"), "module"));
+        assertTrue(Files.exists(server.resolve("modules/module.xml")));
+    }
+
+    @Test
+    public void testInstall() throws Exception {
+        final Path server = new InstallationCache(dir.resolve("cache")).getServer("key", extracted -> {
+            write(extracted.resolve("modules/module.xml"), "module");
+            write(extracted.resolve("modules/module.jar"), "classes");
+            write(extracted.resolve("standalone/configuration/standalone.xml"), "server");
+            write(extracted.resolve("standalone/data/content/ff/00/content"), "deployment");
+        });
+        final Path installDir = dir.resolve("install");
+        InstallationCache.install(server, installDir);
+        assertEquals("module", read(installDir.resolve("modules/module.xml")));
+        assertEquals("deployment", read(installDir.resolve("standalone/data/content/ff/00/content")));
+        assertFalse(Files.exists(installDir.resolve(".installation-complete")));
+
+        // The configuration written by a process is not shared with the others
+        write(installDir.resolve("standalone/configuration/standalone.xml"), "updated");
+        assertEquals("server", read(server.resolve("standalone/configuration/standalone.xml")));
+        // Nor are other files that may be updated in place, such as by a CLI script, unlike JARs
+        write(installDir.resolve("modules/module.xml"), "updated");
+        assertEquals("module", read(server.resolve("modules/module.xml")));
+        assertTrue(Files.isSameFile(server.resolve("modules/module.jar"), installDir.resolve("modules/module.jar")));
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        final Path first = dir.resolve("first.zip");
+        final Path second = dir.resolve("second.zip");
+        write(first, "server");
+        write(second, "server");
+        assertEquals(InstallationCache.getKey(first.toUri().toURL(), null), InstallationCache.getKey(second.toUri().toURL(), null));
+        // The SHA-256 hash of the content
+        assertEquals("b3eacd33433b31b5252351032c9b3e7a2e7aa7738d5decdf0dd6c62680853c06", InstallationCache.getKey(first.toUri().toURL(), null));
+        write(second, "Server");
+        assertNotEquals(InstallationCache.getKey(first.toUri().toURL(), null), InstallationCache.getKey(second.toUri().toURL(), null));
+    }
+
+    @Test
+    public void testKeyFromDigest() throws Exception {
+        final String key = "b3eacd33433b31b5252351032c9b3e7a2e7aa7738d5decdf0dd6c62680853c06";
+        final Path digest = dir.resolve("server.zip.sha256");
+        write(digest, key + "\n");
+        // The digest computed when the bootable JAR was packaged is used without reading the server
+        assertEquals(key, InstallationCache.getKey(dir.resolve("missing.zip").toUri().toURL(), digest.toUri().toURL()));
+        // An invalid digest is ignored
+        final Path server = dir.resolve("server.zip");
+        write(server, "Server");
+        write(digest, "invalid");
+        assertEquals(InstallationCache.getKey(server.toUri().toURL(), null),
+                InstallationCache.getKey(server.toUri().toURL(), digest.toUri().toURL()));
+    }
+
+    private static void write(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(final Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -43,6 +43,9 @@ final class CmdUsage extends CommandLineArgumentUsage {
         instructions.add(BootableJarLogger.ROOT_LOGGER.argInstallation());
         addArguments(Constants.INSTALL_DIR_ARG + "=<value>");
 
+        addArguments(Constants.INSTALL_CACHE_DIR_ARG + "=<value>");
+        instructions.add(BootableJarLogger.ROOT_LOGGER.argInstallationCache());
+
         addArguments(CommandLineConstants.PROPERTIES + "=<url>");
         instructions.add(BootableJarLogger.ROOT_LOGGER.argProperties());
 
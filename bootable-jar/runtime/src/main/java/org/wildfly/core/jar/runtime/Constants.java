@@ -12,6 +12,7 @@ interface Constants {
 
     static final String DEPLOYMENT_ARG = "--deployment";
     static final String INSTALL_DIR_ARG = "--install-dir";
+    static final String INSTALL_CACHE_DIR_ARG = "--install-cache-dir";
     static final String DISPLAY_GALLEON_CONFIG_ARG = "--display-galleon-config";
     static final String CLI_SCRIPT_ARG = "--cli-script";
 
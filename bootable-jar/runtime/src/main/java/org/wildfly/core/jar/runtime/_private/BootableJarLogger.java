@@ -155,6 +155,9 @@ public interface BootableJarLogger extends BasicLogger {
     @Message(id = Message.NONE, value = "Path to directory in which the server is installed. By default the server is installed in TEMP directory.")
     String argInstallation();
 
+    @Message(id = Message.NONE, value = "Path to directory in which the server is extracted once, and reused by the next starts of a bootable JAR containing the same server. The server is then installed by linking to the extracted files rather than extracting them again.")
+    String argInstallationCache();
+
     @Message(id = Message.NONE, value = "Display the content of the Galleon configuration used to build this bootable JAR")
     String argDisplayGalleonConfig();
 
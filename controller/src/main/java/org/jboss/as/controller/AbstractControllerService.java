@@ -530,7 +530,12 @@ public abstract class AbstractControllerService implements Service<ModelControll
                     try {
                         authorizer.shutdown();
                     } finally {
-                        context.complete();
+                        try {
+                            // Write the queued audit log records, records logged afterwards being written synchronously
+                            auditLogger.stopAsyncWriter();
+                        } finally {
+                            context.complete();
+                        }
                     }
                 }
             }
@@ -167,6 +167,9 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
     // protected by this
     private Map<String, OperationResponse.StreamEntry> responseStreams;
 
+    /** Time spent in each {@link OperationStatisticsImpl.Phase phase} of the execution, or -1 for the phases not gone through */
+    private final long[] phaseTimes = new long[OperationStatisticsImpl.Phase.values().length];
+
     private final Level WARNING_DEFAULT_LEVEL = Level.WARNING;
     /**
      * Resources modified by this context's operations. May be modified by ParallelBootOperationStepHandler which spawns threads,
@@ -202,6 +205,7 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         this.auditLogger = auditLogger;
         this.notificationSupport = notificationSupport;
         this.notifications = new ConcurrentLinkedQueue<Notification>();
+        Arrays.fill(phaseTimes, -1);
         this.missingNotificationDescriptionWarnings = new ConcurrentLinkedQueue<String>();
         this.controller = controller;
         steps = new EnumMap<Stage, Deque<Step>>(Stage.class);
@@ -593,6 +597,30 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
      */
     abstract void awaitServiceContainerStability() throws InterruptedException, TimeoutException;
 
+    /**
+     * Adds to the time spent by the operation in a phase of its execution.
+     *
+     * @param phase the phase
+     * @param time the time, in nanoseconds
+     */
+    void addPhaseTime(OperationStatisticsImpl.Phase phase, long time) {
+        final int i = phase.ordinal();
+        phaseTimes[i] = Math.max(phaseTimes[i], 0) + time;
+    }
+
+    private long getPhaseTime(OperationStatisticsImpl.Phase phase) {
+        return Math.max(phaseTimes[phase.ordinal()], 0);
+    }
+
+    /**
+     * Gets the time spent by the operation in each {@link OperationStatisticsImpl.Phase phase} of its execution.
+     *
+     * @return the times, indexed by phase ordinal, in nanoseconds, or {@code -1} for the phases not gone through
+     */
+    long[] getPhaseTimes() {
+        return phaseTimes;
+    }
+
     /**
      * Create a persistence resource (if appropriate for this implementation) for use in persisting the configuration
      * model that results from this operation. If a resource is created, it should perform as much persistence work
@@ -775,6 +803,9 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                 Throwable toThrow = null;
                 // Whether to return after try/finally
                 boolean exit = false;
+                final OperationStatisticsImpl.Phase phase = OperationStatisticsImpl.Phase.forStage(currentStage);
+                final long lockWaitTime = getPhaseTime(OperationStatisticsImpl.Phase.LOCK_WAIT);
+                final long start = System.nanoTime();
                 try {
                     CapabilityRegistry.RuntimeStatus stepStatus = getStepExecutionStatus(step);
                     if (stepStatus == RuntimeCapabilityRegistry.RuntimeStatus.NORMAL) {
@@ -788,6 +819,10 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                     resultAction = ResultAction.ROLLBACK;
                     toThrow = re;
                 } finally {
+                    if (phase != null) {
+                        // Waiting for the controller lock is recorded on its own
+                        addPhaseTime(phase, System.nanoTime() - start - (getPhaseTime(OperationStatisticsImpl.Phase.LOCK_WAIT) - lockWaitTime));
+                    }
                     // See if executeStep put us in a state where we shouldn't do any more
                     if (toThrow != null || !canContinueProcessing()) {
                         // We're done.
@@ -853,9 +888,12 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
         try {
             // Prepare persistence of any configuration changes
             ConfigurationPersister.PersistenceResource persistenceResource = null;
+            long persistenceTime = 0;
             if (resultAction != ResultAction.ROLLBACK) {
                 try {
+                    final long start = System.nanoTime();
                     persistenceResource = createPersistenceResource();
+                    persistenceTime = System.nanoTime() - start;
                 } catch (ConfigurationPersistenceException e) {
                     MGMT_OP_LOGGER.failedToPersistConfigurationChange(e);
                     primaryResponse.get(OUTCOME).set(FAILED);
@@ -887,11 +925,13 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
 
             // Commit the persistence of any configuration changes
             if (persistenceResource != null) {
+                final long start = System.nanoTime();
                 if (resultAction == ResultAction.ROLLBACK) {
                     persistenceResource.rollback();
                 } else {
                     persistenceResource.commit();
                 }
+                addPhaseTime(OperationStatisticsImpl.Phase.PERSISTENCE, persistenceTime + System.nanoTime() - start);
             }
         } catch (Throwable t) {
             toThrow = t;
@@ -38,12 +38,12 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -74,6 +74,7 @@ import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.PersistentResource;
 import org.jboss.as.controller.registry.PlaceholderResource;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.registry.Resource.ResourceEntry;
@@ -121,7 +122,7 @@ class ModelControllerImpl implements ModelController {
     private final Supplier<SecurityIdentity> securityIdentitySupplier;
 
     private final ConcurrentMap<Integer, OperationContextImpl> activeOperations = new ConcurrentHashMap<>();
-    private final Random random = new Random();
+    private final OperationStatisticsImpl operationStatistics = new OperationStatisticsImpl();
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
 
@@ -409,8 +410,8 @@ class ModelControllerImpl implements ModelController {
 
         for (;;) {
             responseStreams = null;
-            // Create a random operation-id
-            final Integer operationID = random.nextInt();
+            // Create a random operation-id. Use the thread's own generator, as a shared one is contended by concurrent callers
+            final Integer operationID = ThreadLocalRandom.current().nextInt();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, this.stability, runningModeControl.getRunningMode(),
                     headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
@@ -420,10 +421,13 @@ class ModelControllerImpl implements ModelController {
             if(activeOperations.putIfAbsent(operationID, context) == null) {
                 //noinspection deprecation
                 CurrentOperationIdHolder.setCurrentOperationID(operationID);
+                final long start = System.nanoTime();
                 boolean shouldUnlock = false;
                 try (context) {
                     if (attemptLock) {
-                        if (!controllerLock.detectDeadlockAndGetLock(operationID)) {
+                        final boolean locked = controllerLock.detectDeadlockAndGetLock(operationID);
+                        context.addPhaseTime(OperationStatisticsImpl.Phase.LOCK_WAIT, System.nanoTime() - start);
+                        if (!locked) {
                             responseNode.get(OUTCOME).set(FAILED);
                             responseNode.get(FAILURE_DESCRIPTION).set(ControllerLogger.ROOT_LOGGER.cannotGetControllerLock());
                             return OperationResponse.Factory.createSimple(responseNode);
@@ -462,6 +466,8 @@ class ModelControllerImpl implements ModelController {
                     activeOperations.remove(operationID);
                     //noinspection deprecation
                     CurrentOperationIdHolder.setCurrentOperationID(null);
+                    context.addPhaseTime(OperationStatisticsImpl.Phase.TOTAL, System.nanoTime() - start);
+                    recordOperationStatistics(operation, context);
                 }
                 break;
             }
@@ -473,6 +479,21 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    private void recordOperationStatistics(final ModelNode operation, final OperationContextImpl context) {
+        final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        // Aggregate the operations by registration, rather than by resource
+        final ImmutableManagementResourceRegistration registration = managementModel.get().getRootResourceRegistration().getSubModel(address);
+        if (registration != null && registration.getPathAddress().size() == address.size()) {
+            operationStatistics.record(operation.get(OP).asString(), registration.getPathAddress(), context.getPhaseTimes());
+        } else {
+            final PathElement[] elements = new PathElement[address.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = PathElement.pathElement(address.getElement(i).getKey());
+            }
+            operationStatistics.record(operation.get(OP).asString(), PathAddress.pathAddress(elements), context.getPhaseTimes());
+        }
+    }
+
     private static OperationResponse handleExternalRequestDuringBoot() {
         ModelNode result = new ModelNode();
         result.get(OUTCOME).set(FAILED);
@@ -486,7 +507,7 @@ class ModelControllerImpl implements ModelController {
                  final boolean rollbackOnRuntimeFailure, MutableRootResourceRegistrationProvider parallelBootRootResourceRegistrationProvider,
                  final boolean skipModelValidation, final boolean partialModel, final ConfigurationExtension configExtension) {
 
-        final Integer operationID = random.nextInt();
+        final Integer operationID = ThreadLocalRandom.current().nextInt();
 
         OperationHeaders headers = OperationHeaders.forBoot(rollbackOnRuntimeFailure);
 
@@ -739,6 +760,8 @@ class ModelControllerImpl implements ModelController {
                                                           final boolean resourceRegistrationModified) throws ConfigurationPersistenceException {
         final ConfigurationPersister.PersistenceResource delegate;
         if (resourceTreeModified) {
+            // The operation is done modifying the tree, so later clones of it can share its structure
+            PersistentResource.freeze(model.rootResource);
             // Don't do an expensive Resource.Tools.readModel if the persister isn't going to use the result
             if (persister.isPersisting()) {
                 ControllerLogger.MGMT_OP_LOGGER.tracef("persisting %s from %s", model.rootResource, model);
@@ -1067,7 +1090,7 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
-    private final class ModelControllerResource extends PlaceholderResource.PlaceholderResourceEntry {
+    private final class ModelControllerResource extends PlaceholderResource.PlaceholderResourceEntry implements OperationStatistics {
 
         private ModelControllerResource() {
             super(SERVICE, MANAGEMENT_OPERATIONS);
@@ -1135,6 +1158,16 @@ class ModelControllerImpl implements ModelController {
             }
             return result;
         }
+
+        @Override
+        public ModelNode getOperationStatistics() {
+            return operationStatistics.getOperationStatistics();
+        }
+
+        @Override
+        public void resetOperationStatistics() {
+            operationStatistics.resetOperationStatistics();
+        }
     }
 
     private static class MutableRootResourceRegistrationProviderImpl implements MutableRootResourceRegistrationProvider {
@@ -88,6 +88,7 @@ import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceReg
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.PersistentResource;
 import org.jboss.as.controller.registry.PlaceholderResource;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.ContextAttachments;
@@ -479,6 +480,7 @@ final class OperationContextImpl extends AbstractOperationContext {
             MGMT_OP_LOGGER.debugf("Entered VERIFY stage; waiting for service container to settle");
             long timeout = getBlockingTimeout().getLocalBlockingTimeout();
             ExecutionStatus originalExecutionStatus = executionStatus;
+            final long start = System.nanoTime();
             try {
                 // First wait until any removals we've initiated have begun processing, otherwise
                 // the ContainerStateMonitor may not have gotten the notification causing it to untick
@@ -508,6 +510,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                 ThreadDumpUtil.threadDump();
                 throw te;
             } finally {
+                addPhaseTime(OperationStatisticsImpl.Phase.STABILITY_WAIT, System.nanoTime() - start);
                 executionStatus = originalExecutionStatus;
                 notifyModificationsComplete();
             }
@@ -814,7 +817,9 @@ final class OperationContextImpl extends AbstractOperationContext {
                 // let op 3 block for the time needed for both 1 and 2
 //                int timeout = blockingTimeout.getBlockingTimeout();
 //                if (timeout < 1) {
+                final long start = System.nanoTime();
                 modelController.acquireWriteLock(operationId, respectInterruption);
+                addPhaseTime(OperationStatisticsImpl.Phase.LOCK_WAIT, System.nanoTime() - start);
 //                } else {
 //                    // Wait longer than the standard amount to get a chance to execute
 //                    // after whatever was holding the lock times out
@@ -947,7 +952,8 @@ final class OperationContextImpl extends AbstractOperationContext {
             final PathElement element = iterator.next();
             // Allow wildcard navigation for the last element
             if(element.isWildcard() && ! iterator.hasNext()) {
-                final Set<Resource.ResourceEntry> children = model.getChildren(element.getKey());
+                // Read without copying the children shared with the committed model into the local copy being modified
+                final Set<Resource.ResourceEntry> children = PersistentResource.readChildren(model, element.getKey());
                 if(children.isEmpty()) {
                     final PathAddress parent = address.subAddress(0, address.size() -1);
                     final Set<String> childrenTypes = managementModel.getRootResourceRegistration().getChildNames(parent);
@@ -962,7 +968,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model.registerChild(entry.getPathElement(), entry);
                 }
             } else {
-                model = requireChild(model, element, address);
+                model = readChild(model, element, address);
             }
         }
         if(recursive) {
@@ -1290,15 +1296,29 @@ final class OperationContextImpl extends AbstractOperationContext {
         if (resource.hasChild(childPath)) {
             return resource.requireChild(childPath);
         } else {
-            PathAddress missing = PathAddress.EMPTY_ADDRESS;
-            for (PathElement search : fullAddress) {
-                missing = missing.append(search);
-                if (search.equals(childPath)) {
-                    break;
-                }
+            throw resourceNotFound(childPath, fullAddress);
+        }
+    }
+
+    /** Like {@link #requireChild(Resource, PathElement, PathAddress)}, for a child that is only read. */
+    private static Resource readChild(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
+        if (resource.hasChild(childPath)) {
+            final Resource child = PersistentResource.readChild(resource, childPath);
+            return child != null ? child : resource.requireChild(childPath);
+        } else {
+            throw resourceNotFound(childPath, fullAddress);
+        }
+    }
+
+    private static Resource.NoSuchResourceException resourceNotFound(final PathElement childPath, final PathAddress fullAddress) {
+        PathAddress missing = PathAddress.EMPTY_ADDRESS;
+        for (PathElement search : fullAddress) {
+            missing = missing.append(search);
+            if (search.equals(childPath)) {
+                break;
             }
-            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(missing);
         }
+        return ControllerLogger.ROOT_LOGGER.managementResourceNotFound(missing);
     }
 
     @Override
@@ -0,0 +1,45 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Latency statistics of the management operations executed by a {@link ModelController}, aggregated by operation name
+ * and by the address of the resource registration the operation targets.
+ */
+public interface OperationStatistics {
+
+    /** The phase of the execution of an operation the statistics are for. */
+    String PHASE = "phase";
+    /** The number of operations which went through the phase. */
+    String COUNT = "count";
+    /** The total time spent in the phase, in microseconds. */
+    String TOTAL_TIME = "total-time";
+    /** The longest time spent in the phase by an operation, in microseconds. */
+    String MAX_TIME = "max-time";
+    /** The median time spent in the phase, in microseconds. */
+    String MEDIAN_TIME = "median-time";
+    /** The 90th percentile of the time spent in the phase, in microseconds. */
+    String PERCENTILE_90_TIME = "percentile-90-time";
+    /** The 99th percentile of the time spent in the phase, in microseconds. */
+    String PERCENTILE_99_TIME = "percentile-99-time";
+
+    /**
+     * Gets the statistics recorded since the controller started, or since they were last reset.
+     *
+     * @return a list with an element per operation name, registration address and phase, with the
+     *         {@link org.jboss.as.controller.descriptions.ModelDescriptionConstants#OP operation},
+     *         {@link org.jboss.as.controller.descriptions.ModelDescriptionConstants#ADDRESS address}, {@link #PHASE},
+     *         {@link #COUNT} and time fields
+     */
+    ModelNode getOperationStatistics();
+
+    /**
+     * Discards the statistics recorded so far.
+     */
+    void resetOperationStatistics();
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records the time the operations executed by a {@link ModelControllerImpl} spend in the phases of their execution, in
+ * histograms which are updated without locking.
+ */
+final class OperationStatisticsImpl implements OperationStatistics {
+
+    /**
+     * The phases of the execution of an operation.
+     */
+    enum Phase {
+        /** The whole execution. */
+        TOTAL("total"),
+        /** Waiting for the exclusive lock of the controller. */
+        LOCK_WAIT("lock-wait"),
+        MODEL_STAGE("model-stage"),
+        RUNTIME_STAGE("runtime-stage"),
+        VERIFY_STAGE("verify-stage"),
+        DOMAIN_STAGE("domain-stage"),
+        /** Waiting for the service container to be stable before the verify stage. */
+        STABILITY_WAIT("stability-wait"),
+        /** Storing and committing the configuration changes. */
+        PERSISTENCE("persistence");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the phase in which the steps of a stage are executed.
+         *
+         * @param stage the stage
+         * @return the phase, or {@code null} if no step is executed in the stage
+         */
+        static Phase forStage(OperationContext.Stage stage) {
+            switch (stage) {
+                case MODEL:
+                    return MODEL_STAGE;
+                case RUNTIME:
+                    return RUNTIME_STAGE;
+                case VERIFY:
+                    return VERIFY_STAGE;
+                case DOMAIN:
+                    return DOMAIN_STAGE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // Bounds the memory used by the statistics, should operations target an unbounded number of unregistered addresses
+    static final int MAX_ENTRIES = 1000;
+
+    private final ConcurrentMap<Key, LatencyHistogram[]> entries = new ConcurrentHashMap<>();
+    // The keys of the recorded operations, by the address of their registration and operation name, so that they are
+    // not built again for each operation. Keyed by address rather than registration, so that removed registrations are
+    // not retained, and a registration added again at the same address shares the keys of the removed one
+    private final ConcurrentMap<PathAddress, ConcurrentMap<String, Key>> addressKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Records the times an operation spent in the phases of its execution.
+     *
+     * @param operationName the name of the operation
+     * @param address the address of the registration of the resource targeted by the operation
+     * @param phaseTimes the time the operation spent in each {@link Phase}, indexed by ordinal, in nanoseconds,
+     *                   or {@code -1} for the phases the operation did not go through
+     */
+    void record(final String operationName, final PathAddress address, final long[] phaseTimes) {
+        final ConcurrentMap<String, Key> keys = addressKeys.get(address);
+        Key key = keys != null ? keys.get(operationName) : null;
+        if (key == null) {
+            key = new Key(operationName, address);
+            if (getHistograms(key) == null) {
+                return;
+            }
+            // Only the keys of recorded operations are cached, so that the cache is bounded as the entries are
+            addressKeys.computeIfAbsent(address, a -> new ConcurrentHashMap<>()).putIfAbsent(operationName, key);
+        }
+        record(key, phaseTimes);
+    }
+
+    private void record(final Key key, final long[] phaseTimes) {
+        final LatencyHistogram[] histograms = getHistograms(key);
+        if (histograms == null) {
+            return;
+        }
+        for (int i = 0; i < phaseTimes.length; i++) {
+            if (phaseTimes[i] >= 0) {
+                histograms[i].record(TimeUnit.NANOSECONDS.toMicros(phaseTimes[i]));
+            }
+        }
+    }
+
+    /**
+     * Gets the histograms of an operation, creating them if needed.
+     *
+     * @return the histograms of each {@link Phase}, or {@code null} if there are too many entries to create them
+     */
+    private LatencyHistogram[] getHistograms(final Key key) {
+        final LatencyHistogram[] histograms = entries.get(key);
+        if (histograms != null) {
+            return histograms;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            return null;
+        }
+        return entries.computeIfAbsent(key, k -> {
+            final LatencyHistogram[] result = new LatencyHistogram[Phase.values().length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = new LatencyHistogram();
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public ModelNode getOperationStatistics() {
+        final List<Map.Entry<Key, LatencyHistogram[]>> sorted = new ArrayList<>(entries.entrySet());
+        sorted.sort(Map.Entry.comparingByKey());
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Map.Entry<Key, LatencyHistogram[]> entry : sorted) {
+            for (Phase phase : Phase.values()) {
+                final ModelNode statistics = entry.getValue()[phase.ordinal()].toModelNode();
+                if (statistics.isDefined()) {
+                    final ModelNode element = new ModelNode();
+                    element.get(OP).set(entry.getKey().operationName);
+                    element.get(ADDRESS).set(entry.getKey().address);
+                    element.get(PHASE).set(phase.name);
+                    for (String field : statistics.keys()) {
+                        element.get(field).set(statistics.get(field));
+                    }
+                    result.add(element);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void resetOperationStatistics() {
+        entries.clear();
+        // The keys remain valid, but discarding them also discards those of the addresses no longer used
+        addressKeys.clear();
+    }
+
+    private static final class Key implements Comparable<Key> {
+
+        private static final Comparator<Key> COMPARATOR = Comparator.<Key, String>comparing(key -> key.address)
+                .thenComparing(key -> key.operationName);
+
+        private final String operationName;
+        private final String address;
+        private final int hash;
+
+        private Key(final String operationName, final PathAddress address) {
+            this.operationName = operationName;
+            this.address = address.toCLIStyleString();
+            this.hash = Objects.hash(operationName, this.address);
+        }
+
+        @Override
+        public int compareTo(final Key other) {
+            return COMPARATOR.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) object;
+            return operationName.equals(key.operationName) && address.equals(key.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A histogram of times, counted in buckets whose width grows with the times they count, so that the value reported
+     * for a percentile is within 25% of the recorded times.
+     */
+    static final class LatencyHistogram {
+
+        // Times in [2^m, 2^(m+1)) are counted in SUB_BUCKETS buckets of equal width; times below SUB_BUCKETS have a bucket each
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // Times of 2^MAX_MAGNITUDE microseconds (about 12 days) and more are counted in the last bucket
+        private static final int MAX_MAGNITUDE = 40;
+        static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(final long time) {
+            counts.incrementAndGet(bucket(time));
+            total.add(time);
+            max.accumulateAndGet(time, Math::max);
+        }
+
+        static int bucket(final long time) {
+            if (time < SUB_BUCKETS) {
+                return (int) Math.max(time, 0);
+            }
+            final int magnitude = 63 - Long.numberOfLeadingZeros(time);
+            if (magnitude >= MAX_MAGNITUDE) {
+                return BUCKETS - 1;
+            }
+            final int subBucket = (int) (time >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Gets the highest time counted in a bucket.
+         */
+        static long highestTime(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            final int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final long width = 1L << (magnitude - SUB_BUCKET_BITS);
+            return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width - 1;
+        }
+
+        /**
+         * Gets the statistics of the recorded times.
+         *
+         * @return the statistics, or an undefined node if no time was recorded
+         */
+        ModelNode toModelNode() {
+            final long[] snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                count += snapshot[i];
+            }
+            final ModelNode result = new ModelNode();
+            if (count > 0) {
+                final long max = this.max.get();
+                result.get(COUNT).set(count);
+                result.get(TOTAL_TIME).set(total.sum());
+                result.get(MAX_TIME).set(max);
+                result.get(MEDIAN_TIME).set(percentile(snapshot, count, 50, max));
+                result.get(PERCENTILE_90_TIME).set(percentile(snapshot, count, 90, max));
+                result.get(PERCENTILE_99_TIME).set(percentile(snapshot, count, 99, max));
+            }
+            return result;
+        }
+
+        private static long percentile(final long[] counts, final long count, final int percentile, final long max) {
+            // The rank of the time, counted from 1
+            final long rank = Math.max(1, (count * percentile + 99) / 100);
+            long counted = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counted += counts[i];
+                if (counted >= rank) {
+                    return Math.min(highestTime(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
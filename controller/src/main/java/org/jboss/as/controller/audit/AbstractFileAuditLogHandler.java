@@ -32,6 +32,10 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
 
     private volatile File file;
 
+    /** The stream kept open while a batch of items is being written */
+    private FileOutputStream batchStream;
+    private boolean batching;
+
     public AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo) {
         super(name, formatterName, maxFailureCount);
         this.pathManager = pathManager;
@@ -69,11 +73,32 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
 
     @Override
     void stop() {
+        closeBatchStream();
         file = null;
     }
 
+    @Override
+    void startBatch() {
+        batching = true;
+    }
+
+    @Override
+    void endBatch() {
+        batching = false;
+        closeBatchStream();
+    }
+
     @Override
     void writeLogItem(String formattedItem) throws IOException {
+        if (batching) {
+            // Keep the file open for the rest of the batch, and only sync it once the batch is written
+            if (batchStream == null) {
+                batchStream = new FileOutputStream(file, true);
+            }
+            batchStream.write(formattedItem.getBytes(StandardCharsets.UTF_8));
+            batchStream.write(LINE_TERMINATOR);
+            return;
+        }
         final FileOutputStream fos = new FileOutputStream(file, true);
         final BufferedOutputStream output = new BufferedOutputStream(fos);
         try {
@@ -155,6 +180,8 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
      * @param file File to create
      */
     protected void createNewFile(final File file) {
+        // Any batch in progress continues in the new file
+        closeBatchStream();
         try {
             file.createNewFile();
             setFileNotWorldReadablePermissions(file);
@@ -163,6 +190,20 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         }
     }
 
+    private void closeBatchStream() {
+        final FileOutputStream fos = batchStream;
+        if (fos != null) {
+            batchStream = null;
+            try {
+                fos.getFD().sync();
+            } catch (IOException e) {
+                getFailureCountHandler().failure(e);
+            } finally {
+                IoUtils.safeClose(fos);
+            }
+        }
+    }
+
     /**
      * This procedure sets permissions to the given file to not allow everybody to read it.
      *
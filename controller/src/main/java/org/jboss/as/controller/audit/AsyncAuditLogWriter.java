@@ -0,0 +1,173 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.audit;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.controller.audit.ManagedAuditLogger.OverflowPolicy;
+
+/**
+ * Writes audit log items on a dedicated thread. Items are queued in a bounded buffer by the threads executing
+ * management operations and are drained and written in batches by {@link ManagedAuditLoggerImpl} with its lock taken.
+ * Items are only ever removed from the queue with that lock taken, so a caller holding the lock can drain the
+ * queue itself without reordering items. The writer of the core audit logger is shared with its child loggers, such
+ * as the JMX one, so each item is queued with the logger whose handlers write it.
+ *
+ * @see ManagedAuditLoggerImpl#setAsyncConfiguration(boolean, int, OverflowPolicy)
+ */
+final class AsyncAuditLogWriter implements Runnable {
+
+    /** Maximum number of items written in one batch, i.e. while holding the audit lock */
+    static final int MAX_BATCH_SIZE = 256;
+
+    private final ManagedAuditLoggerImpl auditLogger;
+    private final ArrayBlockingQueue<QueuedItem> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder discardedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    AsyncAuditLogWriter(ManagedAuditLoggerImpl auditLogger, int queueLength, OverflowPolicy overflowPolicy) {
+        this.auditLogger = auditLogger;
+        this.queue = new ArrayBlockingQueue<>(queueLength);
+        this.overflowPolicy = overflowPolicy;
+        this.thread = new Thread(this, "Management Audit Log Writer");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread. Items still queued remain available to {@link #drain(List, int)}.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Queues an item if there is room for it without blocking. May be called with the audit lock taken.
+     *
+     * @param logger the logger whose handlers write the item
+     * @return {@code true} if the item was queued
+     */
+    boolean offer(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+        if (queue.offer(new QueuedItem(logger, item))) {
+            LockSupport.unpark(thread);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Handles an item that could not be {@link #offer(ManagedAuditLoggerImpl, AuditLogItem) offered} according to the
+     * overflow policy. Must not be called with the audit lock taken, as it may block until the writer thread has made room.
+     *
+     * @param logger the logger whose handlers write the item
+     * @return {@code true} if the item was queued or discarded, {@code false} if the caller should write it itself
+     */
+    boolean overflow(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+        if (overflowPolicy == OverflowPolicy.DISCARD
+                || (overflowPolicy == OverflowPolicy.DISCARD_READ_ONLY && item.isReadOnly())) {
+            discardedCount.increment();
+            return true;
+        }
+        try {
+            final QueuedItem queued = new QueuedItem(logger, item);
+            queue.put(queued);
+            if (!running && queue.remove(queued)) {
+                // Stopped after its queue was drained, so nothing else will write the item
+                return false;
+            }
+            LockSupport.unpark(thread);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Removes up to {@code max} queued items. Must be called with the audit lock taken.
+     *
+     * @param items list to which the items are added
+     * @param max the maximum number of items to remove
+     */
+    void drain(List<QueuedItem> items, int max) {
+        final int first = items.size();
+        queue.drainTo(items, max);
+        final long now = System.nanoTime();
+        for (int i = first; i < items.size(); i++) {
+            recordLatency(now - items.get(i).queuedAt);
+        }
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    long getAverageLatency() {
+        final long written = writtenCount.sum();
+        return written == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatency.sum() / written);
+    }
+
+    long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatency.get());
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (queue.isEmpty()) {
+                LockSupport.park(this);
+            } else {
+                auditLogger.writeQueuedItems(this);
+            }
+        }
+    }
+
+    private void recordLatency(long latency) {
+        writtenCount.increment();
+        totalLatency.add(latency);
+        long max = maxLatency.get();
+        while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+            max = maxLatency.get();
+        }
+    }
+
+    static final class QueuedItem {
+        private final ManagedAuditLoggerImpl logger;
+        private final AuditLogItem item;
+        private final long queuedAt = System.nanoTime();
+
+        private QueuedItem(ManagedAuditLoggerImpl logger, AuditLogItem item) {
+            this.logger = logger;
+            this.item = item;
+        }
+
+        ManagedAuditLoggerImpl getLogger() {
+            return logger;
+        }
+
+        AuditLogItem getItem() {
+            return item;
+        }
+    }
+}
@@ -71,6 +71,19 @@ abstract class AuditLogHandler {
         }
     }
 
+    /**
+     * Called before a batch of items is written by the asynchronous writer, allowing the handler to defer
+     * expensive work, such as syncing a file, until {@link #endBatch()} is called.
+     */
+    void startBatch() {
+    }
+
+    /**
+     * Called once a batch of items started by {@link #startBatch()} has been written.
+     */
+    void endBatch() {
+    }
+
     void recycle() {
         this.failureCount = 0;
         stop();
@@ -181,6 +181,53 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Configures whether audit log records are written asynchronously. If enabled, records are queued by the
+     * threads executing management operations and written in batches by a single writer thread, so file handlers
+     * only need to be synced once per batch.
+     *
+     * @param async {@code true} to write records asynchronously, {@code false} to write them on the calling thread
+     * @param queueLength the maximum number of records waiting to be written. Ignored if {@code async} is {@code false}
+     * @param overflowPolicy what to do with a record when the queue is full. Ignored if {@code async} is {@code false}
+     */
+    void setAsyncConfiguration(boolean async, int queueLength, OverflowPolicy overflowPolicy);
+
+    /**
+     * Stops the asynchronous writer, if any, once it has written the records still queued. Records are then written on
+     * the calling thread, until the asynchronous writing is configured again. Called when the controller stops, so that
+     * no queued record is lost.
+     */
+    default void stopAsyncWriter() {
+    }
+
+    /**
+     * Gets the number of records waiting to be written by the asynchronous writer.
+     *
+     * @return the number of queued records, or {@code 0} if records are written synchronously
+     */
+    int getQueueDepth();
+
+    /**
+     * Gets the number of records that were discarded because the asynchronous writer's queue was full.
+     *
+     * @return the number of discarded records
+     */
+    long getDiscardedCount();
+
+    /**
+     * Gets the average time in microseconds between a record being queued and it being written.
+     *
+     * @return the average latency, or {@code 0} if no records have been written asynchronously
+     */
+    long getAverageQueueLatency();
+
+    /**
+     * Gets the maximum time in microseconds between a record being queued and it being written.
+     *
+     * @return the maximum latency, or {@code 0} if no records have been written asynchronously
+     */
+    long getMaxQueueLatency();
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -191,6 +238,18 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     void bootDone();
 
+    /**
+     * What to do with an audit log record when the queue of the asynchronous writer is full.
+     */
+    enum OverflowPolicy {
+        /** Block the calling thread until there is room in the queue */
+        BLOCK,
+        /** Discard the record */
+        DISCARD,
+        /** Discard the record if it is for a read-only operation, otherwise block until there is room in the queue */
+        DISCARD_READ_ONLY
+    }
+
     /**
      * <p>The audit log handler updater. Additive changes will be used for the audit log record as a result of
      * management operations causing updates here. Removals and updates will not take effect until the current audit log
@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,29 +58,43 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
       * Must be reset to false when handler updates need to be performed */
     private final AtomicBoolean runDisabledFastPath = new AtomicBoolean(false);
 
+    /** The core audit logger, whose asynchronous writer, if any, also writes the items of its children */
+    private final ManagedAuditLoggerImpl core;
+
+    /** Only changed with config's auditLock taken, and only used by the core logger - the writer used if items are written asynchronously */
+    private volatile AsyncAuditLogWriter asyncWriter;
+
+    /** Guarded by config's auditLock, and only used by the core logger - the configuration of the asynchronous writer */
+    private boolean async;
+    private int asyncQueueLength;
+    private OverflowPolicy asyncOverflowPolicy;
+
     public ManagedAuditLoggerImpl(String asVersion, boolean server) {
         config = new CoreAuditLogConfiguration(asVersion, server);
         childImpls = new ArrayList<ManagedAuditLoggerImpl>();
+        core = this;
     }
 
     private ManagedAuditLoggerImpl(ManagedAuditLoggerImpl src, boolean manualCommit) {
         assert src.config instanceof CoreAuditLogConfiguration : "Not an instance of CoreAuditLogConfiguration";
         config = new NewAuditLogConfiguration((CoreAuditLogConfiguration)src.config, manualCommit);
         childImpls = null;
+        core = src;
     }
 
     @Override
     public void log(boolean readOnly, ResultAction resultAction, String userId, String domainUUID, AccessMechanism accessMechanism,
             InetAddress remoteAddress, Resource resultantModel, List<ModelNode> operations) {
-        if (runDisabledFastPath.get())
+        if (runDisabledFastPath.get() || skipReadOnly(readOnly))
             return;
 
+        AuditLogItem overflow = null;
         config.lock();
         try {
             if (skipLogging(readOnly)) {
                 return;
             }
-            storeLogItem(
+            overflow = storeLogItem(
                     AuditLogItem.createModelControllerItem(config.getAsVersion(), readOnly, config.isBooting(), resultAction, userId, domainUUID,
                             accessMechanism, remoteAddress, operations));
         } catch (Exception e) {
@@ -87,20 +103,22 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             applyHandlerUpdates();
             config.unlock();
         }
+        handleOverflow(overflow);
     }
 
     @Override
     public void logJmxMethodAccess(boolean readOnly, String userId, String domainUUID, AccessMechanism accessMechanism,
             InetAddress remoteAddress, String methodName, String[] methodSignature, Object[] methodParams, Throwable error) {
-        if (runDisabledFastPath.get())
+        if (runDisabledFastPath.get() || skipReadOnly(readOnly))
             return;
 
+        AuditLogItem overflow = null;
         config.lock();
         try {
             if (skipLogging(readOnly)) {
                 return;
             }
-            storeLogItem(
+            overflow = storeLogItem(
                     AuditLogItem.createMethodAccessItem(config.getAsVersion(), readOnly, config.isBooting(), userId, domainUUID, accessMechanism,
                             remoteAddress, methodName, methodSignature, methodParams, error));
         } catch (Exception e) {
@@ -109,6 +127,16 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             applyHandlerUpdates();
             config.unlock();
         }
+        handleOverflow(overflow);
+    }
+
+    /**
+     * Whether a read-only event can be ignored without taking the lock shared with all other events, so that frequent
+     * reads, such as metric polling, do not contend with writes. Reading a stale value while the setting is changed
+     * concurrently only affects events racing with that change.
+     */
+    private boolean skipReadOnly(boolean readOnly) {
+        return readOnly && !config.isLogReadOnly();
     }
 
     private boolean skipLogging(boolean readOnly) {
@@ -180,6 +208,89 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     }
 
 
+    @Override
+    public void setAsyncConfiguration(boolean async, int queueLength, OverflowPolicy overflowPolicy) {
+        config.lock();
+        try {
+            // Write anything the old writer did not get to before any item queued with the new one
+            core.stopAsyncWriter(true);
+            core.async = async;
+            core.asyncQueueLength = queueLength;
+            core.asyncOverflowPolicy = overflowPolicy;
+            if (core.config.getLoggerStatus() != Status.DISABLED) {
+                core.startAsyncWriter();
+            }
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public void stopAsyncWriter() {
+        config.lock();
+        try {
+            core.stopAsyncWriter(true);
+        } finally {
+            config.unlock();
+        }
+    }
+
+    /** Call with lock taken, on the core logger */
+    private void startAsyncWriter() {
+        if (async && asyncWriter == null) {
+            final AsyncAuditLogWriter writer = new AsyncAuditLogWriter(this, asyncQueueLength, asyncOverflowPolicy);
+            writer.start();
+            asyncWriter = writer;
+        }
+    }
+
+    /**
+     * Call with lock taken, on the core logger. Items logged afterwards are written on the calling thread, until the
+     * writer is started again.
+     *
+     * @param write {@code true} to write the items the writer did not get to, {@code false} to discard them
+     */
+    private void stopAsyncWriter(boolean write) {
+        final AsyncAuditLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.stop();
+            asyncWriter = null;
+            if (write) {
+                try {
+                    writeQueuedItems(writer, Integer.MAX_VALUE);
+                } catch (Exception e) {
+                    handleLoggingException(e);
+                }
+            } else {
+                writer.drain(new ArrayList<>(), Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final AsyncAuditLogWriter writer = core.asyncWriter;
+        return writer == null ? 0 : writer.getQueueDepth();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        final AsyncAuditLogWriter writer = core.asyncWriter;
+        return writer == null ? 0 : writer.getDiscardedCount();
+    }
+
+    @Override
+    public long getAverageQueueLatency() {
+        final AsyncAuditLogWriter writer = core.asyncWriter;
+        return writer == null ? 0 : writer.getAverageLatency();
+    }
+
+    @Override
+    public long getMaxQueueLatency() {
+        final AsyncAuditLogWriter writer = core.asyncWriter;
+        return writer == null ? 0 : writer.getMaxLatency();
+    }
+
     @Override
     public void recycleHandler(String name) {
         config.lock();
@@ -209,8 +320,15 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                     }
                 }
                 queuedItems.clear();
+                if (core == this) {
+                    startAsyncWriter();
+                }
             } else if (newStatus == Status.DISABLED){
                 queuedItems.clear();
+                if (core == this) {
+                    // This may be called by the writer thread itself, so the items it did not get to are not written
+                    stopAsyncWriter(false);
+                }
             }
             runDisabledFastPath.set(false);
         } finally {
@@ -219,32 +337,124 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     }
 
 
-    /** protected by config's audit lock */
-    private void storeLogItem(AuditLogItem item) throws IOException {
+    /**
+     * protected by config's audit lock
+     *
+     * @return the item if it could not be queued for the asynchronous writer without blocking, in which case
+     *         {@link #handleOverflow(AuditLogItem)} must be called once the lock is released; {@code null} otherwise
+     */
+    private AuditLogItem storeLogItem(AuditLogItem item) throws IOException {
         switch (getLoggerStatus()) {
             case QUEUEING:
                 queuedItems.add(item);
                 break;
             case LOGGING:
-                writeLogItem(item);
+                final AsyncAuditLogWriter writer = core.asyncWriter;
+                if (writer == null || handlerUpdateTask != null) {
+                    // Pending handler updates must not take effect before this item is written to the current handlers
+                    writeQueuedItems(writer, Integer.MAX_VALUE);
+                    writeLogItem(item);
+                } else if (!writer.offer(this, item)) {
+                    return item;
+                }
                 break;
             case DISABLE_NEXT:
+                writeQueuedItems(core.asyncWriter, Integer.MAX_VALUE);
                 writeLogItem(item);
                 config.setLoggerStatus(Status.DISABLED);
+                if (core == this) {
+                    // Such as when the logger is removed, in which case nothing would stop the writer thread otherwise
+                    stopAsyncWriter(true);
+                }
             case DISABLED:
                 // switch to the fast path for the next event
                 runDisabledFastPath.set(true);
                 break;
         }
+        return null;
+    }
+
+    /** Call without the lock taken */
+    private void handleOverflow(AuditLogItem item) {
+        if (item == null) {
+            return;
+        }
+        final AsyncAuditLogWriter writer = core.asyncWriter;
+        if (writer == null || !writer.overflow(this, item)) {
+            // The writer was stopped or we were interrupted waiting for room in its queue, so write the item ourselves
+            config.lock();
+            try {
+                writeQueuedItems(core.asyncWriter, Integer.MAX_VALUE);
+                writeLogItem(item);
+            } catch (Exception e) {
+                handleLoggingException(e);
+            } finally {
+                config.unlock();
+            }
+        }
+    }
+
+    /** Called by the asynchronous writer's thread */
+    void writeQueuedItems(AsyncAuditLogWriter writer) {
+        config.lock();
+        try {
+            writeQueuedItems(writer, AsyncAuditLogWriter.MAX_BATCH_SIZE);
+        } catch (Exception e) {
+            handleLoggingException(e);
+        } finally {
+            config.unlock();
+        }
+    }
+
+    /** protected by config's audit lock */
+    private void writeQueuedItems(AsyncAuditLogWriter writer, int max) throws IOException {
+        if (writer == null || writer.getQueueDepth() == 0) {
+            return;
+        }
+        final List<AsyncAuditLogWriter.QueuedItem> items = new ArrayList<AsyncAuditLogWriter.QueuedItem>();
+        writer.drain(items, max);
+        // The items of the child loggers are written by their own handlers
+        final Map<ManagedAuditLoggerImpl, List<AuditLogHandler>> loggerHandlers = new IdentityHashMap<ManagedAuditLoggerImpl, List<AuditLogHandler>>();
+        final Set<AuditLogHandler> batchHandlers = new LinkedHashSet<AuditLogHandler>();
+        for (AsyncAuditLogWriter.QueuedItem item : items) {
+            if (!loggerHandlers.containsKey(item.getLogger())) {
+                final List<AuditLogHandler> handlers = item.getLogger().config.getHandlersForLogging();
+                loggerHandlers.put(item.getLogger(), handlers);
+                batchHandlers.addAll(handlers);
+            }
+        }
+        for (AuditLogHandler handler : batchHandlers) {
+            handler.startBatch();
+        }
+        try {
+            for (AsyncAuditLogWriter.QueuedItem item : items) {
+                try {
+                    writeLogItem(item.getItem(), loggerHandlers.get(item.getLogger()));
+                } catch (Exception e) {
+                    item.getLogger().handleLoggingException(e);
+                }
+            }
+        } finally {
+            for (AuditLogHandler handler : batchHandlers) {
+                handler.endBatch();
+            }
+        }
     }
 
     /** protected by config's audit lock */
     private void writeLogItem(AuditLogItem item) throws IOException{
+        writeLogItem(item, config.getHandlersForLogging());
+    }
+
+    /** protected by config's audit lock */
+    private void writeLogItem(AuditLogItem item, List<AuditLogHandler> handlers) throws IOException{
         Set<String> formatterNames = new HashSet<String>();
         try {
-            for (AuditLogHandler handler : config.getHandlersForLogging()) {
-                formatterNames.add(handler.getFormatterName());
-                handler.writeLogItem(item);
+            for (AuditLogHandler handler : handlers) {
+                if (handler.isActive()) {
+                    formatterNames.add(handler.getFormatterName());
+                    handler.writeLogItem(item);
+                }
             }
         } finally {
             for (String formatterName : formatterNames) {
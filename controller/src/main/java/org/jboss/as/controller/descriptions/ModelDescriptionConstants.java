@@ -43,6 +43,7 @@ public class ModelDescriptionConstants {
     public static final String ALL_SERVICES = "all-services";
     public static final String ALTERNATIVES = "alternatives";
     public static final String ANNOTATION = "annotation";
+    public static final String ANNOTATION_INDEX_CACHE = "annotation-index-cache";
     public static final String ANY = "any";
     public static final String ANY_ADDRESS = "any-address";
     public static final String ANY_IPV4_ADDRESS = "any-ipv4-address";
@@ -54,6 +55,7 @@ public class ModelDescriptionConstants {
     public static final String APPLIES_TO = "applies-to";
     public static final String APPLY_REMOTE_DOMAIN_MODEL = "apply-remote-domain-model";
     public static final String ARCHIVE = "archive";
+    public static final String ASYNC = "async";
     public static final String ATTACHED_STREAMS = "attached-streams";
     public static final String ATTRIBUTE = "attribute";
     public static final String ATTRIBUTE_GROUP = "attribute-group";
@@ -66,8 +68,10 @@ public class ModelDescriptionConstants {
     public static final String AUTHENTICATION_CONTEXT = "authentication-context";
     public static final String AUTHORIZATION = "authorization";
     public static final String AUTO_START = "auto-start";
+    public static final String AVERAGE_QUEUE_LATENCY = "average-queue-latency";
     public static final String BACKLOG = "backlog";
     public static final String BASE_DN = "base-dn";
+    public static final String BASE_HASH = "base-hash";
     public static final String BASE_ROLE = "base-role";
     public static final String BLOCKING = "blocking";
     public static final String BLOCKING_TIMEOUT = "blocking-timeout";
@@ -109,6 +113,7 @@ public class ModelDescriptionConstants {
     public static final String CONSTANT_HEADERS = "constant-headers";
     public static final String CONTENT = "content";
     public static final String CONTENT_LENGTH = "content-length";
+    public static final String CONTENT_REPOSITORY = "content-repository";
     public static final String CONTENT_TYPE = "content-type";
     public static final String CORE = "core";
     public static final String CORE_SERVICE = "core-service";
@@ -135,6 +140,7 @@ public class ModelDescriptionConstants {
     public static final String DEPRECATED = "deprecated";
     public static final String DESCRIBE = "describe";
     public static final String DESCRIPTION = "description";
+    public static final String DESCRIPTION_CACHE = "description-cache";
     public static final String DESTROY = "destroy";
     public static final String DETAILS = "details";
     public static final String DESTINATION_ADDRESS = "destination-address";
@@ -146,6 +152,7 @@ public class ModelDescriptionConstants {
     public static final String DISABLED_TIME = "disabled-time";
     public static final String DISABLED_TIMESTAMP = "disabled-timestamp";
     public static final String DISABLED_DUE_TO_FAILURE = "disabled-due-to-failure";
+    public static final String DISCARDED_COUNT = "discarded-count";
     public static final String DISCOVERY_OPTION = "discovery-option";
     public static final String DISCOVERY_OPTIONS = "discovery-options";
     public static final String DOMAIN = "domain";
@@ -305,6 +312,7 @@ public class ModelDescriptionConstants {
     public static final String MAX_HISTORY = "max-history";
     public static final String MAX_LENGTH = "max-length";
     public static final String MAX_OCCURS = "max-occurs";
+    public static final String MAX_QUEUE_LATENCY = "max-queue-latency";
     public static final String MAX_THREADS = "max-threads";
     public static final String MESSAGE_TRANSFER = "message-transfer";
     public static final String MIME_TYPE = "mime-type";
@@ -345,6 +353,7 @@ public class ModelDescriptionConstants {
     public static final String OPERATION_HEADERS = "operation-headers";
     public static final String OPERATION_ID = "operation-id";
     public static final String OPERATION_NAME = "operation-name";
+    public static final String OPERATION_STATISTICS = "operation-statistics";
     public static final String OP_PARAMS = "op-params";
     public static final String OP_PARAMS_MAPPING = "op-params-mapping";
     public static final String OPERATIONS = "operations";
@@ -354,6 +363,7 @@ public class ModelDescriptionConstants {
     public static final String OUTBOUND_CONNECTION = "outbound-connection";
     /** Use this standard operation address field in the operation *description* ModelNode */
     public static final String OUTCOME = "outcome";
+    public static final String OVERFLOW_POLICY = "overflow-policy";
     public static final String OVERWRITE = "overwrite";
     public static final String OWNER = "owner";
     public static final String PACKAGE = "package";
@@ -392,6 +402,8 @@ public class ModelDescriptionConstants {
     public static final String PROVIDES = "provides";
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
+    public static final String QUEUE_DEPTH = "queue-depth";
+    public static final String QUEUE_LENGTH = "queue-length";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
@@ -579,6 +591,7 @@ public class ModelDescriptionConstants {
     public static final String UNDEPLOY = "undeploy";
     public static final String UNREADABLE_CHILDREN = "unreadable-children";
     public static final String UPLOAD_DEPLOYMENT_BYTES = "upload-deployment-bytes";
+    public static final String UPLOAD_DEPLOYMENT_DELTA = "upload-deployment-delta";
     public static final String UPLOAD_DEPLOYMENT_URL = "upload-deployment-url";
     public static final String UPLOAD_DEPLOYMENT_STREAM = "upload-deployment-stream";
     public static final String UNIT = "unit";
@@ -10,12 +10,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAI
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATOR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ExpressionResolver;
@@ -29,13 +32,17 @@ import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.common.ControllerResolver;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.OperationResultTransformer;
 import org.jboss.as.controller.transform.OperationTransformer;
 import org.jboss.as.controller.transform.TransformationContext;
@@ -51,6 +58,8 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
     public static final QueryOperationHandler INSTANCE = new QueryOperationHandler();
 
+    private static final Set<Action.ActionEffect> READ_CONFIG = EnumSet.of(Action.ActionEffect.READ_CONFIG);
+
     public enum Operator {
         AND, OR
     }
@@ -104,6 +113,12 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
         readResourceOp.get(OP).set(READ_RESOURCE_OPERATION);
         readResourceOp.get(INCLUDE_RUNTIME).set(true);
 
+        if (where.isDefined() && operator == Operator.AND && !mayMatch(parentContext, mrr, readResourceHandler, where, readResourceOp)) {
+            // Leave the result undefined, as for a resource filtered out after being read
+            ControllerLogger.MGMT_OP_LOGGER.tracef("Not reading %s, as its configuration does not match %s", parentContext.getCurrentAddress(), where);
+            return;
+        }
+
         // filter/reduce phase
         parentContext.addStep(operation, new FilterReduceHandler(where, operator, select), OperationContext.Stage.MODEL);
 
@@ -112,6 +127,65 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
 
     }
 
+    /**
+     * Evaluates a filter against the stored configuration of the target resource, so that a wildcard query does not
+     * read the full resource, including its runtime attributes, of every resource that cannot match.
+     * <p/>
+     * Only the attributes whose value {@code read-resource} takes as is from the stored model, and that the caller is
+     * permitted to read, are considered.
+     *
+     * @return {@code false} if the resource does not match the filter, or {@code true} if it may match
+     */
+    private static boolean mayMatch(OperationContext context, ImmutableManagementResourceRegistration registration,
+                                    OperationStepHandler readResourceHandler, ModelNode filter, ModelNode readResourceOp) {
+        if (registration.isRemote() || registration.isRuntimeOnly()) {
+            return true;
+        }
+        // Resources overriding how they are read may not return their stored configuration
+        if (readResourceHandler != ReadResourceHandler.INSTANCE) {
+            return true;
+        }
+        final OperationStepHandler readAttributeHandler = registration.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        if (readAttributeHandler != null && readAttributeHandler != ReadAttributeHandler.INSTANCE) {
+            return true;
+        }
+        if (context.authorize(readResourceOp, READ_CONFIG).getDecision() != AuthorizationResult.Decision.PERMIT) {
+            // Let read-resource report on the access control
+            return true;
+        }
+        final ModelNode model;
+        try {
+            model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+        } catch (Resource.NoSuchResourceException e) {
+            return true;
+        }
+        boolean matches = true;
+        for (Property property : filter.asPropertyList()) {
+            final String name = property.getName();
+            final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+            if (access == null || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION || access.getReadHandler() != null) {
+                continue;
+            }
+            // The value read-resource would return, including the default
+            final ModelNode resource = new ModelNode();
+            if (model.hasDefined(name)) {
+                resource.get(name).set(model.get(name));
+            } else if (access.getAttributeDefinition().getDefaultValue() != null) {
+                resource.get(name).set(access.getAttributeDefinition().getDefaultValue());
+            }
+            if (context.authorize(readResourceOp, name, resource.get(name), READ_CONFIG).getDecision() != AuthorizationResult.Decision.PERMIT) {
+                continue;
+            }
+            try {
+                matches &= FilterReduceHandler.isEqual(resource, name, property.getValue());
+            } catch (OperationFailedException e) {
+                // Let the filter report the failure
+                return true;
+            }
+        }
+        return matches;
+    }
+
     static class FilterReduceHandler implements OperationStepHandler {
 
         private static final String UNDEFINED = "undefined";
@@ -183,40 +257,7 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
                 final String filterName = property.getName();
                 final ModelNode filterValue = property.getValue();
 
-                boolean isEqual = false;
-
-                if(!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED))  {
-                    // query for undefined attributes
-                    isEqual = !resource.get(filterName).isDefined();
-                }  else {
-
-                    final ModelType targetValueType = resource.get(filterName).getType();
-
-                    try {
-                        // query for attribute values (throws exception when types don't match)
-                        switch (targetValueType) {
-                            case BOOLEAN:
-                                isEqual = filterValue.asBoolean() == resource.get(filterName).asBoolean();
-                                break;
-                            case LONG:
-                                isEqual = filterValue.asLong() == resource.get(filterName).asLong();
-                                break;
-                            case INT:
-                                isEqual = filterValue.asInt() == resource.get(filterName).asInt();
-                                break;
-                            case DOUBLE:
-                                isEqual = filterValue.asDouble() == resource.get(filterName).asDouble();
-                                break;
-                            default:
-                                isEqual = filterValue.equals(resource.get(filterName));
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValueType);
-                    }
-
-                }
-
-                if(isEqual) {
+                if(isEqual(resource, filterName, filterValue)) {
                     matches.add(resource.get(filterName).equals(filterValue));
                 }
 
@@ -250,6 +291,42 @@ public final class QueryOperationHandler extends GlobalOperationHandlers.Abstrac
             return isMatching;
         }
 
+        static boolean isEqual(final ModelNode resource, final String filterName, final ModelNode filterValue) throws OperationFailedException {
+            boolean isEqual = false;
+
+            if(!filterValue.isDefined() || filterValue.asString().equals(UNDEFINED))  {
+                // query for undefined attributes
+                isEqual = !resource.get(filterName).isDefined();
+            }  else {
+
+                final ModelType targetValueType = resource.get(filterName).getType();
+
+                try {
+                    // query for attribute values (throws exception when types don't match)
+                    switch (targetValueType) {
+                        case BOOLEAN:
+                            isEqual = filterValue.asBoolean() == resource.get(filterName).asBoolean();
+                            break;
+                        case LONG:
+                            isEqual = filterValue.asLong() == resource.get(filterName).asLong();
+                            break;
+                        case INT:
+                            isEqual = filterValue.asInt() == resource.get(filterName).asInt();
+                            break;
+                        case DOUBLE:
+                            isEqual = filterValue.asDouble() == resource.get(filterName).asDouble();
+                            break;
+                        default:
+                            isEqual = filterValue.equals(resource.get(filterName));
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw ControllerLogger.MGMT_OP_LOGGER.selectFailedCouldNotConvertAttributeToType(filterName, targetValueType);
+                }
+
+            }
+            return isEqual;
+        }
+
         private static ModelNode reduce(final ModelNode payload, final ModelNode attributes) throws OperationFailedException {
 
             ModelNode outcome = new ModelNode();
@@ -34,6 +34,7 @@ public enum Attribute {
     APPLICATION("application"),
     ARCHIVE("archive"),
     ASSIGN_GROUPS("assign-groups"),
+    ASYNC("async"),
     ATTRIBUTE("attribute"),
     AUTHENTICATION_CONTEXT("authentication-context"),
     AUTO_START("auto-start"),
@@ -127,6 +128,7 @@ public enum Attribute {
     NATIVE("native"),
     NO_REQUEST_TIMEOUT("no-request-timeout"),
     ORGANIZATION("organization"),
+    OVERFLOW_POLICY("overflow-policy"),
     PARSE_ROLES_FROM_DN("parse-group-name-from-dn"),
     PASSWORD("password"),
     PATH("path"),
@@ -142,6 +144,7 @@ public enum Attribute {
     PROFILE("profile"),
     PROTOCOL("protocol"),
     PROVIDER("provider"),
+    QUEUE_LENGTH("queue-length"),
     REALM("realm"),
     RECONNECT_TIMEOUT("reconnect-timeout"),
     RECURSIVE("recursive"),
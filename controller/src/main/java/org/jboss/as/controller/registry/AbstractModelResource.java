@@ -9,6 +9,7 @@ import static org.wildfly.common.Assert.checkNotNullParam;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -183,7 +184,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             }
             final Resource removed = provider.remove(address.getValue());
             // Cleanup default resource providers
-            if ((provider instanceof DefaultResourceProvider) && !provider.hasChildren()) {
+            if (isDefaultProvider(provider) && !provider.hasChildren()) {
                 children.remove(address.getKey());
             }
             return removed;
@@ -226,16 +227,48 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             if(provider != null) {
                 return provider;
             } else {
-                final ResourceProvider newProvider = new DefaultResourceProvider();
+                final ResourceProvider newProvider = createDefaultProvider();
                 children.put(type, newProvider);
                 return newProvider;
             }
         }
     }
 
+    /**
+     * Creates the provider used for a child type for which no {@link ResourceProvider} was explicitly registered.
+     *
+     * @return the provider. Will not return {@code null}
+     */
+    ResourceProvider createDefaultProvider() {
+        return new DefaultResourceProvider();
+    }
+
+    /**
+     * Gets whether the given provider was created by {@link #createDefaultProvider()}, in which case it is removed
+     * once it no longer has any children.
+     */
+    boolean isDefaultProvider(ResourceProvider provider) {
+        return provider instanceof DefaultResourceProvider;
+    }
+
     @Override
     public abstract Resource clone();
 
+    /**
+     * Copies the model of this resource to a clone, retrying until the model is not concurrently modified while it is
+     * being copied.
+     */
+    void cloneModel(Resource clone) {
+        for (;;) {
+            try {
+                clone.writeModel(getModel());
+                break;
+            } catch (ConcurrentModificationException ignore) {
+                // TODO horrible hack :(
+            }
+        }
+    }
+
     protected void cloneProviders(AbstractModelResource clone) {
         synchronized (children) {
             for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
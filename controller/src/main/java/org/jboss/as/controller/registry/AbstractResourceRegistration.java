@@ -44,6 +44,8 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
     private final PathAddress pathAddress;
     private final ProcessType processType;
     private final Stability stability;
+    // Shared by all the registrations of the tree
+    private final DescriptionCache descriptionCache;
     private RootInvocation rootInvocation;
 
     /** Constructor for a root MRR */
@@ -54,6 +56,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = PathAddress.EMPTY_ADDRESS;
         this.processType = Assert.checkNotNullParam("processType", processType);
         this.stability = Assert.checkNotNullParam("stability", stability);
+        this.descriptionCache = new DescriptionCache();
     }
 
     /** Constructor for a non-root MRR */
@@ -64,6 +67,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = parent.getPathAddress(valueString);
         this.processType = parent.getProcessType();
         this.stability = parent.getStability();
+        this.descriptionCache = parent.getParent().descriptionCache;
     }
 
     static void checkPermission() {
@@ -77,6 +81,18 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         return parent;
     }
 
+    @Override
+    public DescriptionCache getDescriptionCache() {
+        return descriptionCache;
+    }
+
+    /**
+     * Discards the cached descriptions of the tree, following a change to the registrations in it.
+     */
+    void registrationChanged() {
+        descriptionCache.invalidate();
+    }
+
     void addAccessConstraints(List<AccessConstraintDefinition> list) {
         // no-op in the base class
     }
@@ -5,7 +5,6 @@
 
 package org.jboss.as.controller.registry;
 
-import java.util.ConcurrentModificationException;
 import java.util.Set;
 
 import org.jboss.dmr.ModelNode;
@@ -61,14 +60,7 @@ class BasicResource extends AbstractModelResource implements Resource {
     @Override
     public Resource clone() {
         final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
-        for (;;) {
-            try {
-                clone.writeModel(model);
-                break;
-            } catch (ConcurrentModificationException ignore) {
-                // TODO horrible hack :(
-            }
-        }
+        cloneModel(clone);
         cloneProviders(clone);
         return clone;
     }
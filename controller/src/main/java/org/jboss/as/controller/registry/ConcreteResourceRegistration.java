@@ -77,6 +77,8 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private Map<String, RuntimePackageDependency> additionalPackages;
 
+    private volatile DescriptionProvider descriptionProvider;
+
     /** Constructor for a root MRR */
     ConcreteResourceRegistration(final ResourceDefinition definition,
                                  final AccessConstraintUtilizationRegistry constraintUtilizationRegistry,
@@ -231,7 +233,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         checkPermission();
         if (this.enables(definition)) {
             String opName = definition.getName();
-            OperationEntry entry = new OperationEntry(definition, handler, inherited);
+            OperationEntry entry = new OperationEntry(definition, handler, inherited, getDescriptionCache());
             boolean filterParameters = !Stream.of(definition.getParameters()).allMatch(this::enables);
             boolean filterReplyParameters = !Stream.of(definition.getReplyParameters()).allMatch(this::enables);
             if (filterParameters || filterReplyParameters) {
@@ -242,7 +244,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 if (filterReplyParameters) {
                     builder.setReplyParameters(Stream.of(definition.getReplyParameters()).filter(this::enables).toArray(AttributeDefinition[]::new));
                 }
-                entry = new OperationEntry(builder.build(), handler, inherited);
+                entry = new OperationEntry(builder.build(), handler, inherited, getDescriptionCache());
             }
             writeLock.lock();
             try {
@@ -252,6 +254,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     throw alreadyRegistered("operation handler", opName);
                 }
                 operations.put(opName, entry);
+                registrationChanged();
                 if (constraintUtilizationRegistry != null) {
                     for (AccessConstraintDefinition acd : definition.getAccessConstraints()) {
                         constraintUtilizationRegistry.registerAccessConstraintOperationUtilization(acd.getKey(), getPathAddress(), opName);
@@ -407,6 +410,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             if (operations == null || operations.remove(operationName) == null) {
                 throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
             }
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -440,6 +444,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         writeLock.lock();
         try {
             attributes.remove(attributeName);
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -464,6 +469,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     }
                     notifications.put(type, entry);
                 }
+                registrationChanged();
             } finally {
                 writeLock.unlock();
             }
@@ -483,6 +489,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             if (notifications != null) {
                 notifications.remove(notificationType);
             }
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -529,6 +536,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             }
             attributes.put(attributeName, aa);
             registerAttributeAccessConstraints(definition);
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -702,6 +710,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                     capabilities = new HashSet<>();
                 }
                 capabilities.add(capability);
+                registrationChanged();
                 if (capabilityRegistry != null) {
                     capabilityRegistry.registerPossibleCapability(capability, getPathAddress());
                 }
@@ -722,6 +731,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             } else {
                 incorporatingCapabilities = capabilities.stream().filter(this::enables).collect(Collectors.toUnmodifiableSet());
             }
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -736,6 +746,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             } else {
                 this.requirements = requirements.stream().filter(this::enables).collect(Collectors.toUnmodifiableSet());
             }
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
@@ -797,7 +808,13 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             return subregistry.getModelDescription(iterator, next.getValue());
         } else {
             checkPermission();
-            return resourceDefinition.getDescriptionProvider(this);
+            DescriptionProvider provider = this.descriptionProvider;
+            if (provider == null) {
+                // A benign race, as every caching provider gives the same descriptions
+                provider = getDescriptionCache().cache(resourceDefinition.getDescriptionProvider(this));
+                this.descriptionProvider = provider;
+            }
+            return provider;
         }
     }
 
@@ -1001,6 +1018,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
                 orderedChildTypes.add(type);
             }
+            registrationChanged();
         } finally {
             writeLock.unlock();
         }
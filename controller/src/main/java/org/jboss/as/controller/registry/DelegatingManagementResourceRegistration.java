@@ -370,6 +370,11 @@ public class DelegatingManagementResourceRegistration implements ManagementResou
         getDelegate().registerAdditionalRuntimePackages(pkgs);
     }
 
+    @Override
+    public DescriptionCache getDescriptionCache() {
+        return getDelegate().getDescriptionCache();
+    }
+
     @Override
     public Set<RuntimePackageDependency> getAdditionalRuntimePackages() {
         return getDelegate().getAdditionalRuntimePackages();
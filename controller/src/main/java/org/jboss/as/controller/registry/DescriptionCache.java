@@ -0,0 +1,113 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.registry;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Caches the descriptions of the resources and operations registered in a tree of resource registrations.
+ * <p/>
+ * Building a description resolves every attribute, parameter and child of a registration against its resource bundle,
+ * which makes a recursive {@code read-resource-description} of the whole model expensive. The descriptions are instead
+ * built once per locale and copied afterwards. As they can depend on anything registered in the tree (e.g. the
+ * description of an {@code add} operation lists the attributes of its resource), all of them are discarded whenever any
+ * registration of the tree changes.
+ */
+public final class DescriptionCache {
+
+    // Incremented on every change to the registrations of the tree
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    DescriptionCache() {
+    }
+
+    /**
+     * @return the number of descriptions copied from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of descriptions that were not in the cache and had to be built
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets a value that changes whenever a registration of the tree changes, for the callers maintaining their own
+     * data derived from the registrations.
+     *
+     * @return the current generation of the registrations
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Discards the cached descriptions, following a change to the registrations of the tree.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Creates a provider of the same descriptions as the given provider, built once per locale.
+     *
+     * @param provider the provider building the descriptions
+     * @return the caching provider
+     */
+    DescriptionProvider cache(DescriptionProvider provider) {
+        return new CachingDescriptionProvider(provider);
+    }
+
+    private final class CachingDescriptionProvider implements DescriptionProvider {
+        private final DescriptionProvider provider;
+        private final Map<Locale, CachedDescription> descriptions = new ConcurrentHashMap<>(2);
+
+        CachingDescriptionProvider(DescriptionProvider provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            Locale key = (locale != null) ? locale : Locale.getDefault();
+            // Read before building, so that a description built while the tree changes is not considered current
+            long current = generation.get();
+            CachedDescription cached = descriptions.get(key);
+            if (cached != null && cached.generation == current) {
+                hits.increment();
+                // Callers are free to modify the descriptions they are given
+                return cached.description.clone();
+            }
+            misses.increment();
+            ModelNode description = provider.getModelDescription(locale);
+            if (description != null) {
+                descriptions.put(key, new CachedDescription(current, description.clone()));
+            }
+            return description;
+        }
+    }
+
+    private static final class CachedDescription {
+        private final long generation;
+        private final ModelNode description;
+
+        CachedDescription(long generation, ModelNode description) {
+            this.generation = generation;
+            this.description = description;
+        }
+    }
+}
@@ -392,6 +392,16 @@ public interface ManagementResourceRegistration extends ImmutableManagementResou
      */
     void registerAdditionalRuntimePackages(RuntimePackageDependency... pkgs);
 
+    /**
+     * Gets the cache of the descriptions of the resources and operations registered in the tree this registration
+     * belongs to.
+     *
+     * @return the cache, or {@code null} if descriptions are not cached
+     */
+    default DescriptionCache getDescriptionCache() {
+        return null;
+    }
+
     /**
      * A factory for creating a new, root model node registration.
      */
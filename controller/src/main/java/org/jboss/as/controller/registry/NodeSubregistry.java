@@ -114,6 +114,7 @@ final class NodeSubregistry {
             AbstractResourceRegistration parentRegistration = getParent();
             parentRegistration.setOrderedChild(keyName);
         }
+        parent.registrationChanged();
 
         return newRegistry;
     }
@@ -125,12 +126,14 @@ final class NodeSubregistry {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
         //register(elementValue, newRegistry);
+        parent.registrationChanged();
         return newRegistry;
     }
 
     void unregisterProxyController(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.registrationChanged();
     }
 
     public AliasResourceRegistration registerAlias(final String elementValue, AliasEntry aliasEntry, AbstractResourceRegistration target) {
@@ -139,12 +142,14 @@ final class NodeSubregistry {
         if (existingRegistry != null) {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
+        parent.registrationChanged();
         return newRegistry;
     }
 
     public void unregisterAlias(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.registrationChanged();
     }
 
 
@@ -152,6 +157,7 @@ final class NodeSubregistry {
         checkPermission();
         AbstractResourceRegistration rr = childRegistriesUpdater.remove(this, elementValue);
         if (rr != null) {
+            parent.registrationChanged();
             // We want to remove the possible capabilities.
             // We've removed the MRR so the normal getCapabilities() won't work as it
             // relies on walking the tree from the root. So we just use the local call
@@ -81,11 +81,22 @@ public class OperationEntry {
     private final OperationDefinition operationDefinition;
     private final OperationStepHandler operationHandler;
     private final boolean inherited;
+    private final DescriptionProvider descriptionProvider;
 
     OperationEntry(final OperationDefinition definition, final OperationStepHandler operationHandler, final boolean inherited) {
         this.operationDefinition = definition;
         this.operationHandler = operationHandler;
         this.inherited = inherited;
+        this.descriptionProvider = null;
+    }
+
+    /** Constructor for an entry whose descriptions are cached */
+    OperationEntry(final OperationDefinition definition, final OperationStepHandler operationHandler, final boolean inherited,
+                   final DescriptionCache descriptionCache) {
+        this.operationDefinition = definition;
+        this.operationHandler = operationHandler;
+        this.inherited = inherited;
+        this.descriptionProvider = descriptionCache.cache(definition.getDescriptionProvider());
     }
 
     public OperationDefinition getOperationDefinition() {
@@ -97,7 +108,7 @@ public class OperationEntry {
     }
 
     public DescriptionProvider getDescriptionProvider() {
-        return operationDefinition.getDescriptionProvider();
+        return (descriptionProvider != null) ? descriptionProvider : operationDefinition.getDescriptionProvider();
     }
 
     public boolean isInherited() {
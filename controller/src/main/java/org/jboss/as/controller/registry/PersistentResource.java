@@ -0,0 +1,366 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link Resource} implementation whose clones share structure with the resource they were cloned from.
+ *
+ * <p>Cloning a resource that belongs to a {@link #freeze(Resource) frozen} tree only copies the resource's own model
+ * and the references to its children. A child is copied the first time it is obtained through the clone, so a writer
+ * that modifies a few resources only copies the resources on the paths from the root to those resources, and the rest
+ * of the tree remains shared with the frozen original. Cloning a resource that has not been frozen performs a copy of
+ * every resource that may still be modified, sharing only the frozen parts of the tree.</p>
+ *
+ * <p>As a resource obtained through {@link #getChild(PathElement)} may be modified, a modifiable resource copies a shared
+ * child even if the caller only reads it, so reading a whole subtree that way copies the subtree. Callers that only read
+ * use {@link #readChild(Resource, PathElement)} and {@link #readChildren(Resource, String)} instead, which return the
+ * shared children as is.</p>
+ *
+ * <p>Concurrency note: as with the {@link Resource.Factory#create() standard implementation}, if a thread needs to
+ * modify a resource, it must use the clone() method to obtain its own copy of the resource. That instance cannot be
+ * made visible to other threads until all writes are complete, after which it should be frozen.</p>
+ */
+public final class PersistentResource extends AbstractModelResource {
+
+    /** The local model. */
+    private final ModelNode model = new ModelNode();
+    /** The edit session this resource belongs to. Resources belonging to the same session share the same instance. */
+    private Edit edit;
+
+    PersistentResource(boolean runtimeOnly) {
+        super(runtimeOnly);
+        this.edit = new Edit();
+    }
+
+    PersistentResource(boolean runtimeOnly, Set<String> orderedChildTypes) {
+        super(runtimeOnly, orderedChildTypes);
+        this.edit = new Edit();
+    }
+
+    private PersistentResource(boolean runtimeOnly, Set<String> orderedChildTypes, Edit edit) {
+        super(runtimeOnly, orderedChildTypes, true);
+        this.edit = edit;
+    }
+
+    /**
+     * Marks the tree rooted at the given resource as no longer modifiable, allowing subsequent clones of any of its
+     * resources to share structure with it. Has no effect if {@code resource} is not a {@code PersistentResource}.
+     *
+     * @param resource the root of the tree. Cannot be {@code null}
+     */
+    public static void freeze(final Resource resource) {
+        if (resource instanceof PersistentResource) {
+            ((PersistentResource) resource).edit.frozen = true;
+        }
+    }
+
+    /**
+     * Gets a child of a resource in order to read it. Unlike {@link Resource#getChild(PathElement)}, a child that a
+     * modifiable {@code PersistentResource} still shares with a frozen tree is returned as is rather than copied, so the
+     * returned resource must not be modified.
+     *
+     * @param resource the parent resource. Cannot be {@code null}
+     * @param element the path of the child
+     * @return the child, or {@code null} if there is none
+     */
+    public static Resource readChild(final Resource resource, final PathElement element) {
+        final PersistentResourceProvider provider = getPersistentProvider(resource, element.getKey());
+        return provider == null ? resource.getChild(element) : provider.read(element.getValue());
+    }
+
+    /**
+     * Gets the children of a given type of a resource in order to read them. Unlike
+     * {@link Resource#getChildren(String)}, children that a modifiable {@code PersistentResource} still shares with a
+     * frozen tree are returned as is rather than copied, so the returned resources must not be modified.
+     *
+     * @param resource the parent resource. Cannot be {@code null}
+     * @param childType the type of the children
+     * @return the children
+     */
+    public static Set<ResourceEntry> readChildren(final Resource resource, final String childType) {
+        final PersistentResourceProvider provider = getPersistentProvider(resource, childType);
+        if (provider == null) {
+            return resource.getChildren(childType);
+        }
+        final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
+        for (final String name : provider.children()) {
+            final Resource child = provider.read(name);
+            if (child != null) {
+                children.add(new DelegateResource(child) {
+                    @Override
+                    public String getName() {
+                        return name;
+                    }
+
+                    @Override
+                    public PathElement getPathElement() {
+                        return PathElement.pathElement(childType, name);
+                    }
+                });
+            }
+        }
+        return children;
+    }
+
+    private static PersistentResourceProvider getPersistentProvider(final Resource resource, final String childType) {
+        if (resource instanceof PersistentResource) {
+            final ResourceProvider provider = ((PersistentResource) resource).getProvider(childType);
+            if (provider instanceof PersistentResourceProvider) {
+                return (PersistentResourceProvider) provider;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ModelNode getModel() {
+        return model;
+    }
+
+    @Override
+    public void writeModel(ModelNode newModel) {
+        model.set(newModel);
+    }
+
+    @Override
+    public boolean isModelDefined() {
+        return model.isDefined();
+    }
+
+    @SuppressWarnings({"CloneDoesntCallSuperClone"})
+    @Override
+    public Resource clone() {
+        return copy(new Edit());
+    }
+
+    @Override
+    ResourceProvider createDefaultProvider() {
+        return new PersistentResourceProvider(this);
+    }
+
+    @Override
+    boolean isDefaultProvider(ResourceProvider provider) {
+        return provider instanceof PersistentResourceProvider;
+    }
+
+    boolean isFrozen() {
+        return edit.frozen;
+    }
+
+    /**
+     * Creates a copy of this resource belonging to the given edit session. If this resource is frozen its children are
+     * shared with the copy; otherwise any child that may still be modified through this resource is copied as well.
+     */
+    private PersistentResource copy(final Edit target) {
+        final boolean deep = !edit.frozen;
+        final PersistentResource copy = new PersistentResource(isRuntime(), getOrderedChildTypes(), target);
+        cloneModel(copy);
+        for (final String childType : getChildTypes()) {
+            final ResourceProvider provider = getProvider(childType);
+            if (provider instanceof PersistentResourceProvider) {
+                copy.registerResourceProvider(childType, ((PersistentResourceProvider) provider).copy(copy, deep));
+            } else if (provider != null) {
+                copy.registerResourceProvider(childType, provider.clone());
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Moves this resource, and any descendants that belong to the same edit session, to the given edit session.
+     * Used when a newly created resource is registered as a child of a modifiable resource.
+     */
+    private void adopt(final Edit target) {
+        final Edit current = edit;
+        if (current == target || current.frozen) {
+            return;
+        }
+        edit = target;
+        for (final String childType : getChildTypes()) {
+            final ResourceProvider provider = getProvider(childType);
+            if (provider instanceof PersistentResourceProvider) {
+                ((PersistentResourceProvider) provider).adopt(current, target);
+            }
+        }
+    }
+
+    /** An edit session. Once frozen, no resource belonging to the session is modified again. */
+    private static final class Edit {
+        private volatile boolean frozen;
+    }
+
+    /**
+     * Default {@link ResourceProvider} for a {@link PersistentResource}. Children that are shared with another tree
+     * are copied into the owning resource's edit session when they are first obtained from a modifiable resource.
+     */
+    private static final class PersistentResourceProvider implements ResourceProvider {
+
+        private final PersistentResource owner;
+        private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** Names of children that are not {@code PersistentResource}s and are not shared with another tree. */
+        private final Set<String> owned = new HashSet<String>();
+
+        private PersistentResourceProvider(final PersistentResource owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Set<String> children() {
+            synchronized (children) {
+                return new LinkedHashSet<String>(children.keySet());
+            }
+        }
+
+        @Override
+        public boolean has(String name) {
+            synchronized (children) {
+                return children.get(name) != null;
+            }
+        }
+
+        @Override
+        public Resource get(String name) {
+            synchronized (children) {
+                final Resource child = children.get(name);
+                if (child == null || owner.edit.frozen) {
+                    return child;
+                }
+                final Resource result;
+                if (child instanceof PersistentResource) {
+                    final PersistentResource persistent = (PersistentResource) child;
+                    if (persistent.edit == owner.edit) {
+                        return persistent;
+                    }
+                    result = persistent.copy(owner.edit);
+                } else {
+                    if (owned.contains(name)) {
+                        return child;
+                    }
+                    result = child.clone();
+                    owned.add(name);
+                }
+                children.put(name, result);
+                return result;
+            }
+        }
+
+        /** Gets a child without copying it into the owner's edit session. */
+        private Resource read(final String name) {
+            synchronized (children) {
+                return children.get(name);
+            }
+        }
+
+        @Override
+        public boolean hasChildren() {
+            synchronized (children) {
+                return ! children.isEmpty();
+            }
+        }
+
+        @Override
+        public void register(String name, Resource resource) {
+            synchronized (children) {
+                if (children.containsKey(name)) {
+                    throw ControllerLogger.ROOT_LOGGER.duplicateResource(name);
+                }
+                children.put(name, own(name, resource));
+            }
+        }
+
+        @Override
+        public void register(String name, int index, Resource resource) {
+            synchronized (children) {
+                if (children.containsKey(name)) {
+                    throw ControllerLogger.ROOT_LOGGER.duplicateResource(name);
+                }
+                final Resource toAdd = own(name, resource);
+                if (index < 0 || index >= children.size()) {
+                    children.put(name, toAdd);
+                } else {
+                    List<Map.Entry<String, Resource>> list = new ArrayList<Map.Entry<String, Resource>>(children.entrySet());
+                    children.clear();
+                    int i = 0;
+                    for (Map.Entry<String, Resource> entry : list) {
+                        if (i++ == index) {
+                            children.put(name, toAdd);
+                        }
+                        children.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Resource remove(String name) {
+            synchronized (children) {
+                owned.remove(name);
+                return children.remove(name);
+            }
+        }
+
+        @Override
+        public ResourceProvider clone() {
+            return copy(owner, true);
+        }
+
+        private Resource own(final String name, final Resource resource) {
+            if (resource instanceof PersistentResource) {
+                if (!owner.edit.frozen) {
+                    ((PersistentResource) resource).adopt(owner.edit);
+                }
+            } else {
+                owned.add(name);
+            }
+            return resource;
+        }
+
+        private PersistentResourceProvider copy(final PersistentResource newOwner, final boolean deep) {
+            final PersistentResourceProvider copy = new PersistentResourceProvider(newOwner);
+            synchronized (children) {
+                for (final Map.Entry<String, Resource> entry : children.entrySet()) {
+                    final String name = entry.getKey();
+                    final Resource child = entry.getValue();
+                    if (!deep) {
+                        // Shared; copied on first access through the new owner
+                        copy.children.put(name, child);
+                    } else if (child instanceof PersistentResource) {
+                        final PersistentResource persistent = (PersistentResource) child;
+                        copy.children.put(name, persistent.isFrozen() ? persistent : persistent.copy(newOwner.edit));
+                    } else if (owned.contains(name)) {
+                        copy.children.put(name, child.clone());
+                        copy.owned.add(name);
+                    } else {
+                        copy.children.put(name, child);
+                    }
+                }
+            }
+            return copy;
+        }
+
+        private void adopt(final Edit previous, final Edit target) {
+            synchronized (children) {
+                for (final Resource child : children.values()) {
+                    if (child instanceof PersistentResource && ((PersistentResource) child).edit == previous) {
+                        ((PersistentResource) child).adopt(target);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * An addressable resource in the management model, representing a local model and child resources.
@@ -207,6 +208,15 @@ public interface Resource extends Cloneable {
 
     class Factory {
 
+        /**
+         * System property that, if set to {@code true}, causes the default resource implementation to be a
+         * {@link PersistentResource}, whose clones share structure with the tree they were cloned from.
+         */
+        public static final String PERSISTENT_RESOURCE_TREE_PROPERTY = "org.wildfly.management.persistent-resource-tree";
+
+        private static final boolean PERSISTENT = Boolean.parseBoolean(
+                WildFlySecurityManager.getPropertyPrivileged(PERSISTENT_RESOURCE_TREE_PROPERTY, "false"));
+
         private Factory() { }
 
         /**
@@ -215,7 +225,7 @@ public interface Resource extends Cloneable {
          * @return the resource
          */
         public static Resource create() {
-            return new BasicResource();
+            return PERSISTENT ? new PersistentResource(false) : new BasicResource();
         }
 
         /**
@@ -226,7 +236,7 @@ public interface Resource extends Cloneable {
          * @return the resource
          */
         public static Resource create(boolean runtimeOnly) {
-            return new BasicResource(runtimeOnly);
+            return PERSISTENT ? new PersistentResource(runtimeOnly) : new BasicResource(runtimeOnly);
         }
 
         /**
@@ -238,7 +248,7 @@ public interface Resource extends Cloneable {
          * @return the resource
          */
         public static Resource create(boolean runtimeOnly, Set<String> orderedChildTypes) {
-            return new BasicResource(runtimeOnly, orderedChildTypes);
+            return PERSISTENT ? new PersistentResource(runtimeOnly, orderedChildTypes) : new BasicResource(runtimeOnly, orderedChildTypes);
         }
     }
 
@@ -8,10 +8,12 @@ package org.jboss.as.controller.remote;
 import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
@@ -21,6 +23,7 @@ import org.jboss.as.protocol.mgmt.ActiveOperation;
 import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
+import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.ProtocolUtils;
 import org.jboss.dmr.ModelNode;
 
@@ -78,6 +81,17 @@ class OperationAttachmentsProxy implements Operation {
         return operation;
     }
 
+    /**
+     * Gets the length of an attachment stream of a proxy, which the remote side sends ahead of its content.
+     *
+     * @param stream the attachment stream
+     * @return the length of the stream, or {@code -1} if the stream is not one of a proxy
+     * @throws IOException if the length could not be read
+     */
+    static int getLength(final InputStream stream) throws IOException {
+        return stream instanceof ProxiedInputStream ? ((ProxiedInputStream) stream).getLength() : -1;
+    }
+
     private static class ProxiedInputStream extends InputStream {
         static final int BUFFER_SIZE = 8192;
 
@@ -86,7 +100,9 @@ class OperationAttachmentsProxy implements Operation {
         private final Pipe pipe;
         private final ManagementChannelAssociation channelAssociation;
 
+        private final CountDownLatch lengthLatch = new CountDownLatch(1);
         private boolean initialized;
+        private volatile int length = -1;
         private volatile Throwable error;
 
         ProxiedInputStream(final ManagementChannelAssociation channelAssociation, final int batchId, final int index) {
@@ -126,12 +142,24 @@ class OperationAttachmentsProxy implements Operation {
             }
         }
 
+        int getLength() throws IOException {
+            initializeBytes();
+            try {
+                lengthLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            throwIfError();
+            return length;
+        }
+
         private void prepareForRead() throws IOException {
             initializeBytes();
             throwIfError();
         }
 
-        private void initializeBytes() {
+        private synchronized void initializeBytes() {
             if (!initialized) {
                 initialized = true;
                 try {
@@ -155,6 +183,8 @@ class OperationAttachmentsProxy implements Operation {
                             try {
                                 ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
                                 final int size = input.readInt();
+                                length = size;
+                                lengthLatch.countDown();
                                 ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
                                 final byte[] buffer = new byte[BUFFER_SIZE];
                                 int totalRead = 0;
@@ -170,6 +200,13 @@ class OperationAttachmentsProxy implements Operation {
                                 throw e;
                             }
                         }
+
+                        @Override
+                        public void handleFailed(ManagementResponseHeader header, ActiveOperation.ResultHandler<Object> resultHandler) {
+                            // Fail the reads, rather than leaving them waiting for content that will never be sent
+                            shutdown(new IOException(header.getError()));
+                            super.handleFailed(header, resultHandler);
+                        }
                     });
                 } catch (IOException e) {
                     shutdown(e);
@@ -187,8 +224,14 @@ class OperationAttachmentsProxy implements Operation {
         }
 
         private void shutdown(Throwable error) {
-            StreamUtils.safeClose(this);
             this.error = error;
+            if (error != null) {
+                // Reads of a stream failing mid-transfer fail too, instead of ending as if the stream was complete
+                pipe.kill();
+            } else {
+                StreamUtils.safeClose(this);
+            }
+            lengthLatch.countDown();
         }
     }
 }
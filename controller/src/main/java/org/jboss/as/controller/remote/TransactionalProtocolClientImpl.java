@@ -16,6 +16,7 @@ import static org.jboss.as.controller.remote.IdentityAddressProtocolUtil.write;
 import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -349,6 +350,32 @@ class TransactionalProtocolClientImpl implements ManagementRequestHandlerFactory
                     final ManagementRequestHeader header = (ManagementRequestHeader) context.getRequestHeader();
                     final ManagementResponseHeader response = new ManagementResponseHeader(header.getVersion(), header.getRequestId(), null);
                     final InputStream is = exec.getAttachments().getInputStreams().get(index);
+                    // An attachment proxied from another process announces its length before its content, so the
+                    // content can be relayed as it arrives instead of being copied to a temp file to learn its length
+                    final int length = is != null ? OperationAttachmentsProxy.getLength(is) : -1;
+                    if (length >= 0) {
+                        final FlushableDataOutput output = context.writeMessage(response);
+                        try {
+                            output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
+                            output.writeInt(length);
+                            output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
+                            final byte[] buffer = new byte[8192];
+                            int remaining = length;
+                            while (remaining > 0) {
+                                final int read = is.read(buffer, 0, Math.min(remaining, buffer.length));
+                                if (read == -1) {
+                                    throw new EOFException();
+                                }
+                                output.write(buffer, 0, read);
+                                remaining -= read;
+                            }
+                            output.writeByte(ManagementProtocol.RESPONSE_END);
+                            output.close();
+                        } finally {
+                            StreamUtils.safeClose(output);
+                        }
+                        return;
+                    }
                     try {
                         final File temp = copyStream(is, exec.tempDir);
                         try {
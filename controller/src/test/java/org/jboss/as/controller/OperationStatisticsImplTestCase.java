@@ -0,0 +1,107 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationStatisticsImpl.LatencyHistogram;
+import org.jboss.as.controller.OperationStatisticsImpl.Phase;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link OperationStatisticsImpl}.
+ */
+public class OperationStatisticsImplTestCase {
+
+    @Test
+    public void testBuckets() {
+        for (long time = 0; time < 1 << 20; time++) {
+            int bucket = LatencyHistogram.bucket(time);
+            long highestTime = LatencyHistogram.highestTime(bucket);
+            assertTrue(time + " in bucket " + bucket, highestTime >= time && highestTime <= time + time / 4);
+            assertTrue(bucket == 0 || LatencyHistogram.highestTime(bucket - 1) < time);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testStatistics() {
+        OperationStatisticsImpl statistics = new OperationStatisticsImpl();
+        PathAddress address = PathAddress.pathAddress("subsystem", "logging").append("logger", "*");
+        long[] times = new long[Phase.values().length];
+        Arrays.fill(times, -1);
+        for (int i = 1; i <= 100; i++) {
+            times[Phase.TOTAL.ordinal()] = TimeUnit.MICROSECONDS.toNanos(i);
+            times[Phase.MODEL_STAGE.ordinal()] = TimeUnit.MICROSECONDS.toNanos(1);
+            statistics.record("read-resource", address, times);
+        }
+
+        List<ModelNode> result = statistics.getOperationStatistics().asList();
+        assertEquals(2, result.size());
+        ModelNode total = result.get(0);
+        assertEquals("read-resource", total.get(OP).asString());
+        assertEquals("/subsystem=logging/logger=*", total.get(ADDRESS).asString());
+        assertEquals("total", total.get(OperationStatistics.PHASE).asString());
+        assertEquals(100, total.get(OperationStatistics.COUNT).asLong());
+        assertEquals(5050, total.get(OperationStatistics.TOTAL_TIME).asLong());
+        assertEquals(100, total.get(OperationStatistics.MAX_TIME).asLong());
+        // The highest times of the buckets counting the 50th, 90th and 99th times, but no more than the longest time
+        assertEquals(55, total.get(OperationStatistics.MEDIAN_TIME).asLong());
+        assertEquals(95, total.get(OperationStatistics.PERCENTILE_90_TIME).asLong());
+        assertEquals(100, total.get(OperationStatistics.PERCENTILE_99_TIME).asLong());
+        ModelNode model = result.get(1);
+        assertEquals("model-stage", model.get(OperationStatistics.PHASE).asString());
+        assertEquals(100, model.get(OperationStatistics.TOTAL_TIME).asLong());
+
+        statistics.resetOperationStatistics();
+        assertTrue(statistics.getOperationStatistics().asList().isEmpty());
+    }
+
+    @Test
+    public void testStatisticsByRegistration() {
+        OperationStatisticsImpl statistics = new OperationStatisticsImpl();
+        ManagementResourceRegistration root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(ResourceBuilder.Factory.create(PathElement.pathElement("test"), NonResolvingResourceDescriptionResolver.INSTANCE).build());
+        ManagementResourceRegistration logger = root.registerSubModel(ResourceBuilder.Factory.create(PathElement.pathElement("logger"), NonResolvingResourceDescriptionResolver.INSTANCE).build());
+        long[] times = new long[Phase.values().length];
+        Arrays.fill(times, -1);
+        times[Phase.TOTAL.ordinal()] = TimeUnit.MICROSECONDS.toNanos(10);
+        statistics.record("read-resource", logger.getPathAddress(), times);
+        statistics.record("read-resource", logger.getPathAddress(), times);
+        // Operations recorded by the address of their registration and by an equal address are aggregated together
+        statistics.record("read-resource", PathAddress.pathAddress("logger", "*"), times);
+
+        List<ModelNode> result = statistics.getOperationStatistics().asList();
+        assertEquals(1, result.size());
+        assertEquals("/logger=*", result.get(0).get(ADDRESS).asString());
+        assertEquals(3, result.get(0).get(OperationStatistics.COUNT).asLong());
+
+        // The statistics of a registration are recorded again once reset
+        statistics.resetOperationStatistics();
+        statistics.record("read-resource", logger.getPathAddress(), times);
+        result = statistics.getOperationStatistics().asList();
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).get(OperationStatistics.COUNT).asLong());
+
+        // The statistics are kept by address, not by registration, which is not retained once removed
+        root.unregisterSubModel(PathElement.pathElement("logger"));
+        logger = root.registerSubModel(ResourceBuilder.Factory.create(PathElement.pathElement("logger"), NonResolvingResourceDescriptionResolver.INSTANCE).build());
+        statistics.record("read-resource", logger.getPathAddress(), times);
+        result = statistics.getOperationStatistics().asList();
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).get(OperationStatistics.COUNT).asLong());
+    }
+}
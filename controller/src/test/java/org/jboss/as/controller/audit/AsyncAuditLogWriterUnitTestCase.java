@@ -0,0 +1,242 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.audit;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the asynchronous writer used by {@link ManagedAuditLoggerImpl}.
+ */
+public class AsyncAuditLogWriterUnitTestCase {
+
+    private ManagedAuditLoggerImpl auditLogger;
+    private RecordingHandler handler;
+
+    @Before
+    public void setup() {
+        auditLogger = new ManagedAuditLoggerImpl("test", true);
+        auditLogger.addFormatter(new JsonAuditLogItemFormatter("json", false, " - ", "yyyy-MM-dd HH:mm:ss", true, false, false));
+        handler = new RecordingHandler();
+        auditLogger.getUpdater().addHandler(handler);
+        auditLogger.getUpdater().addHandlerReference(PathAddress.pathAddress(PathElement.pathElement("handler", handler.getName())));
+        auditLogger.setLoggerStatus(AuditLogger.Status.LOGGING);
+        auditLogger.bootDone();
+    }
+
+    @After
+    public void cleanup() {
+        auditLogger.setAsyncConfiguration(false, 0, null);
+    }
+
+    @Test
+    public void testItemsWrittenInOrder() throws Exception {
+        // Apply the pending handler updates before switching to asynchronous writing
+        log("sync");
+        auditLogger.setAsyncConfiguration(true, 16, ManagedAuditLogger.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            log("op-" + i);
+        }
+        waitForItems(101);
+        // Taking the audit lock waits for the writer thread to finish its current batch
+        auditLogger.setAsyncConfiguration(false, 0, null);
+
+        Assert.assertEquals(0, auditLogger.getQueueDepth());
+        Assert.assertEquals(0, auditLogger.getDiscardedCount());
+        final List<String> operations = handler.getOperations();
+        Assert.assertEquals("sync", operations.get(0));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("op-" + i, operations.get(i + 1));
+        }
+        Assert.assertTrue(handler.batches > 0);
+        Assert.assertFalse(handler.batching);
+    }
+
+    @Test
+    public void testDisablingAsyncWritesQueuedItems() {
+        log("sync");
+        auditLogger.setAsyncConfiguration(true, 1024, ManagedAuditLogger.OverflowPolicy.DISCARD);
+        for (int i = 0; i < 50; i++) {
+            log("op-" + i);
+        }
+        auditLogger.setAsyncConfiguration(false, 0, null);
+
+        // Everything queued before reconfiguring has been written by the time the reconfiguration completes
+        Assert.assertEquals(51, handler.getOperations().size());
+        Assert.assertEquals(0, auditLogger.getQueueDepth());
+
+        log("after");
+        Assert.assertEquals("after", handler.getOperations().get(51));
+    }
+
+    @Test
+    public void testDisablingLoggerStopsWriter() throws Exception {
+        log("sync");
+        final Set<Thread> existing = getWriterThreads();
+        auditLogger.setAsyncConfiguration(true, 1024, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        final Set<Thread> started = getWriterThreads();
+        started.removeAll(existing);
+        Assert.assertEquals(1, started.size());
+        for (int i = 0; i < 50; i++) {
+            log("op-" + i);
+        }
+        // As when the logger is removed, the item of the removing operation is the last one written
+        auditLogger.setLoggerStatus(AuditLogger.Status.DISABLE_NEXT);
+        log("remove");
+        log("ignored");
+
+        final List<String> operations = handler.getOperations();
+        Assert.assertEquals(52, operations.size());
+        Assert.assertEquals("remove", operations.get(51));
+        assertStopped(started);
+
+        // Enabling the logger again starts a new writer
+        auditLogger.setLoggerStatus(AuditLogger.Status.LOGGING);
+        final Set<Thread> restarted = getWriterThreads();
+        restarted.removeAll(existing);
+        restarted.removeAll(started);
+        Assert.assertEquals(1, restarted.size());
+    }
+
+    @Test
+    public void testStoppingWriterWritesQueuedItems() throws Exception {
+        log("sync");
+        final Set<Thread> existing = getWriterThreads();
+        auditLogger.setAsyncConfiguration(true, 1024, ManagedAuditLogger.OverflowPolicy.BLOCK);
+        final Set<Thread> started = getWriterThreads();
+        started.removeAll(existing);
+        for (int i = 0; i < 50; i++) {
+            log("op-" + i);
+        }
+        auditLogger.stopAsyncWriter();
+
+        Assert.assertEquals(51, handler.getOperations().size());
+        assertStopped(started);
+        log("after");
+        Assert.assertEquals("after", handler.getOperations().get(51));
+    }
+
+    @Test
+    public void testChildItemsWrittenInOrder() throws Exception {
+        final ManagedAuditLoggerImpl child = auditLogger.createNewConfiguration(false);
+        child.getUpdater().addHandlerReference(PathAddress.pathAddress(PathElement.pathElement("subsystem", "jmx"),
+                PathElement.pathElement("handler", handler.getName())));
+        child.setLoggerStatus(AuditLogger.Status.LOGGING);
+        log("sync");
+        log(child, "child-sync");
+        auditLogger.setAsyncConfiguration(true, 1024, ManagedAuditLogger.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            log(i % 10 == 0 ? child : auditLogger, "op-" + i);
+        }
+        auditLogger.stopAsyncWriter();
+
+        final List<String> operations = handler.getOperations();
+        Assert.assertEquals(102, operations.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("op-" + i, operations.get(i + 2));
+        }
+    }
+
+    private void log(String operationName) {
+        log(auditLogger, operationName);
+    }
+
+    private static void log(ManagedAuditLoggerImpl logger, String operationName) {
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(operationName);
+        logger.log(false, OperationContext.ResultAction.KEEP, "user", null, AccessMechanism.NATIVE, null, null,
+                Collections.singletonList(op));
+    }
+
+    private static Set<Thread> getWriterThreads() {
+        final Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("Management Audit Log Writer")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    private static void assertStopped(Set<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            Assert.assertFalse(thread.isAlive());
+        }
+    }
+
+    private void waitForItems(int count) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (handler.getOperations().size() < count && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, handler.getOperations().size());
+    }
+
+    private static final class RecordingHandler extends AuditLogHandler {
+        private final List<String> operations = new ArrayList<>();
+        private volatile int batches;
+        private volatile boolean batching;
+
+        RecordingHandler() {
+            super("recording", "json", 0);
+        }
+
+        synchronized List<String> getOperations() {
+            return new ArrayList<>(operations);
+        }
+
+        @Override
+        void startBatch() {
+            batching = true;
+        }
+
+        @Override
+        void endBatch() {
+            batching = false;
+            batches++;
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        synchronized void writeLogItem(String formattedItem) throws IOException {
+            final ModelNode item = ModelNode.fromJSONString(formattedItem);
+            operations.add(item.get(OPERATIONS).get(0).get(OP).asString());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.QUERY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WHERE;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@code query} operation.
+ */
+public class QueryOperationTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement TEST_PATH = PathElement.pathElement("test");
+
+    private static final AttributeDefinition ENABLED = new SimpleAttributeDefinitionBuilder("enabled", ModelType.BOOLEAN)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+    private static final AttributeDefinition STATUS = new SimpleAttributeDefinitionBuilder("status", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    private final AtomicInteger statusReads = new AtomicInteger();
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+        rootRegistration.registerSubModel(new SimpleResourceDefinition(new SimpleResourceDefinition.Parameters(TEST_PATH, NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddHandler(ModelOnlyAddStepHandler.INSTANCE)
+                .setRemoveHandler(ModelOnlyRemoveStepHandler.INSTANCE)) {
+            @Override
+            public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerReadWriteAttribute(ENABLED, null, ModelOnlyWriteAttributeHandler.INSTANCE);
+                resourceRegistration.registerReadOnlyAttribute(STATUS, (context, operation) -> {
+                    statusReads.incrementAndGet();
+                    context.getResult().set(context.getCurrentAddressValue());
+                });
+            }
+        });
+    }
+
+    @Before
+    public void addResources() throws Exception {
+        for (String name : List.of("a", "b", "c")) {
+            ModelNode add = Util.createAddOperation(PathAddress.pathAddress(TEST_PATH.getKey(), name));
+            if (name.equals("b")) {
+                add.get(ENABLED.getName()).set(false);
+            }
+            executeCheckNoFailure(add);
+        }
+        statusReads.set(0);
+    }
+
+    @Test
+    public void testConfigurationFilter() throws Exception {
+        List<ModelNode> result = query(ENABLED.getName(), new ModelNode("false"));
+        assertEquals(1, result.size());
+        assertEquals("b", result.get(0).get(RESULT, STATUS.getName()).asString());
+        // Only the matching resource was read
+        assertEquals(1, statusReads.get());
+
+        // The default value of an undefined attribute is matched
+        result = query(ENABLED.getName(), new ModelNode("true"));
+        assertEquals(2, result.size());
+        assertEquals(3, statusReads.get());
+    }
+
+    @Test
+    public void testRuntimeFilter() throws Exception {
+        List<ModelNode> result = query(STATUS.getName(), new ModelNode("c"));
+        assertEquals(1, result.size());
+        assertEquals(ModelNode.TRUE, result.get(0).get(RESULT, ENABLED.getName()));
+        // Runtime attributes can only be filtered once read
+        assertEquals(3, statusReads.get());
+    }
+
+    private List<ModelNode> query(String attribute, ModelNode value) throws Exception {
+        ModelNode operation = createOperation(QUERY, TEST_PATH.getKey(), TEST_PATH.getValue());
+        operation.get(WHERE, attribute).set(value);
+        return executeForResult(operation).asList();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DescriptionCache}.
+ */
+public class DescriptionCacheUnitTestCase {
+
+    private static final PathAddress CHILD_ADDRESS = PathAddress.pathAddress(PathElement.pathElement("child"));
+
+    private ManagementResourceRegistration rootRegistration;
+    private ManagementResourceRegistration childRegistration;
+    private DescriptionCache cache;
+
+    @Before
+    public void setup() {
+        rootRegistration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER).createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+        childRegistration = rootRegistration.registerSubModel(new SimpleResourceDefinition(CHILD_ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE));
+        childRegistration.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("first", ModelType.STRING).build(), null);
+        cache = rootRegistration.getDescriptionCache();
+    }
+
+    @Test
+    public void testResourceDescription() {
+        assertEquals(cache, childRegistration.getDescriptionCache());
+        DescriptionProvider provider = rootRegistration.getModelDescription(CHILD_ADDRESS);
+
+        ModelNode description = provider.getModelDescription(Locale.ENGLISH);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        // Modifying a description does not modify the cached one
+        description.get(ModelDescriptionConstants.ATTRIBUTES).remove("first");
+
+        description = provider.getModelDescription(Locale.ENGLISH);
+        assertTrue(description.get(ModelDescriptionConstants.ATTRIBUTES).has("first"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Each locale has its own description
+        provider.getModelDescription(Locale.FRENCH);
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testInvalidation() {
+        ModelNode description = rootRegistration.getModelDescription(CHILD_ADDRESS).getModelDescription(Locale.ENGLISH);
+        assertFalse(description.get(ModelDescriptionConstants.ATTRIBUTES).has("second"));
+
+        childRegistration.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("second", ModelType.STRING).build(), null);
+        description = rootRegistration.getModelDescription(CHILD_ADDRESS).getModelDescription(Locale.ENGLISH);
+        assertTrue(description.get(ModelDescriptionConstants.ATTRIBUTES).has("second"));
+        assertEquals(0, cache.getHitCount());
+
+        // A change anywhere in the tree discards all the descriptions, as they can depend on each other
+        rootRegistration.getModelDescription(CHILD_ADDRESS).getModelDescription(Locale.ENGLISH);
+        assertEquals(1, cache.getHitCount());
+        rootRegistration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement("other"), NonResolvingResourceDescriptionResolver.INSTANCE));
+        rootRegistration.getModelDescription(CHILD_ADDRESS).getModelDescription(Locale.ENGLISH);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testOperationDescription() {
+        childRegistration.registerOperationHandler(new SimpleOperationDefinitionBuilder("test", NonResolvingResourceDescriptionResolver.INSTANCE).build(), (context, operation) -> {});
+        DescriptionProvider provider = rootRegistration.getOperationEntry(CHILD_ADDRESS, "test").getDescriptionProvider();
+
+        ModelNode description = provider.getModelDescription(Locale.ENGLISH);
+        assertEquals("test", description.get(ModelDescriptionConstants.OPERATION_NAME).asString());
+        assertEquals(description, provider.getModelDescription(Locale.ENGLISH));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link PersistentResource}.
+ */
+public class PersistentResourceUnitTestCase {
+
+    private static final PathElement A = PathElement.pathElement("child", "a");
+    private static final PathElement B = PathElement.pathElement("child", "b");
+    private static final PathElement GRANDCHILD = PathElement.pathElement("grandchild", "x");
+
+    @Test
+    public void testFrozenCloneSharesUntouchedChildren() {
+        Resource original = createTree();
+        PersistentResource.freeze(original);
+
+        Resource clone = original.clone();
+        clone.navigate(PathAddress.pathAddress(A, GRANDCHILD)).getModel().get("value").set("changed");
+        PersistentResource.freeze(clone);
+
+        assertEquals("changed", clone.navigate(PathAddress.pathAddress(A, GRANDCHILD)).getModel().get("value").asString());
+        assertEquals("a-x", original.navigate(PathAddress.pathAddress(A, GRANDCHILD)).getModel().get("value").asString());
+        // Only the path to the modified resource was copied
+        assertNotSame(original.getChild(A), clone.getChild(A));
+        assertSame(original.getChild(B), clone.getChild(B));
+        assertSame(original.getChild(B).getChild(GRANDCHILD), clone.getChild(B).getChild(GRANDCHILD));
+    }
+
+    @Test
+    public void testUnfrozenCloneIsIndependent() {
+        Resource original = createTree();
+
+        Resource clone = original.clone();
+        original.navigate(PathAddress.pathAddress(B, GRANDCHILD)).getModel().get("value").set("changed");
+        original.removeChild(A);
+
+        assertEquals("b-x", clone.navigate(PathAddress.pathAddress(B, GRANDCHILD)).getModel().get("value").asString());
+        assertTrue(clone.hasChild(A));
+    }
+
+    @Test
+    public void testRegisteredChildIsModifiable() {
+        Resource original = createTree();
+        PersistentResource.freeze(original);
+
+        Resource clone = original.clone();
+        Resource added = new PersistentResource(false);
+        clone.getChild(A).registerChild(PathElement.pathElement("grandchild", "y"), added);
+        added.getModel().get("value").set("a-y");
+
+        assertEquals("a-y", clone.navigate(PathAddress.pathAddress(A, PathElement.pathElement("grandchild", "y"))).getModel().get("value").asString());
+        assertFalse(original.getChild(A).hasChild(PathElement.pathElement("grandchild", "y")));
+    }
+
+    @Test
+    public void testRemoveChild() {
+        Resource original = createTree();
+        PersistentResource.freeze(original);
+
+        Resource clone = original.clone();
+        clone.getChild(A).removeChild(GRANDCHILD);
+
+        assertFalse(clone.getChild(A).hasChildren(GRANDCHILD.getKey()));
+        assertFalse(clone.getChild(A).getChildTypes().contains(GRANDCHILD.getKey()));
+        assertTrue(original.getChild(A).hasChild(GRANDCHILD));
+    }
+
+    @Test
+    public void testReadThroughModifiableCloneSharesSubtree() {
+        Resource original = createTree();
+        Resource subtree = original.getChild(B);
+        for (int i = 0; i < 1000; i++) {
+            Resource child = new PersistentResource(false);
+            child.getModel().get("value").set(i);
+            Resource nested = new PersistentResource(false);
+            nested.getModel().get("value").set(-i);
+            child.registerChild(GRANDCHILD, nested);
+            subtree.registerChild(PathElement.pathElement("large", String.valueOf(i)), child);
+        }
+        PersistentResource.freeze(original);
+
+        // The clone of a write operation, which modifies another part of the tree
+        Resource clone = original.clone();
+        clone.getChild(A).getModel().get("value").set("changed");
+
+        Resource read = PersistentResource.readChild(clone, B);
+        assertSame(subtree, read);
+        int count = 0;
+        for (Resource.ResourceEntry entry : PersistentResource.readChildren(read, "large")) {
+            int i = Integer.parseInt(entry.getName());
+            assertEquals(i, entry.getModel().get("value").asInt());
+            Resource nested = PersistentResource.readChild(entry, GRANDCHILD);
+            assertEquals(-i, nested.getModel().get("value").asInt());
+            assertSame(subtree.getChild(entry.getPathElement()).getChild(GRANDCHILD), nested);
+            count++;
+        }
+        assertEquals(1000, count);
+        // Reading copied nothing, so the clone still shares the subtree with the original
+        assertSame(subtree, PersistentResource.readChild(clone, B));
+        assertSame(subtree.getChild(PathElement.pathElement("large", "0")),
+                PersistentResource.readChild(read, PathElement.pathElement("large", "0")));
+        // Whereas a child obtained in order to modify it is copied
+        assertNotSame(subtree, clone.getChild(B));
+        assertEquals("changed", PersistentResource.readChild(clone, A).getModel().get("value").asString());
+    }
+
+    @Test
+    public void testNonPersistentChildIsCopiedOnAccess() {
+        Resource original = new PersistentResource(false);
+        BasicResource basic = new BasicResource();
+        basic.getModel().get("value").set("basic");
+        original.registerChild(A, basic);
+        PersistentResource.freeze(original);
+
+        Resource clone = original.clone();
+        clone.getChild(A).getModel().get("value").set("changed");
+
+        assertEquals("changed", clone.getChild(A).getModel().get("value").asString());
+        assertEquals("basic", original.getChild(A).getModel().get("value").asString());
+    }
+
+    private static Resource createTree() {
+        Resource root = new PersistentResource(false);
+        for (PathElement element : new PathElement[] {A, B}) {
+            Resource child = new PersistentResource(false);
+            child.getModel().get("value").set(element.getValue());
+            Resource grandchild = new PersistentResource(false);
+            grandchild.getModel().get("value").set(element.getValue() + "-" + GRANDCHILD.getValue());
+            child.registerChild(GRANDCHILD, grandchild);
+            root.registerChild(element, child);
+        }
+        return root;
+    }
+}
@@ -105,6 +105,13 @@ public class RemoteChannelPairSetup {
         }
     }
 
+    /**
+     * Opens another channel over the client connection, which is initialized on the server side like the first one.
+     */
+    public Channel openClientChannel() throws IOException {
+        return connection.openChannel(TEST_CHANNEL, OptionMap.EMPTY).get();
+    }
+
     public void stopChannels() throws InterruptedException {
         IoUtils.safeClose(clientChannel);
         IoUtils.safeClose(serverChannel);
@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -493,6 +495,99 @@ public class RemoteProxyControllerProtocolTestCase {
         assertArrays(new byte[0], thirdResult.get());
     }
 
+    @Test
+    public void testRelayedAttachmentInputStreams() throws Exception {
+
+        final byte[] firstBytes = new byte[3 * 8192 + 17];
+        for (int i = 0; i < firstBytes.length; i++) {
+            firstBytes[i] = (byte) i;
+        }
+        final byte[] secondBytes = new byte[] {10, 9, 8 , 7 , 6, 5, 4, 3, 2, 1};
+
+        final Map<Integer, Object> results = new ConcurrentHashMap<>();
+        final CountDownLatch read = new CountDownLatch(1);
+        // The controller the operation is proxied to, through an intermediate controller relaying the attachments
+        MockModelController target = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                int streamIndex = 0;
+                for (InputStream in : attachments.getInputStreams()) {
+                    try {
+                        results.put(streamIndex, in.readAllBytes());
+                    } catch (IOException e) {
+                        results.put(streamIndex, e);
+                    }
+                    streamIndex++;
+                }
+                read.countDown();
+                control.operationPrepared(new OperationTransaction() {
+
+                    @Override
+                    public void rollback() {
+                    }
+
+                    @Override
+                    public void commit() {
+                    }
+                }, new ModelNode());
+                return new ModelNode();
+            }
+        };
+
+        final RemoteProxyController proxyController = setupRelayProxyHandlers(target);
+
+        ModelNode operation = new ModelNode();
+        operation.get("test").set("123");
+
+        OperationAttachments attachments = new OperationAttachments() {
+
+            @Override
+            public List<InputStream> getInputStreams() {
+                ArrayList<InputStream> streams = new ArrayList<InputStream>();
+                streams.add(new ByteArrayInputStream(firstBytes));
+                streams.add(new ByteArrayInputStream(secondBytes));
+                // A stream failing after part of its content was read
+                streams.add(new InputStream() {
+                    private int count;
+
+                    @Override
+                    public int read() throws IOException {
+                        if (count == 100) {
+                            throw new IOException("Transfer failed");
+                        }
+                        count++;
+                        return 1;
+                    }
+                });
+                return streams;
+            }
+
+            @Override
+            public boolean isAutoCloseStreams() {
+                return false;
+            }
+
+            @Override
+            public void close() throws IOException {
+                //
+            }
+        };
+
+        CommitProxyOperationControl commitControl = new CommitProxyOperationControl();
+        proxyController.execute(operation,
+                null,
+                commitControl,
+                attachments, null);
+        Assert.assertTrue(read.await(15, TimeUnit.SECONDS));
+        assertArrays(firstBytes, (byte[]) results.get(0));
+        assertArrays(secondBytes, (byte[]) results.get(1));
+        // The stream failing mid-transfer fails for the target, rather than appearing complete or blocking its reader
+        Assert.assertTrue(String.valueOf(results.get(2)), results.get(2) instanceof IOException);
+        // The operation fails for the client whose stream failed
+        Assert.assertNull(commitControl.tx);
+        Assert.assertEquals(1, commitControl.txCompletionStatus.get());
+    }
+
     @Test
     public void testClosesBeforePrepare() throws Exception {
 
@@ -559,7 +654,66 @@ public class RemoteProxyControllerProtocolTestCase {
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        final Channel clientChannel = channels.getClientChannel();
+        return createProxyController(channels.getClientChannel());
+    }
+
+    private RemoteProxyController setupRelayProxyHandlers(final ModelController targetController) {
+        final AtomicReference<RemoteProxyController> targetProxyController = new AtomicReference<>();
+        // The intermediate controller, proxying the operation and its attachments to the target controller
+        final ModelController intermediateController = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                final CommitProxyOperationControl targetControl = new CommitProxyOperationControl();
+                targetProxyController.get().execute(operation, handler, targetControl, attachments, null);
+                control.operationPrepared(new OperationTransaction() {
+
+                    @Override
+                    public void rollback() {
+                        if (targetControl.tx != null) {
+                            targetControl.tx.rollback();
+                        }
+                    }
+
+                    @Override
+                    public void commit() {
+                        if (targetControl.tx != null) {
+                            targetControl.tx.commit();
+                        }
+                    }
+                }, new ModelNode());
+                return new ModelNode();
+            }
+        };
+        final AtomicInteger openedChannels = new AtomicInteger();
+        try {
+            channels = new RemoteChannelPairSetup();
+            channels.setupRemoting(new ManagementChannelInitialization() {
+                @Override
+                public ManagementChannelHandler startReceiving(Channel channel) {
+                    // The first channel serves the intermediate controller, and the second one the target controller
+                    final ModelController controller = openedChannels.getAndIncrement() == 0 ? intermediateController : targetController;
+                    final ManagementClientChannelStrategy strategy = ManagementClientChannelStrategy.create(channel);
+                    final ManagementChannelHandler support = new ManagementChannelHandler(strategy, channels.getExecutorService());
+                    support.addHandlerFactory(new TransactionalProtocolOperationHandler(controller, support, responseAttachmentSupport));
+                    channel.addCloseHandler(new CloseHandler<Channel>() {
+                        @Override
+                        public void handleClose(Channel closed, IOException exception) {
+                            support.shutdownNow();
+                        }
+                    });
+                    channel.receiveMessage(support.getReceiver());
+                    return support;
+                }
+            });
+            channels.startClientConnetion();
+            targetProxyController.set(createProxyController(channels.openClientChannel()));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return createProxyController(channels.getClientChannel());
+    }
+
+    private RemoteProxyController createProxyController(final Channel clientChannel) {
         final ManagementClientChannelStrategy strategy = ManagementClientChannelStrategy.create(clientChannel);
         final ManagementChannelHandler support = new ManagementChannelHandler(strategy, channels.getExecutorService());
         final RemoteProxyController proxyController = RemoteProxyController.create(support, PathAddress.pathAddress(), ProxyOperationAddressTranslator.HOST);
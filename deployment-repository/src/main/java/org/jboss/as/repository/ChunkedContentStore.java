@@ -0,0 +1,462 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteSilentlyRecursively;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Stores content of a {@link ContentRepositoryImpl} as content-defined chunks, so that near-identical content, such as
+ * successive builds of an archive, shares the chunks it has in common on disk.
+ *
+ * <p>Chunk boundaries are found with a gear rolling hash, so they depend on the bytes preceding them and not on their
+ * offset: inserting or changing bytes in the content only changes the chunks around the change. Each chunk is stored
+ * once under its SHA-1 hash in the {@value #CHUNKS} directory of the repository, and each content is described by an
+ * {@value #INDEX} file listing its chunks, stored in place of the content itself. Content is reassembled in the
+ * temporary directory of the repository when it needs to be read as a file, and the reassembled copy is deleted once
+ * every user {@linkplain #acquire acquiring} it has {@linkplain #release released} it.</p>
+ */
+final class ChunkedContentStore implements ContentStorageStatistics {
+
+    /** The file listing the chunks of a content, stored in the content's directory in place of the content */
+    static final String INDEX = "content.chunks";
+    /** The directory of the repository root in which the chunks are stored */
+    static final String CHUNKS = "chunks";
+    /** The directory of the temporary root in which content is reassembled */
+    static final String REASSEMBLED = "chunked-content";
+
+    private static final int INDEX_VERSION = 1;
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
+    /** A chunk ends where the top 16 bits of the rolling hash are zero, on average 64 KiB after its minimum size */
+    private static final long BOUNDARY_MASK = 0xFFFFL << 48;
+    private static final long[] GEAR = new long[256];
+
+    static {
+        // SplitMix64 from a fixed seed, as boundaries must be the same in every process for chunks to be shared
+        long seed = 0;
+        for (int i = 0; i < GEAR.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            long z = seed;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private final Path repoRoot;
+    private final Path chunkRoot;
+    private final Path reassembledRoot;
+    /** Taken in shared mode to add or read chunks, and in exclusive mode to remove unreferenced ones */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** The number of indexes referencing each chunk, by hash, updated as indexes are written and removed */
+    private final Map<String, Integer> chunkReferences = new HashMap<>();
+    /** Whether the references of every index were counted, without which no chunk can be known to be unreferenced */
+    private boolean referencesCounted;
+    private final AtomicLong contentSize = new AtomicLong();
+    private final AtomicLong storedSize = new AtomicLong();
+    /** The number of users of each reassembled content, by hash */
+    private final Map<String, Integer> reassembledUsers = new HashMap<>();
+
+    ChunkedContentStore(final Path repoRoot, final Path tmpRoot) {
+        this.repoRoot = repoRoot;
+        this.chunkRoot = repoRoot.resolve(CHUNKS);
+        this.reassembledRoot = tmpRoot.resolve(REASSEMBLED);
+        // Copies reassembled by a previous process are no longer used
+        deleteSilentlyRecursively(reassembledRoot);
+        // Counts the references to the chunks, and removes chunks left behind by an interrupted store or removal
+        removeUnreferencedChunks();
+    }
+
+    /**
+     * Stores the content of a file as chunks.
+     *
+     * @param source the file
+     * @param index the index file to write, listing the chunks of the content
+     * @throws IOException if the content cannot be read or stored
+     */
+    void store(final Path source, final Path index) throws IOException {
+        lock.readLock().lock();
+        try {
+            final MessageDigest digest = createMessageDigest();
+            final List<Chunk> chunks = new ArrayList<>();
+            final long total;
+            try (InputStream in = Files.newInputStream(source)) {
+                total = split(in, (buffer, length) -> chunks.add(storeChunk(digest, buffer, length)));
+            }
+            final Path temp = Files.createTempFile(index.getParent(), INDEX, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(INDEX_VERSION);
+                    out.writeLong(total);
+                    out.writeInt(chunks.size());
+                    for (Chunk chunk : chunks) {
+                        out.write(chunk.hash);
+                        out.writeInt(chunk.length);
+                    }
+                }
+                synchronized (chunkReferences) {
+                    // The content may have been stored concurrently, in which case its index is replaced, not added
+                    final boolean added = !Files.exists(index);
+                    move(temp, index);
+                    if (added) {
+                        for (Chunk chunk : chunks) {
+                            chunkReferences.merge(chunk.getHexHash(), 1, Integer::sum);
+                        }
+                        contentSize.addAndGet(total);
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acquires the reassembled copy of a content stored as chunks, reassembling the content unless it already has been.
+     * The copy is kept until each acquisition is {@linkplain #release(byte[]) released}.
+     *
+     * @param hash the hash of the content
+     * @param index the index file listing the chunks of the content
+     * @return the reassembled file
+     * @throws IOException if the content cannot be reassembled, or does not match its hash
+     */
+    Path acquire(final byte[] hash, final Path index) throws IOException {
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        synchronized (reassembledUsers) {
+            reassembledUsers.merge(hexHash, 1, Integer::sum);
+        }
+        try {
+            return reassemble(hash, index);
+        } catch (IOException | RuntimeException e) {
+            release(hash);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases a reassembled copy {@linkplain #acquire acquired} earlier, deleting it if it is no longer used.
+     *
+     * @param hash the hash of the content
+     */
+    void release(final byte[] hash) {
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        synchronized (reassembledUsers) {
+            final Integer users = reassembledUsers.get(hexHash);
+            if (users == null) {
+                return;
+            }
+            if (users > 1) {
+                reassembledUsers.put(hexHash, users - 1);
+            } else {
+                reassembledUsers.remove(hexHash);
+                deleteSilentlyRecursively(reassembledRoot.resolve(hexHash));
+            }
+        }
+    }
+
+    private Path reassemble(final byte[] hash, final Path index) throws IOException {
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        final Path target = reassembledRoot.resolve(hexHash).resolve(ContentRepositoryImpl.CONTENT);
+        if (Files.exists(target)) {
+            return target;
+        }
+        lock.readLock().lock();
+        try {
+            Files.createDirectories(target.getParent());
+            final Path temp = Files.createTempFile(target.getParent(), ContentRepositoryImpl.CONTENT, ".tmp");
+            try {
+                final MessageDigest digest = createMessageDigest();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    for (Chunk chunk : readIndex(index)) {
+                        Files.copy(getChunkFile(chunk.hash), out);
+                    }
+                }
+                if (!MessageDigest.isEqual(hash, digest.digest())) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkedContent(hexHash);
+                }
+                move(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return target;
+    }
+
+    /**
+     * Removes the index of a content stored as chunks, its reassembled copy, and the chunks no other content references.
+     *
+     * @param hash the hash of the content
+     * @param index the index file listing the chunks of the content
+     */
+    void remove(final byte[] hash, final Path index) {
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        synchronized (reassembledUsers) {
+            reassembledUsers.remove(hexHash);
+            deleteSilentlyRecursively(reassembledRoot.resolve(hexHash));
+        }
+        lock.writeLock().lock();
+        try {
+            final List<Chunk> chunks;
+            try {
+                chunks = readIndex(index);
+                Files.delete(index);
+            } catch (IOException e) {
+                // The chunks of the content are then only removed when the repository is next opened
+                DeploymentRepositoryLogger.ROOT_LOGGER.cannotReadChunkIndex(e, index);
+                return;
+            }
+            synchronized (chunkReferences) {
+                for (Chunk chunk : chunks) {
+                    contentSize.addAndGet(-chunk.length);
+                    final String chunkHash = chunk.getHexHash();
+                    final Integer references = chunkReferences.get(chunkHash);
+                    if (references != null && references > 1) {
+                        chunkReferences.put(chunkHash, references - 1);
+                    } else if (chunkReferences.remove(chunkHash) != null && referencesCounted) {
+                        final Path file = getChunkFile(chunk.hash);
+                        try {
+                            Files.deleteIfExists(file);
+                            storedSize.addAndGet(-chunk.length);
+                        } catch (IOException e) {
+                            DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteFile(e, file);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long getContentSize() {
+        return contentSize.get();
+    }
+
+    @Override
+    public long getStoredSize() {
+        return storedSize.get();
+    }
+
+    /**
+     * Counts the references of the indexes of the repository to each chunk, and removes the chunks none references.
+     * The repository is only scanned when it is opened: the counts are then kept up to date as content is stored and
+     * removed.
+     */
+    private void removeUnreferencedChunks() {
+        lock.writeLock().lock();
+        try {
+            final Map<String, Integer> referenced = new HashMap<>();
+            long content = 0;
+            try (DirectoryStream<Path> roots = Files.newDirectoryStream(repoRoot, Files::isDirectory)) {
+                for (Path root : roots) {
+                    if (root.equals(chunkRoot)) {
+                        continue;
+                    }
+                    try (DirectoryStream<Path> hashDirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+                        for (Path hashDir : hashDirs) {
+                            final Path index = hashDir.resolve(INDEX);
+                            if (Files.exists(index)) {
+                                for (Chunk chunk : readIndex(index)) {
+                                    referenced.merge(chunk.getHexHash(), 1, Integer::sum);
+                                    content += chunk.length;
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Without every index, the chunks still in use are unknown, so none is removed until the repository is reopened
+                DeploymentRepositoryLogger.ROOT_LOGGER.cannotRemoveUnreferencedChunks(e, repoRoot);
+                return;
+            }
+            synchronized (chunkReferences) {
+                chunkReferences.putAll(referenced);
+                referencesCounted = true;
+            }
+            long stored = 0;
+            if (Files.isDirectory(chunkRoot)) {
+                try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(chunkRoot, Files::isDirectory)) {
+                    for (Path prefix : prefixes) {
+                        try (DirectoryStream<Path> files = Files.newDirectoryStream(prefix)) {
+                            for (Path file : files) {
+                                if (referenced.containsKey(prefix.getFileName().toString() + file.getFileName())) {
+                                    stored += Files.size(file);
+                                } else {
+                                    try {
+                                        Files.deleteIfExists(file);
+                                    } catch (IOException e) {
+                                        DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteFile(e, file);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    DeploymentRepositoryLogger.ROOT_LOGGER.cannotRemoveUnreferencedChunks(e, repoRoot);
+                }
+            }
+            contentSize.set(content);
+            storedSize.set(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Chunk storeChunk(final MessageDigest digest, final byte[] buffer, final int length) throws IOException {
+        digest.reset();
+        digest.update(buffer, 0, length);
+        final byte[] hash = digest.digest();
+        final Path file = getChunkFile(hash);
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.getParent());
+            final Path temp = Files.createTempFile(file.getParent(), CHUNKS, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    out.write(buffer, 0, length);
+                }
+                move(temp, file);
+                storedSize.addAndGet(length);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new Chunk(hash, length);
+    }
+
+    /**
+     * Splits content into the chunks it would be stored as.
+     *
+     * @param in the content
+     * @param consumer the consumer of the chunks, in order. The buffer holding a chunk is reused once the consumer returns
+     * @return the length of the content
+     * @throws IOException if the content cannot be read, or the consumer fails
+     */
+    static long split(final InputStream in, final ChunkConsumer consumer) throws IOException {
+        final byte[] buffer = new byte[MAX_CHUNK_SIZE];
+        long total = 0;
+        int length = 0;
+        for (;;) {
+            // The buffer is only partially filled at the end of the content, so boundaries never depend on reads
+            length += in.readNBytes(buffer, length, buffer.length - length);
+            if (length == 0) {
+                return total;
+            }
+            final int end = findBoundary(buffer, length);
+            consumer.accept(buffer, end);
+            total += end;
+            System.arraycopy(buffer, end, buffer, 0, length - end);
+            length -= end;
+        }
+    }
+
+    static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
+    private Path getChunkFile(final byte[] hash) {
+        final String hexHash = HashUtil.bytesToHexString(hash);
+        return chunkRoot.resolve(hexHash.substring(0, 2)).resolve(hexHash.substring(2));
+    }
+
+    /**
+     * Finds the end of the chunk starting at the beginning of the buffer.
+     *
+     * @param buffer the buffer
+     * @param length the number of bytes in the buffer, which is less than its size only at the end of the content
+     * @return the length of the chunk
+     */
+    private static int findBoundary(final byte[] buffer, final int length) {
+        long hash = 0;
+        for (int i = MIN_CHUNK_SIZE; i < length; i++) {
+            hash = (hash << 1) + GEAR[buffer[i] & 0xFF];
+            if ((hash & BOUNDARY_MASK) == 0) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    private static List<Chunk> readIndex(final Path index) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            final int version = in.readInt();
+            if (version != INDEX_VERSION) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidChunkIndex(index.toString());
+            }
+            in.readLong();
+            final int count = in.readInt();
+            final List<Chunk> chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final byte[] hash = new byte[20];
+                in.readFully(hash);
+                chunks.add(new Chunk(hash, in.readInt()));
+            }
+            return chunks;
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Receives the chunks of a content.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept(byte[] buffer, int length) throws IOException;
+    }
+
+    private static final class Chunk {
+        private final byte[] hash;
+        private final int length;
+
+        private Chunk(final byte[] hash, final int length) {
+            this.hash = hash;
+            this.length = length;
+        }
+
+        private String getHexHash() {
+            return HashUtil.bytesToHexString(hash);
+        }
+    }
+}
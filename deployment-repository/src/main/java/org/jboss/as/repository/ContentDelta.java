@@ -0,0 +1,156 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * A binary delta between two versions of an archive, allowing a new version to be transferred as the bytes it does not
+ * share with a version already in a {@link ContentRepository}.
+ *
+ * <p>A delta is a sequence of instructions, each either copying a range of the base content or inserting new bytes.
+ * Deltas are created by splitting both versions into the same content-defined chunks as content stored as chunks, so
+ * unchanged ranges are found even when the bytes before them have changed.</p>
+ *
+ * @see ContentRepository#addContentDelta(byte[], InputStream, byte[])
+ */
+public final class ContentDelta {
+
+    private static final int MAGIC = 0x57464431;
+    private static final byte END = 0;
+    private static final byte COPY = 1;
+    private static final byte INSERT = 2;
+
+    private ContentDelta() {
+    }
+
+    /**
+     * Creates the delta from a base content to a new content.
+     *
+     * @param base the base content
+     * @param content the new content
+     * @param delta the stream to write the delta to. It is flushed, but not closed
+     * @throws IOException if either content cannot be read, or the delta cannot be written
+     */
+    public static void create(final Path base, final InputStream content, final OutputStream delta) throws IOException {
+        final MessageDigest digest = ChunkedContentStore.createMessageDigest();
+        // The offset and length in the base content of each of its chunks
+        final Map<String, long[]> baseChunks = new HashMap<>();
+        try (InputStream in = Files.newInputStream(base)) {
+            final long[] offset = {0};
+            ChunkedContentStore.split(in, (buffer, length) -> {
+                baseChunks.putIfAbsent(hash(digest, buffer, length), new long[]{offset[0], length});
+                offset[0] += length;
+            });
+        }
+        final DataOutputStream out = new DataOutputStream(delta);
+        out.writeInt(MAGIC);
+        // The range of the base content still to be copied, so that copies of adjacent chunks are merged
+        final long[] copy = {0, 0};
+        ChunkedContentStore.split(content, (buffer, length) -> {
+            final long[] chunk = baseChunks.get(hash(digest, buffer, length));
+            if (chunk != null && copy[1] > 0 && copy[0] + copy[1] == chunk[0]) {
+                copy[1] += length;
+            } else {
+                writeCopy(out, copy);
+                if (chunk != null) {
+                    copy[0] = chunk[0];
+                    copy[1] = length;
+                } else {
+                    out.writeByte(INSERT);
+                    out.writeInt(length);
+                    out.write(buffer, 0, length);
+                }
+            }
+        });
+        writeCopy(out, copy);
+        out.writeByte(END);
+        out.flush();
+    }
+
+    /**
+     * Applies a delta to a base content.
+     *
+     * @param base the base content
+     * @param delta the stream to read the delta from. It is not closed
+     * @param target the stream to write the new content to
+     * @throws IOException if the base content or the delta cannot be read, the delta is invalid, or the new content
+     * cannot be written
+     */
+    public static void apply(final Path base, final InputStream delta, final OutputStream target) throws IOException {
+        final DataInputStream in = new DataInputStream(delta);
+        if (in.readInt() != MAGIC) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentDelta();
+        }
+        final byte[] buffer = new byte[8192];
+        try (FileChannel channel = FileChannel.open(base, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (;;) {
+                final byte instruction = in.readByte();
+                if (instruction == END) {
+                    return;
+                } else if (instruction == COPY) {
+                    long position = in.readLong();
+                    long remaining = in.readLong();
+                    if (position < 0 || remaining <= 0 || remaining > size - position) {
+                        throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentDelta();
+                    }
+                    while (remaining > 0) {
+                        final int read = channel.read(ByteBuffer.wrap(buffer, 0, (int) Math.min(buffer.length, remaining)), position);
+                        if (read < 0) {
+                            throw new EOFException();
+                        }
+                        target.write(buffer, 0, read);
+                        position += read;
+                        remaining -= read;
+                    }
+                } else if (instruction == INSERT) {
+                    int remaining = in.readInt();
+                    if (remaining <= 0) {
+                        throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentDelta();
+                    }
+                    while (remaining > 0) {
+                        final int length = Math.min(buffer.length, remaining);
+                        in.readFully(buffer, 0, length);
+                        target.write(buffer, 0, length);
+                        remaining -= length;
+                    }
+                } else {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentDelta();
+                }
+            }
+        }
+    }
+
+    private static void writeCopy(final DataOutputStream out, final long[] copy) throws IOException {
+        if (copy[1] > 0) {
+            out.writeByte(COPY);
+            out.writeLong(copy[0]);
+            out.writeLong(copy[1]);
+            copy[1] = 0;
+        }
+    }
+
+    private static String hash(final MessageDigest digest, final byte[] buffer, final int length) {
+        digest.reset();
+        digest.update(buffer, 0, length);
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+}
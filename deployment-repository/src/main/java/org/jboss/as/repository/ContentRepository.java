@@ -10,6 +10,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.vfs.VirtualFile;
@@ -59,6 +60,20 @@ public interface ContentRepository {
      */
     byte[] addContent(InputStream stream) throws IOException;
 
+    /**
+     * Adds content built by applying a {@link ContentDelta delta} to archive content already in the repository.
+     *
+     * @param baseHash the hash of the content the delta applies to. Cannot be {@code null}
+     * @param delta stream from which the delta can be read. Cannot be {@code null}
+     * @param hash the expected hash of the resulting content. Cannot be {@code null}
+     * @return the hash of the content, which is {@code hash}
+     * @throws IOException if the base content is missing, the delta is invalid, or the resulting content does not match
+     * {@code hash}
+     */
+    default byte[] addContentDelta(byte[] baseHash, InputStream delta, byte[] hash) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Adds a reference to the content.
      *
@@ -68,7 +83,8 @@ public interface ContentRepository {
     void addContentReference(ContentReference reference);
 
     /**
-     * Get the content as a virtual file.
+     * Get the content as a virtual file. Each call must be matched by a call to {@link #releaseContent(byte[])} once the
+     * file is no longer used.
      *
      * @param hash the hash. Cannot be {@code null}
      *
@@ -76,6 +92,15 @@ public interface ContentRepository {
      */
     VirtualFile getContent(byte[] hash);
 
+    /**
+     * Releases content obtained with {@link #getContent(byte[])} once it is no longer used, such as when the deployment
+     * it backs is undeployed, so that any copy made to read it can be deleted.
+     *
+     * @param hash the hash. Cannot be {@code null}
+     */
+    default void releaseContent(byte[] hash) {
+    }
+
     /**
      * Gets whether content with the given hash is stored in the repository.
      *
@@ -145,6 +170,15 @@ public interface ContentRepository {
     default void flush(boolean success) {
     }
 
+    /**
+     * Gets the statistics of the content stored as deduplicated chunks.
+     *
+     * @return the statistics, or {@code null} if the repository does not store content as chunks
+     */
+    default ContentStorageStatistics getStorageStatistics() {
+        return null;
+    }
+
     /**
      * Clean content that is not referenced from the repository.
      *
@@ -163,12 +197,18 @@ public interface ContentRepository {
         @Deprecated
         private static final String UNSUPPORTED_PROPERTY = "org.wildfly.unsupported.content.repository.obsolescence";
 
+        /**
+         * Whether added archives are stored as deduplicated chunks, so that near-identical deployments share storage.
+         */
+        private static final boolean STORE_CHUNKED = getSecurityManager() == null ? Boolean.getBoolean("org.wildfly.content.repository.chunked")
+                : doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("org.wildfly.content.repository.chunked"));
+
         public static void addService(final ServiceTarget serviceTarget, final File repoRoot) {
             addService(serviceTarget, repoRoot, repoRoot);
         }
 
         public static void addService(final ServiceTarget serviceTarget, final File repoRoot, final File tmpRoot) {
-            addService(serviceTarget, new ContentRepositoryImpl(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT, LOCK_TIMEOUT));
+            addService(serviceTarget, new ContentRepositoryImpl(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT, LOCK_TIMEOUT, STORE_CHUNKED));
         }
 
         public static void addService(final ServiceTarget serviceTarget, final ContentRepository contentRepository) {
@@ -183,12 +223,23 @@ public interface ContentRepository {
             return create(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT);
         }
 
+        /**
+         * Creates a repository storing content whole, whatever the chunked storage setting, for repositories whose
+         * content directories are served file by file to other processes, such as the domain content repository.
+         */
+        public static ContentRepository createUnchunked(final File repoRoot, final File tmpRoot) {
+            if (STORE_CHUNKED) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.chunkedStorageNotSupported(repoRoot.getAbsolutePath());
+            }
+            return new ContentRepositoryImpl(repoRoot, tmpRoot, OBSOLETE_CONTENT_TIMEOUT, LOCK_TIMEOUT, false);
+        }
+
         static ContentRepository create(final File repoRoot, final File tmpRoot, long timeout) {
             return create(repoRoot, tmpRoot, timeout, LOCK_TIMEOUT);
         }
 
         static ContentRepository create(final File repoRoot, final File tmpRoot, long timeout, long lock) {
-            return new ContentRepositoryImpl(repoRoot, tmpRoot, timeout, lock);
+            return new ContentRepositoryImpl(repoRoot, tmpRoot, timeout, lock, STORE_CHUNKED);
         }
     }
 }
@@ -12,7 +12,7 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -58,9 +58,22 @@ public class ContentRepositoryImpl implements ContentRepository {
     private final Map<String, Long> obsoleteContents = new HashMap<>();
     private final long obsolescenceTimeout;
     private final long lockTimeout;
+    /** Created on first use, unless content is stored as chunks, as it walks the whole repository */
+    private volatile ChunkedContentStore chunkedContentStore;
+    private final boolean storeChunked;
     private volatile boolean readWrite = false;
 
     protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout) {
+        this(repoRoot, tmpRoot, obsolescenceTimeout, lockTimeout, false);
+    }
+
+    /**
+     * Creates a content repository.
+     *
+     * @param storeChunked {@code true} if added archives are to be stored as deduplicated chunks rather than whole. Content
+     *                     previously stored as chunks is read whatever the value
+     */
+    protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout, boolean storeChunked) {
         Assert.checkNotNullParam("repoRoot", repoRoot);
         Assert.checkNotNullParam("tmpRoot", tmpRoot);
         checkDirectory(repoRoot);
@@ -70,6 +83,10 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
         this.messageDigestRef = new AtomicReference<>(createMessageDigest());
+        this.storeChunked = storeChunked;
+        if (storeChunked) {
+            this.chunkedContentStore = new ChunkedContentStore(repoRoot.toPath(), tmpRoot.toPath());
+        }
     }
 
     private void checkDirectory(final File directory) {
@@ -102,10 +119,10 @@ public class ContentRepositoryImpl implements ContentRepository {
             try (OutputStream fos = Files.newOutputStream(tmp);
                  MessageDigestHandle digestHandle = new MessageDigestHandle()) {
                 DigestOutputStream dos = new DigestOutputStream(fos, digestHandle.getMessageDigest());
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
+                // Read in large blocks, as the stream is usually unbuffered and each block is also a write to disk
+                byte[] bytes = new byte[64 * 1024];
                 int read;
-                while ((read = bis.read(bytes)) > -1) {
+                while ((read = stream.read(bytes)) > -1) {
                     dos.write(bytes, 0, read);
                 }
                 fos.flush();
@@ -116,6 +133,57 @@ public class ContentRepositoryImpl implements ContentRepository {
             Files.createDirectory(tmp);
             sha1Bytes = getSha1Bytes(tmp);
         }
+        storeContent(tmp, sha1Bytes, stream != null);
+        return sha1Bytes;
+    }
+
+    @Override
+    public byte[] addContentDelta(byte[] baseHash, InputStream delta, byte[] hash) throws IOException {
+        Assert.checkNotNullParam("baseHash", baseHash);
+        Assert.checkNotNullParam("delta", delta);
+        Assert.checkNotNullParam("hash", hash);
+        if (!hasContent(baseHash)) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.deltaBaseContentNotFound(HashUtil.bytesToHexString(baseHash));
+        }
+        final byte[] sha1Bytes;
+        final Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
+        Path base = null;
+        try {
+            base = getReadableContentFile(baseHash, false);
+            if (!Files.isRegularFile(base)) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.deltaBaseContentNotFound(HashUtil.bytesToHexString(baseHash));
+            }
+            try (OutputStream fos = Files.newOutputStream(tmp);
+                 MessageDigestHandle digestHandle = new MessageDigestHandle()) {
+                DigestOutputStream dos = new DigestOutputStream(new BufferedOutputStream(fos), digestHandle.getMessageDigest());
+                ContentDelta.apply(base, delta, dos);
+                dos.flush();
+                sha1Bytes = dos.getMessageDigest().digest();
+            }
+            if (!MessageDigest.isEqual(hash, sha1Bytes)) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.contentDeltaHashMismatch(HashUtil.bytesToHexString(sha1Bytes), HashUtil.bytesToHexString(hash));
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteSilentlyRecursively(tmp);
+            throw e;
+        } finally {
+            if (base != null) {
+                releaseContent(baseHash);
+            }
+        }
+        storeContent(tmp, sha1Bytes, true);
+        return sha1Bytes;
+    }
+
+    /**
+     * Moves new content into the repository, unless it is already there.
+     *
+     * @param tmp the temporary file or directory holding the content
+     * @param sha1Bytes the hash of the content
+     * @param archive {@code true} if the content is a file, which may be stored as chunks
+     * @throws IOException if the content cannot be stored
+     */
+    private void storeContent(Path tmp, byte[] sha1Bytes, boolean archive) throws IOException {
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
             // we've already got this content
@@ -126,11 +194,17 @@ public class ContentRepositoryImpl implements ContentRepository {
                 tmp.toFile().deleteOnExit();
             }
             DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
+        } else if (storeChunked && archive) {
+            try {
+                getChunkedContentStore().store(tmp, realFile.resolveSibling(ChunkedContentStore.INDEX));
+            } finally {
+                deleteSilentlyRecursively(tmp);
+            }
+            DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
         } else {
             moveTempToPermanent(tmp, realFile);
             DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
         }
-        return sha1Bytes;
     }
 
     @Override
@@ -147,7 +221,20 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public VirtualFile getContent(byte[] hash) {
         Assert.checkNotNullParam("hash", hash);
-        return VFS.getChild(getDeploymentContentFile(hash, true).toUri());
+        try {
+            return VFS.getChild(getReadableContentFile(hash, true).toUri());
+        } catch (IOException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotReassembleContent(e, HashUtil.bytesToHexString(hash));
+        }
+    }
+
+    @Override
+    public void releaseContent(byte[] hash) {
+        Assert.checkNotNullParam("hash", hash);
+        final ChunkedContentStore store = chunkedContentStore;
+        if (store != null) {
+            store.release(hash);
+        }
     }
 
     @Override
@@ -157,7 +244,13 @@ public class ContentRepositoryImpl implements ContentRepository {
 
     @Override
     public boolean hasContent(byte[] hash) {
-        return Files.exists(getDeploymentContentFile(hash));
+        final Path contentFile = getDeploymentContentFile(hash);
+        return Files.exists(contentFile) || Files.exists(contentFile.resolveSibling(ChunkedContentStore.INDEX));
+    }
+
+    @Override
+    public ContentStorageStatistics getStorageStatistics() {
+        return storeChunked ? chunkedContentStore : null;
     }
 
     protected Path getRepoRoot() {
@@ -172,6 +265,35 @@ public class ContentRepositoryImpl implements ContentRepository {
         return getDeploymentHashDir(deploymentHash, validate).resolve(CONTENT);
     }
 
+    /**
+     * Gets the file holding the content with the given hash, reassembling the content first if it is stored as chunks.
+     * The reassembled copy is kept until {@link #releaseContent(byte[])} is called.
+     */
+    private Path getReadableContentFile(byte[] deploymentHash, boolean validate) throws IOException {
+        final Path contentFile = getDeploymentContentFile(deploymentHash, validate);
+        if (!Files.exists(contentFile)) {
+            final Path index = contentFile.resolveSibling(ChunkedContentStore.INDEX);
+            if (Files.exists(index)) {
+                return getChunkedContentStore().acquire(deploymentHash, index);
+            }
+        }
+        return contentFile;
+    }
+
+    private ChunkedContentStore getChunkedContentStore() {
+        ChunkedContentStore store = chunkedContentStore;
+        if (store == null) {
+            synchronized (this) {
+                store = chunkedContentStore;
+                if (store == null) {
+                    store = new ChunkedContentStore(repoRoot.toPath(), tmpRoot.toPath());
+                    chunkedContentStore = store;
+                }
+            }
+        }
+        return store;
+    }
+
     protected Path getDeploymentHashDir(final byte[] deploymentHash, final boolean validate) {
         final String sha1 = HashUtil.bytesToHexString(deploymentHash);
         final String partA = sha1.substring(0, 2);
@@ -263,6 +385,7 @@ public class ContentRepositoryImpl implements ContentRepository {
             contentPath = getDeploymentContentFile(reference.getHash(), false);
         }
         Path parent = contentPath.getParent();
+        final boolean chunked = HashUtil.isEachHexHashInTable(reference.getHexHash()) && Files.exists(parent.resolve(ChunkedContentStore.INDEX));
         boolean interrupted = false;
         try {
             if (HashUtil.isEachHexHashInTable(reference.getHexHash()) && this.readWrite) { //Otherwise this is not a deployment content
@@ -271,6 +394,9 @@ public class ContentRepositoryImpl implements ContentRepository {
                     return;
                 }
             }
+            if (chunked) {
+                getChunkedContentStore().remove(reference.getHash(), parent.resolve(ChunkedContentStore.INDEX));
+            }
             deleteRecursively(parent);
         } catch (IOException ex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
@@ -357,7 +483,8 @@ public class ContentRepositoryImpl implements ContentRepository {
         File[] rootHashes = repoRoot.listFiles();
         if (rootHashes != null) {
             for (File rootHash : rootHashes) {
-                if (rootHash.isDirectory()) {
+                if (rootHash.isDirectory() && !ChunkedContentStore.CHUNKS.equals(rootHash.getName())
+                        && !ChunkedContentStore.REASSEMBLED.equals(rootHash.getName())) {
                     File[] complementaryHashes = rootHash.listFiles();
                     if (complementaryHashes == null || complementaryHashes.length == 0) {
                         ContentReference reference = new ContentReference(rootHash.getAbsolutePath(), rootHash.getName());
@@ -380,10 +507,13 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public byte[] explodeContent(byte[] deploymentHash) throws ExplodedContentException {
         Path contentPath = getDeploymentContentFile(deploymentHash);
-        if (!Files.exists(contentPath)) {
+        if (!hasContent(deploymentHash)) {
             throw DeploymentRepositoryLogger.ROOT_LOGGER.archiveNotFound(contentPath.toString());
         }
+        boolean acquired = false;
         try {
+            contentPath = getReadableContentFile(deploymentHash, false);
+            acquired = true;
             if (Files.isDirectory(contentPath) || !isArchive(contentPath)) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.notAnArchive(contentPath.toString());
             }
@@ -410,6 +540,10 @@ public class ContentRepositoryImpl implements ContentRepository {
         } catch (IOException ioex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ioex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorExplodingContent(ioex, contentPath.toString());
+        } finally {
+            if (acquired) {
+                releaseContent(deploymentHash);
+            }
         }
     }
 
@@ -505,7 +639,7 @@ public class ContentRepositoryImpl implements ContentRepository {
                 ReentrantLock lock = lockedContents.get(hashHex);
                 if (lock.isHeldByCurrentThread()) {
                     lock.unlock();
-                    if (!Files.exists(getDeploymentContentFile(hash))) {
+                    if (!hasContent(hash)) {
                         lockedContents.remove(hashHex);
                     }
                 }
@@ -516,11 +650,13 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public TypedInputStream readContent(byte[] deploymentHash, String path) throws ExplodedContentException {
         Path tmpDir = null;
+        Path content = null;
         try {
             if(!lock(deploymentHash)) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
-            Path src = resolveSecurely(getDeploymentContentFile(deploymentHash), path);
+            content = getReadableContentFile(deploymentHash, false);
+            Path src = resolveSecurely(content, path);
             tmpDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
             Path file = PathUtil.readFile(src, tmpDir);
             Path tmp = Files.createTempFile(tmpRoot.toPath(), CONTENT, getFileExtension(src));
@@ -533,6 +669,9 @@ public class ContentRepositoryImpl implements ContentRepository {
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(ex);
         } finally {
+            if (content != null) {
+                releaseContent(deploymentHash);
+            }
             unlock(deploymentHash);
             deleteSilentlyRecursively(tmpDir);
         }
@@ -541,12 +680,14 @@ public class ContentRepositoryImpl implements ContentRepository {
     @Override
     public List<ContentRepositoryElement> listContent(byte[] deploymentHash, String path, ContentFilter filter) throws ExplodedContentException {
         Path tmpDir = null;
+        Path content = null;
         try {
             if (!lock(deploymentHash)) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.errorLockingDeployment();
             }
             tmpDir = Files.createTempDirectory(tmpRoot.toPath(), HashUtil.bytesToHexString(deploymentHash));
-            final Path rootPath = resolveSecurely(getDeploymentContentFile(deploymentHash), path);
+            content = getReadableContentFile(deploymentHash, false);
+            final Path rootPath = resolveSecurely(content, path);
             return PathUtil.listFiles(rootPath, tmpDir, filter);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
@@ -555,6 +696,9 @@ public class ContentRepositoryImpl implements ContentRepository {
             DeploymentRepositoryLogger.ROOT_LOGGER.warn(ex);
             throw DeploymentRepositoryLogger.ROOT_LOGGER.errorAccessingDeployment(ex);
         } finally {
+            if (content != null) {
+                releaseContent(deploymentHash);
+            }
             unlock(deploymentHash);
             if(tmpDir != null) {
                 deleteSilentlyRecursively(tmpDir);
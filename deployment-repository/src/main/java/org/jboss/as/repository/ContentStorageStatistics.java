@@ -0,0 +1,44 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+/**
+ * Statistics of a {@link ContentRepository} storing content as deduplicated chunks.
+ */
+public interface ContentStorageStatistics {
+
+    /**
+     * Gets the total size in bytes of the content stored as chunks, as it would be if each content were stored whole.
+     *
+     * @return the size of the content
+     */
+    long getContentSize();
+
+    /**
+     * Gets the total size in bytes of the chunks actually stored. Chunks shared by several contents are only counted once.
+     *
+     * @return the size of the stored chunks
+     */
+    long getStoredSize();
+
+    /**
+     * Gets the number of bytes saved by storing content as deduplicated chunks.
+     *
+     * @return the difference between {@link #getContentSize()} and {@link #getStoredSize()}
+     */
+    default long getBytesSaved() {
+        return getContentSize() - getStoredSize();
+    }
+
+    /**
+     * Gets the ratio between the size of the content and the size of the chunks stored for it.
+     *
+     * @return the deduplication ratio, or {@code 1} if no content is stored as chunks
+     */
+    default double getDeduplicationRatio() {
+        final long stored = getStoredSize();
+        return stored > 0 ? (double) getContentSize() / stored : 1;
+    }
+}
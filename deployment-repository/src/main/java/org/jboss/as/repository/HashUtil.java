@@ -4,19 +4,18 @@
  */
 package org.jboss.as.repository;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.DigestInputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 
@@ -27,6 +26,9 @@ import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
  */
 class HashUtil {
 
+    /** The size of the buffers content is read through, large enough to amortize the cost of each read */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private HashUtil() {
     }
 
@@ -81,9 +83,11 @@ class HashUtil {
 
     public static byte[] hashContent(MessageDigest messageDigest, InputStream stream) throws IOException {
         messageDigest.reset();
-        try (DigestInputStream dis = new DigestInputStream(stream, messageDigest)) {
-            byte[] bytes = new byte[8192];
-            while (dis.read(bytes) > -1) {
+        try (InputStream in = stream) {
+            final byte[] bytes = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(bytes)) > -1) {
+                messageDigest.update(bytes, 0, read);
             }
         }
         return messageDigest.digest();
@@ -97,30 +101,40 @@ class HashUtil {
      * @throws IOException
      */
     public static byte[] hashPath(MessageDigest messageDigest, Path path) throws IOException {
-        try (InputStream in = getRecursiveContentStream(path)) {
-            return hashContent(messageDigest, in);
-        }
+        messageDigest.reset();
+        updateDigest(messageDigest, path, ByteBuffer.allocateDirect(BUFFER_SIZE));
+        return messageDigest.digest();
     }
 
-    private static InputStream getRecursiveContentStream(Path path) {
+    /**
+     * Updates a digest with the name and content of a file, or with the name of a directory followed by each of its
+     * children in order. Files are read one at a time through a channel straight into the digest.
+     */
+    private static void updateDigest(MessageDigest messageDigest, Path path, ByteBuffer buffer) throws IOException {
         if (Files.isRegularFile(path)) {
+            messageDigest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            final FileChannel channel;
             try {
-                return new SequenceInputStream(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)), Files.newInputStream(path));
+                channel = FileChannel.open(path, StandardOpenOption.READ);
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
-        } else if (Files.isDirectory(path)) {
-            try {
-                final List<InputStream> v = new ArrayList<>();
-                v.add(new ByteArrayInputStream(path.getFileName().toString().getBytes(StandardCharsets.UTF_8)));
-                try(Stream<Path> paths = Files.list(path)) {
-                   paths.sorted((Path path1, Path path2) -> path1.compareTo(path2)).map(p -> getRecursiveContentStream(p)).forEach(p -> v.add(p));
+            try (channel) {
+                while (channel.read(buffer.clear()) > -1) {
+                    messageDigest.update(buffer.flip());
                 }
-                return new SequenceInputStream(Collections.enumeration(v));
+            }
+        } else if (Files.isDirectory(path)) {
+            messageDigest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            final List<Path> children;
+            try (Stream<Path> paths = Files.list(path)) {
+                children = paths.sorted().collect(Collectors.toList());
             } catch (IOException ex) {
                 throw DeploymentRepositoryLogger.ROOT_LOGGER.hashingError(ex, path);
             }
+            for (Path child : children) {
+                updateDigest(messageDigest, child, buffer);
+            }
         }
-        return InputStream.nullInputStream();
     }
 }
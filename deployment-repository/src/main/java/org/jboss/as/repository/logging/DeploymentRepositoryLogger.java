@@ -9,6 +9,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.nio.file.Path;
 import org.jboss.as.repository.ExplodedContentException;
@@ -146,4 +147,34 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @Message(id = 25, value = "Reassembled content %s does not match its hash")
+    IOException invalidChunkedContent(String hash);
+
+    @Message(id = 26, value = "Unsupported chunk index %s")
+    IOException invalidChunkIndex(String path);
+
+    @Message(id = 27, value = "Cannot reassemble content %s from its chunks")
+    RuntimeException cannotReassembleContent(@Cause Throwable cause, String hash);
+
+    @Message(id = 28, value = "Invalid content delta")
+    IOException invalidContentDelta();
+
+    @Message(id = 29, value = "No archive content %s to apply the delta to")
+    IOException deltaBaseContentNotFound(String hash);
+
+    @Message(id = 30, value = "Content built from the delta has hash %s rather than the expected %s")
+    IOException contentDeltaHashMismatch(String hash, String expectedHash);
+
+    @LogMessage(level = WARN)
+    @Message(id = 31, value = "Content of the repository %s is not stored as chunks, as it is served to other processes file by file")
+    void chunkedStorageNotSupported(String path);
+
+    @LogMessage(level = WARN)
+    @Message(id = 32, value = "Cannot read the chunk index %s, so the chunks it references are not removed")
+    void cannotReadChunkIndex(@Cause Throwable cause, Path path);
+
+    @LogMessage(level = WARN)
+    @Message(id = 33, value = "Cannot remove the chunks of the repository %s that no content references")
+    void cannotRemoveUnreferencedChunks(@Cause Throwable cause, Path path);
 }
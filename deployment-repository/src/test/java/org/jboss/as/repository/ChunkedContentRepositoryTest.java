@@ -0,0 +1,153 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of a {@link ContentRepositoryImpl} storing content as deduplicated chunks.
+ */
+public class ChunkedContentRepositoryTest {
+
+    private final File rootDir = new File("target", "chunked-repository");
+    private final File tmpRootDir = new File("target", "chunked-tmp");
+    private ContentRepositoryImpl repository;
+
+    @Before
+    public void createRepository() throws IOException {
+        if (rootDir.exists()) {
+            deleteRecursively(rootDir.toPath());
+        }
+        rootDir.mkdirs();
+        if (tmpRootDir.exists()) {
+            deleteRecursively(tmpRootDir.toPath());
+        }
+        tmpRootDir.mkdirs();
+        repository = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, true);
+        repository.readWrite();
+    }
+
+    @After
+    public void destroyRepository() throws IOException {
+        deleteRecursively(rootDir.toPath());
+        deleteRecursively(tmpRootDir.toPath());
+        repository = null;
+    }
+
+    @Test
+    public void testNearIdenticalContentSharesChunks() throws Exception {
+        final byte[] original = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(original);
+        // A second version with a few bytes inserted in the middle, shifting everything after them
+        final byte[] modified = new byte[original.length + 100];
+        System.arraycopy(original, 0, modified, 0, original.length / 2);
+        System.arraycopy(original, original.length / 2, modified, original.length / 2 + 100, original.length / 2);
+
+        final byte[] originalHash = repository.addContent(new ByteArrayInputStream(original));
+        final byte[] modifiedHash = repository.addContent(new ByteArrayInputStream(modified));
+        assertTrue(repository.hasContent(originalHash));
+        assertTrue(repository.hasContent(modifiedHash));
+        assertFalse(Files.exists(repository.getDeploymentContentFile(originalHash)));
+
+        final ContentStorageStatistics statistics = repository.getStorageStatistics();
+        assertNotNull(statistics);
+        assertEquals(original.length + modified.length, statistics.getContentSize());
+        // Only the chunks around the insertion differ
+        assertTrue(statistics.getBytesSaved() > original.length / 2);
+        assertTrue(statistics.getDeduplicationRatio() > 1.5);
+
+        assertArrayEquals(original, read(originalHash));
+        assertArrayEquals(modified, read(modifiedHash));
+
+        final long storedSize = statistics.getStoredSize();
+        repository.removeContent(new ContentReference("original", HashUtil.bytesToHexString(originalHash)));
+        assertFalse(repository.hasContent(originalHash));
+        assertEquals(modified.length, statistics.getContentSize());
+        assertTrue(statistics.getStoredSize() < storedSize);
+        assertEquals(modified.length, statistics.getStoredSize());
+        assertArrayEquals(modified, read(modifiedHash));
+    }
+
+    @Test
+    public void testChunkedContentReadAfterRestart() throws Exception {
+        final byte[] content = new byte[100 * 1024];
+        new Random(7).nextBytes(content);
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+
+        // Content stored as chunks remains readable when new content is no longer stored as chunks
+        repository = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, false);
+        assertTrue(repository.hasContent(hash));
+        assertArrayEquals(content, read(hash));
+    }
+
+    @Test
+    public void testReassembledContentDeletedOnceReleased() throws Exception {
+        final byte[] content = new byte[100 * 1024];
+        new Random(11).nextBytes(content);
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+        final File reassembled = repository.getContent(hash).getPhysicalFile();
+        assertTrue(reassembled.exists());
+
+        // Still used by the first caller once the second releases it
+        assertEquals(reassembled, repository.getContent(hash).getPhysicalFile());
+        repository.releaseContent(hash);
+        assertTrue(reassembled.exists());
+        repository.releaseContent(hash);
+        assertFalse(reassembled.exists());
+        assertArrayEquals(content, read(hash));
+        assertFalse(reassembled.exists());
+    }
+
+    @Test
+    public void testSharedChunksKeptAfterRestart() throws Exception {
+        final byte[] original = new byte[1024 * 1024];
+        new Random(13).nextBytes(original);
+        final byte[] modified = original.clone();
+        modified[original.length / 2]++;
+        final byte[] originalHash = repository.addContent(new ByteArrayInputStream(original));
+        final byte[] modifiedHash = repository.addContent(new ByteArrayInputStream(modified));
+
+        // The references to the chunks are counted again when the repository is reopened
+        repository = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, true);
+        repository.readWrite();
+        repository.removeContent(new ContentReference("original", HashUtil.bytesToHexString(originalHash)));
+        assertFalse(repository.hasContent(originalHash));
+        assertEquals(modified.length, repository.getStorageStatistics().getContentSize());
+        assertEquals(modified.length, repository.getStorageStatistics().getStoredSize());
+        assertArrayEquals(modified, read(modifiedHash));
+
+        repository.removeContent(new ContentReference("modified", HashUtil.bytesToHexString(modifiedHash)));
+        assertEquals(0, repository.getStorageStatistics().getStoredSize());
+        try (Stream<Path> files = Files.walk(rootDir.toPath().resolve(ChunkedContentStore.CHUNKS))) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    private byte[] read(final byte[] hash) throws IOException {
+        try (InputStream in = repository.getContent(hash).openStream()) {
+            return in.readAllBytes();
+        } finally {
+            repository.releaseContent(hash);
+        }
+    }
+}
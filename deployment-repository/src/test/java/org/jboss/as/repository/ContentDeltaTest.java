@@ -0,0 +1,109 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of adding content to a {@link ContentRepositoryImpl} as a {@link ContentDelta}.
+ */
+public class ContentDeltaTest {
+
+    private final File rootDir = new File("target", "delta-repository");
+    private final File tmpRootDir = new File("target", "delta-tmp");
+    private ContentRepositoryImpl repository;
+
+    @Before
+    public void createRepository() throws IOException {
+        if (rootDir.exists()) {
+            deleteRecursively(rootDir.toPath());
+        }
+        rootDir.mkdirs();
+        if (tmpRootDir.exists()) {
+            deleteRecursively(tmpRootDir.toPath());
+        }
+        tmpRootDir.mkdirs();
+        repository = new ContentRepositoryImpl(rootDir, tmpRootDir, 0L, ContentRepository.LOCK_TIMEOUT, false);
+        repository.readWrite();
+    }
+
+    @After
+    public void destroyRepository() throws IOException {
+        deleteRecursively(rootDir.toPath());
+        deleteRecursively(tmpRootDir.toPath());
+        repository = null;
+    }
+
+    @Test
+    public void testAddContentDelta() throws Exception {
+        final byte[] original = new byte[2 * 1024 * 1024];
+        new Random(11).nextBytes(original);
+        // A second version with a range in the middle replaced, and bytes appended
+        final byte[] modified = new byte[original.length + 1000];
+        System.arraycopy(original, 0, modified, 0, original.length);
+        new Random(12).nextBytes(modified);
+        System.arraycopy(original, 0, modified, 0, original.length / 2);
+        System.arraycopy(original, original.length / 2 + 500, modified, original.length / 2 + 500, original.length / 2 - 500);
+
+        final byte[] originalHash = repository.addContent(new ByteArrayInputStream(original));
+        final byte[] delta = createDelta(originalHash, modified);
+        // Only the chunks around the changes are sent
+        assertTrue(delta.length < original.length / 4);
+
+        final byte[] expectedHash = MessageDigest.getInstance("SHA-1").digest(modified);
+        final byte[] modifiedHash = repository.addContentDelta(originalHash, new ByteArrayInputStream(delta), expectedHash);
+        assertArrayEquals(expectedHash, modifiedHash);
+        assertTrue(repository.hasContent(modifiedHash));
+        try (InputStream in = repository.getContent(modifiedHash).openStream()) {
+            assertArrayEquals(modified, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testHashMismatch() throws Exception {
+        final byte[] original = new byte[100 * 1024];
+        new Random(21).nextBytes(original);
+        final byte[] modified = original.clone();
+        modified[modified.length - 1]++;
+
+        final byte[] originalHash = repository.addContent(new ByteArrayInputStream(original));
+        final byte[] delta = createDelta(originalHash, modified);
+        final byte[] wrongHash = MessageDigest.getInstance("SHA-1").digest(original);
+        wrongHash[0]++;
+        try {
+            repository.addContentDelta(originalHash, new ByteArrayInputStream(delta), wrongHash);
+            fail("Content not matching the expected hash was added");
+        } catch (IOException expected) {
+        }
+        assertFalse(repository.hasContent(wrongHash));
+        try {
+            repository.addContentDelta(wrongHash, new ByteArrayInputStream(delta), originalHash);
+            fail("A delta was applied to missing content");
+        } catch (IOException expected) {
+        }
+    }
+
+    private byte[] createDelta(final byte[] baseHash, final byte[] content) throws IOException {
+        final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ContentDelta.create(repository.getDeploymentContentFile(baseHash), new ByteArrayInputStream(content), delta);
+        return delta.toByteArray();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Watches a deployment directory and its subdirectories for changes, allowing a {@link FileSystemDeploymentService}
+ * to skip scans of a directory in which nothing has changed.
+ *
+ * <p>Changes to the markers the scanner itself uses to record that an operation is in progress are ignored. If the
+ * directory tree cannot be watched, e.g. because the platform limit on the number of watched directories has been
+ * reached, every call to {@link #pollChanges()} reports a change, so the directory is scanned as if it were not
+ * watched.</p>
+ *
+ * <p>Not thread safe, other than {@link #close()}.</p>
+ *
+ * @see org.jboss.as.server.deployment.scanner.api.DeploymentScanner.ScanMode#WATCH
+ */
+class DeploymentDirectoryWatcher implements Closeable {
+
+    private static final String[] IGNORED_SUFFIXES = {
+        FileSystemDeploymentService.DEPLOYING, FileSystemDeploymentService.UNDEPLOYING, FileSystemDeploymentService.PENDING
+    };
+
+    private final Path root;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private boolean degraded;
+
+    DeploymentDirectoryWatcher(final Path root, final WatchService watchService) {
+        this.root = root;
+        this.watchService = watchService;
+        this.degraded = watchService == null;
+    }
+
+    /**
+     * Starts watching a deployment directory.
+     *
+     * @param root the deployment directory. Cannot be {@code null}
+     * @return the watcher. Will not be {@code null}
+     */
+    static DeploymentDirectoryWatcher create(final Path root) {
+        WatchService watchService;
+        try {
+            watchService = root.getFileSystem().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, root.toString());
+            watchService = null;
+        }
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root, watchService);
+        watcher.registerTree(root);
+        return watcher;
+    }
+
+    /**
+     * Drains the pending events.
+     *
+     * @return {@code true} if anything in the watched tree may have changed since the previous call
+     */
+    boolean pollChanges() {
+        if (degraded) {
+            return true;
+        }
+        boolean changed = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                final Path dir = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    final WatchEvent.Kind<?> kind = event.kind();
+                    if (kind == OVERFLOW || dir == null) {
+                        changed = true;
+                        continue;
+                    }
+                    final Path child = dir.resolve((Path) event.context());
+                    if (isIgnored(child)) {
+                        continue;
+                    }
+                    changed = true;
+                    if (kind == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        registerTree(child);
+                    }
+                }
+                if (!key.reset()) {
+                    // The directory is gone
+                    directories.remove(key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed by a concurrent stop of the scanner
+            return true;
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.tracef(e, "Failed closing the watch service for %s", root);
+        }
+    }
+
+    private void registerTree(final Path start) {
+        if (degraded) {
+            return;
+        }
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    // Deleted while walking the tree; the delete event is enough
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, root.toString());
+            degraded = true;
+        } catch (ClosedWatchServiceException e) {
+            // Closed by a concurrent stop of the scanner
+        }
+    }
+
+    private static boolean isIgnored(final Path path) {
+        final String name = path.getFileName().toString();
+        for (String suffix : IGNORED_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
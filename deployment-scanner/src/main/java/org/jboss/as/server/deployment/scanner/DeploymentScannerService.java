@@ -51,6 +51,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final PathAddress resourceAddress;
     private final long interval;
     private TimeUnit unit = TimeUnit.MILLISECONDS;
+    private final DeploymentScanner.ScanMode scanMode;
     private final boolean enabled;
     private final boolean autoDeployZipped;
     private final boolean autoDeployExploded;
@@ -104,6 +105,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param path              the path
      * @param scanInterval      the scan interval
      * @param unit              the unit of {@code scanInterval}
+     * @param scanMode          how changes to the deployment directory are detected
      * @param autoDeployZip     whether zipped content should be auto-deployed
      * @param autoDeployExploded whether exploded content should be auto-deployed
      * @param autoDeployXml     whether xml content should be auto-deployed
@@ -115,7 +117,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @return the controller for the deployment scanner service
      */
     public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
-                                                                  final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
+                                                                  final int scanInterval, TimeUnit unit, final DeploymentScanner.ScanMode scanMode, final boolean autoDeployZip,
                                                                   final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
                                                                   final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final RuntimeCapability<Void> capName =  SCANNER_CAPABILITY.fromBaseCapability(resourceAddress.getLastElement().getValue());
@@ -131,7 +133,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         sb.requires(org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT_CHAINS);
         final DeploymentScannerService service = new DeploymentScannerService(
                 serviceConsumer, pathManager, notificationRegistry, clientFactory, processStateNotifier, scheduledExecutorService,
-                resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
+                resourceAddress, relativeTo, path, scanInterval, unit, scanMode, autoDeployZip,
                 autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService, mgmtExecutor);
         sb.setInstance(service);
         sb.install();
@@ -140,7 +142,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private DeploymentScannerService(final Consumer<DeploymentScanner> serviceConsumer, final Supplier<PathManager> pathManager,
                                      final Supplier<NotificationHandlerRegistry> notificationRegistry, final Supplier<ModelControllerClientFactory> clientFactory,
                                      final Supplier<ProcessStateNotifier> processStateNotifier, final ScheduledExecutorService scheduledExecutor,
-                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
+                                     final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final DeploymentScanner.ScanMode scanMode, final boolean autoDeployZipped,
                                      final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
                                      final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService, final Supplier<Executor> mgmtExecutor) {
         this.serviceConsumer = serviceConsumer;
@@ -154,6 +156,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.path = path;
         this.interval = interval;
         this.unit = unit;
+        this.scanMode = scanMode;
         this.autoDeployZipped = autoDeployZipped;
         this.autoDeployExploded = autoDeployExploded;
         this.autoDeployXml = autoDeployXml;
@@ -193,6 +196,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                         relativePath, factory, scheduledExecutor);
 
                 scanner.setScanInterval(unit.toMillis(interval));
+                scanner.setScanMode(scanMode);
                 scanner.setAutoDeployExplodedContent(autoDeployExploded);
                 scanner.setAutoDeployZippedContent(autoDeployZipped);
                 scanner.setAutoDeployXMLContent(autoDeployXml);
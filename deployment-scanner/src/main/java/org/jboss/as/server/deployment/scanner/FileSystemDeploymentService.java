@@ -57,6 +57,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.jboss.as.controller.ControlledProcessState;
@@ -110,6 +111,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Default period in ms between full scans of a deployment directory watched for changes
+     */
+    static final long DEFAULT_RECONCILIATION_INTERVAL = 60000;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -140,6 +146,15 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile long maxNoProgress = MAX_NO_PROGRESS;
     private volatile boolean rollbackOnRuntimeFailure;
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
+    private volatile ScanMode scanMode = ScanMode.POLL;
+    private volatile long reconciliationInterval = DEFAULT_RECONCILIATION_INTERVAL;
+    /** Only changed with the object monitor held - watches the deployment directory in WATCH mode */
+    private volatile DeploymentDirectoryWatcher watcher;
+    private volatile Function<Path, DeploymentDirectoryWatcher> watcherFactory = DeploymentDirectoryWatcher::create;
+    /** Whether changes found by the last scan remain to be processed, or deployments have changed since it */
+    private volatile boolean rescanRequired = true;
+    /** Guarded by scanLock - when the last scan that processed every change it found started */
+    private long lastCompleteScan;
 
     private final ModelNode resourceAddress;
     private final String relativeTo;
@@ -164,6 +179,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public void handleNotification(Notification notification) {
         if (scanEnabled && acquireScanLock()) {
             try {
+                rescanRequired = true;
                 switch (notification.getType()) {
                     case DEPLOYMENT_DEPLOYED_NOTIFICATION: {
                         String runtimeName = notification.getData().get(DEPLOYMENT).asString();
@@ -340,6 +356,19 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    @Override
+    public ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    @Override
+    public synchronized void setScanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
+        if (scanMode != ScanMode.WATCH) {
+            closeWatcher();
+        }
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -378,6 +407,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        closeWatcher();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -434,6 +464,20 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.maxNoProgress = max;
     }
 
+    /**
+     * Hook solely for unit test to control how often a watched deployment directory is fully scanned
+     */
+    void setReconciliationInterval(long interval) {
+        this.reconciliationInterval = interval;
+    }
+
+    /**
+     * Hook solely for unit test to control the changes reported for a watched deployment directory
+     */
+    void setWatcherFactory(Function<Path, DeploymentDirectoryWatcher> watcherFactory) {
+        this.watcherFactory = watcherFactory;
+    }
+
     private void establishDeployedContentList(File dir, final DeploymentOperations deploymentOperations) {
         final Set<String> deploymentNames = deploymentOperations.getDeploymentsStatus().keySet();
         final List<File> children = listDirectoryChildren(dir);
@@ -494,7 +538,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         if (acquireScanLock()) {
             boolean scheduleRescan = false;
             try {
-                scheduleRescan = scan(false, deploymentOperations);
+                if (isScanRequired()) {
+                    scheduleRescan = scan(false, deploymentOperations);
+                } else {
+                    ROOT_LOGGER.tracef("Skipping scan of unchanged directory %s", deploymentDir.getAbsolutePath());
+                }
             } finally {
                 try {
                     if (scheduleRescan) {
@@ -570,6 +618,41 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Whether a scan triggered by the scan task needs to examine the deployment directory. This is always the case
+     * in {@link ScanMode#POLL} mode. In {@link ScanMode#WATCH} mode it is only the case if a change to the directory
+     * was reported, the previous scan left changes to be processed, or the directory has not been fully scanned for
+     * {@link #reconciliationInterval} ms. Call with the scan lock held.
+     */
+    private boolean isScanRequired() {
+        if (scanMode != ScanMode.WATCH) {
+            return true;
+        }
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher == null) {
+            synchronized (this) {
+                if (scanEnabled && scanMode == ScanMode.WATCH && this.watcher == null && deploymentDir.isDirectory()) {
+                    this.watcher = watcherFactory.apply(deploymentDir.toPath());
+                }
+            }
+            // Changes made before the directory was watched were not reported
+            return true;
+        }
+        final boolean changed = watcher.pollChanges();
+        return changed || rescanRequired || System.currentTimeMillis() - lastCompleteScan >= reconciliationInterval;
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void closeWatcher() {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null) {
+            this.watcher = null;
+            watcher.close();
+        }
+    }
+
     private boolean acquireScanLock() {
         try {
             scanLock.lockInterruptibly();
@@ -590,6 +673,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
         if (scanEnabled || oneOffScan) { // confirm the scan is still wanted
             ROOT_LOGGER.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
+            rescanRequired = true;
 
             // WFCORE-1579: skip the scan if deployment dir is not available
             if (!checkDeploymentDir(deploymentDir)) {
@@ -675,6 +759,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 }
                 ROOT_LOGGER.tracef("Scan complete");
                 firstScan = false;
+                rescanRequired = false;
+                lastCompleteScan = scanContext.scanStartTime;
             }
         }
 
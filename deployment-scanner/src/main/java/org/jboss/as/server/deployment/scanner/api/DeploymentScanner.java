@@ -37,6 +37,24 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Get how the scanner detects changes in the deployment directory.
+     *
+     * @return the scan mode. The default implementation returns {@link ScanMode#POLL}
+     */
+    default ScanMode getScanMode() {
+        return ScanMode.POLL;
+    }
+
+    /**
+     * Set how the scanner detects changes in the deployment directory. The default implementation ignores any mode
+     * other than {@link ScanMode#POLL}, which is the only one scanners not implementing this method support.
+     *
+     * @param scanMode the scan mode
+     */
+    default void setScanMode(ScanMode scanMode) {
+    }
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
@@ -123,4 +141,17 @@ public interface DeploymentScanner {
      */
     void setRuntimeFailureCausesRollback(boolean rollback);
 
+    /**
+     * How a scanner detects changes in its deployment directory.
+     */
+    enum ScanMode {
+        /** Scan the full directory tree at every scan interval. */
+        POLL,
+        /**
+         * Watch the directory tree for changes using the platform's file change notifications, and only scan it at
+         * a scan interval if a change was reported since the previous scan. The full tree is still scanned
+         * periodically, to detect any change that was not reported.
+         */
+        WATCH
+    }
 }
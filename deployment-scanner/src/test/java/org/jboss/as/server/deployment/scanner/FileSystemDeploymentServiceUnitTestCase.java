@@ -61,6 +61,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 import org.jboss.as.controller.LocalModelControllerClient;
@@ -71,6 +72,7 @@ import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.server.deployment.scanner.api.DeploymentOperations;
+import org.jboss.as.server.deployment.scanner.api.DeploymentScanner;
 import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
 import org.jboss.byteman.contrib.bmunit.BMRule;
 import org.jboss.byteman.contrib.bmunit.BMUnitRunner;
@@ -1983,6 +1985,58 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertEquals(bytes, ts.controller.deployed.get("external.war"));
     }
 
+    /**
+     * Tests that in WATCH mode a scan of an unchanged directory does not examine it, while a change
+     * is still detected by the next scan.
+     */
+    @Test
+    public void testWatchModeSkipsUnchangedDirectory() throws Exception {
+        createFile("foo.war");
+        createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        TesteeSet ts = createTestee();
+        // The changes are reported by the test rather than by the platform, whenever it would report them
+        final AtomicBoolean changed = new AtomicBoolean();
+        ts.testee.setWatcherFactory(root -> new DeploymentDirectoryWatcher(root, null) {
+            @Override
+            boolean pollChanges() {
+                return changed.getAndSet(false);
+            }
+        });
+        ts.testee.setScanMode(DeploymentScanner.ScanMode.WATCH);
+        ts.testee.setReconciliationInterval(Long.MAX_VALUE);
+        try {
+            // The first scan examines the directory, as changes made before it was watched were not reported
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED).exists());
+
+            ts.controller.requests.clear();
+            ts.testee.scan();
+            assertTrue(ts.controller.requests.isEmpty());
+
+            createFile("bar.war");
+            createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+            File deployed = new File(tmpDir, "bar.war" + FileSystemDeploymentService.DEPLOYED);
+            ts.testee.scan();
+            assertFalse(deployed.exists());
+
+            changed.set(true);
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(deployed.exists());
+            assertEquals(2, ts.controller.deployed.size());
+
+            // An unchanged directory is still examined once the reconciliation interval has elapsed
+            ts.testee.setReconciliationInterval(0);
+            ts.controller.requests.clear();
+            ts.testee.scan();
+            assertFalse(ts.controller.requests.isEmpty());
+        } finally {
+            // Closes the watcher
+            ts.testee.setScanMode(DeploymentScanner.ScanMode.POLL);
+        }
+    }
+
     private TesteeSet createTestee(String... existingContent) {
         return createTestee(new MockServerController(existingContent));
     }
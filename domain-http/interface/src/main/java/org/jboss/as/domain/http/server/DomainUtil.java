@@ -11,9 +11,13 @@ import static io.undertow.util.Headers.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Deque;
@@ -32,6 +36,7 @@ import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
 
@@ -67,9 +72,18 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                // Only small responses, such as rejections, are written from the IO thread, which must not block
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                // Serialize straight into the exchange's pooled buffers rather than building the whole response in memory.
+                // Closing the stream ends the exchange, so Undertow sets the Content-Length if the response fits in a
+                // single buffer and otherwise uses chunked encoding.
+                exchange.startBlocking();
+                writeResponseBody(response, operationParameter, exchange.getOutputStream());
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -153,15 +167,28 @@ public class DomainUtil {
     }
 
     private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeResponseBody(modelNode, operationParameter, new BufferedOutputStream(baos));
+        return baos.toByteArray();
+    }
+
+    /**
+     * Writes the body of a response, then closes the stream. The stream is not flushed before it is closed, so that
+     * closing the output stream of an exchange ends it with the whole response buffered if it fits.
+     */
+    private static void writeResponseBody(final ModelNode modelNode, final OperationParameter operationParameter, final OutputStream out) throws IOException {
         if (operationParameter.isEncode()) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BufferedOutputStream out = new BufferedOutputStream(baos);
-            modelNode.writeBase64(out);
-            out.flush();
-            return baos.toByteArray();
+            try (OutputStream stream = out) {
+                modelNode.writeBase64(stream);
+            }
         } else {
-            String json = modelNode.toJSONString(!operationParameter.isPretty());
-            return json.getBytes(StandardCharsets.UTF_8);
+            PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            modelNode.writeJSONString(writer, !operationParameter.isPretty());
+            writer.close();
+            // PrintWriter does not throw the IOExceptions of the underlying stream
+            if (writer.checkError()) {
+                throw HttpServerLogger.ROOT_LOGGER.failedToWriteResponse();
+            }
         }
     }
 
@@ -26,6 +26,7 @@ import javax.net.ssl.SSLContext;
 
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.management.HttpInterfaceCommonPolicy.Header;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.domain.http.server.cors.CorsHttpHandler;
 import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.as.domain.http.server.security.DmrFailureReadinessHandler;
@@ -40,6 +41,7 @@ import org.wildfly.elytron.web.undertow.server.ElytronHttpExchange;
 import org.wildfly.security.auth.server.HttpAuthenticationFactory;
 import org.wildfly.security.auth.server.SecurityIdentity;
 import org.wildfly.security.http.HttpServerAuthenticationMechanism;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.BufferAllocator;
 import org.xnio.ByteBufferSlicePool;
 import org.xnio.ChannelListener;
@@ -90,6 +92,10 @@ public class ManagementHttpServer {
 
     private static final String DEFAULT_SECURITY_REALM = "ManagementRealm";
 
+    // Whether the metrics of the management model are served at /metrics unless an extension serves its own, which is opt-in
+    private static final boolean METRICS_ENABLED = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.http.metrics.enabled", "false"));
+
     private static final Set<String> RESERVED_CONTEXTS;
 
     static {
@@ -225,6 +231,11 @@ public class ManagementHttpServer {
         }
         extensionHandlers.extensionContexts.remove(context);
         extensionHandlers.extensionPathHandler.removePrefixPath(context);
+        // Restore any default handler the extension replaced
+        HttpHandler defaultHandler = extensionHandlers.defaultHandlers.get(context);
+        if (defaultHandler != null) {
+            extensionHandlers.extensionPathHandler.addPrefixPath(context, defaultHandler);
+        }
     }
 
     private static String fixPath(String contextName) {
@@ -294,6 +305,18 @@ public class ManagementHttpServer {
         return readinessHandler;
     }
 
+    private static HttpHandler addMetricsHandler(PathHandler pathHandler, Builder builder, Function<HttpServerExchange, Boolean> readinessFunction) {
+        HttpHandler metricsHandler = secureDomainAccess(CorrelationHandler.wrap(
+                InExecutorHandler.wrap(
+                    builder.executor,
+                    associateIdentity(new MetricsHandler(builder.modelController, builder.rootResourceRegistration))
+                )), builder);
+        HttpHandler readinessHandler = wrapHttpHeader(new DmrFailureReadinessHandler(readinessFunction, metricsHandler, ErrorContextHandler.ERROR_CONTEXT), "X-Content-Type-Options", "nosniff");
+        pathHandler.addPrefixPath(MetricsHandler.PATH, readinessHandler);
+
+        return readinessHandler;
+    }
+
     private static void addLogoutHandler(PathHandler pathHandler, Builder builder) {
         pathHandler.addPrefixPath(LogoutHandler.PATH, wrapHttpHeader(wrapHttpHeader(
                 new LogoutHandler(DEFAULT_SECURITY_REALM), "X-Frame-Options", "SAMEORIGIN"), "X-Content-Type-Options", "nosniff"));
@@ -310,12 +333,16 @@ public class ManagementHttpServer {
         private final Function<HttpServerExchange, Boolean> readyFunction;
         private final Set<String> reservedContexts;
         private final Set<String> extensionContexts = new HashSet<>();
+        // Handlers of contexts that extensions can replace, e.g. with a metrics handler of their own
+        private final Map<String, HttpHandler> defaultHandlers;
 
         private ExtensionHandlers(PathHandler extensionPathHandler, HttpHandler managementHandler,
-                Function<HttpServerExchange, Boolean> readyFunction, ResourceHandlerDefinition consoleHandler) {
+                Function<HttpServerExchange, Boolean> readyFunction, ResourceHandlerDefinition consoleHandler,
+                Map<String, HttpHandler> defaultHandlers) {
             this.extensionPathHandler = extensionPathHandler;
             this.managementHandler = managementHandler;
             this.readyFunction = readyFunction;
+            this.defaultHandlers = defaultHandlers;
             if (consoleHandler == null) {
                 this.reservedContexts = RESERVED_CONTEXTS;
             } else {
@@ -396,8 +423,12 @@ public class ManagementHttpServer {
         domainApiHandler = secureDomainAccess(domainApiHandler, builder);
         HttpHandler readinessHandler = addDmrRedinessHandler(pathHandler, domainApiHandler, readyFunction);
         addLogoutHandler(pathHandler, builder);
+        Map<String, HttpHandler> defaultHandlers = Collections.emptyMap();
+        if (builder.metricsEnabled && builder.rootResourceRegistration != null) {
+            defaultHandlers = Collections.singletonMap(MetricsHandler.PATH, addMetricsHandler(pathHandler, builder, readyFunction));
+        }
 
-        return new ExtensionHandlers(pathHandler, readinessHandler, readyFunction, consoleHandler);
+        return new ExtensionHandlers(pathHandler, readinessHandler, readyFunction, consoleHandler, defaultHandlers);
     }
 
     private static HttpHandler associateIdentity(HttpHandler domainHandler) {
@@ -486,6 +517,8 @@ public class ManagementHttpServer {
         private Integer connectionHighWater;
         private Integer connectionLowWater;
         private Integer noRequestTimeout;
+        private boolean metricsEnabled = METRICS_ENABLED;
+        private ImmutableManagementResourceRegistration rootResourceRegistration;
 
         private Builder() {
         }
@@ -633,6 +666,29 @@ public class ManagementHttpServer {
             return this;
         }
 
+        /**
+         * Sets whether the metrics of the management model are served at {@code /metrics}, which is only the case by
+         * default if the {@code org.wildfly.management.http.metrics.enabled} system property is {@code true}. The metrics
+         * are only served if the {@link #setRootResourceRegistration(ImmutableManagementResourceRegistration) root
+         * resource registration} is set, and as long as no extension serves its own.
+         */
+        public Builder setMetricsEnabled(boolean metricsEnabled) {
+            assertNotBuilt();
+            this.metricsEnabled = metricsEnabled;
+
+            return this;
+        }
+
+        /**
+         * Sets the root resource registration of the management model, from which the metrics are discovered.
+         */
+        public Builder setRootResourceRegistration(ImmutableManagementResourceRegistration rootResourceRegistration) {
+            assertNotBuilt();
+            this.rootResourceRegistration = rootResourceRegistration;
+
+            return this;
+        }
+
         public ManagementHttpServer build() {
             assertNotBuilt();
 
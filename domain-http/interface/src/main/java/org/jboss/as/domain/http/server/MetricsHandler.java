@@ -0,0 +1,389 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Serves the metrics of the management model, i.e. its numeric attributes with the metric access type, in the
+ * OpenMetrics text format.
+ * <p/>
+ * The addresses and names of the metrics are discovered from the resource registrations, and discovered again at most
+ * every minute to pick up new registrations. The discovered metrics are shared by all callers. A scrape then executes a
+ * single composite operation, reading each metric of all the resources of a registration through a wildcard address,
+ * and writes the results as they come. The operation runs as the caller, so that only the metrics they may read are
+ * written.
+ * <p/>
+ * Each metric family is named after the address of the registration, using the value of its fixed elements and the
+ * key of its wildcard elements, followed by the attribute name, e.g. {@code wildfly_io_worker_io_thread_count}. The
+ * values of the wildcard elements are the labels of the samples, e.g. {@code {worker="default"}}. The attributes
+ * flagged as {@link AttributeAccess.Flag#COUNTER_METRIC counters} are written as counters, whose samples are suffixed
+ * with {@code _total}, and the others as gauges.
+ *
+ * @see <a href="https://github.com/OpenObservability/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics</a>
+ */
+class MetricsHandler implements HttpHandler {
+
+    static final String PATH = "/metrics";
+
+    private static final String OPENMETRICS_TEXT = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String PREFIX = "wildfly";
+    private static final String COUNTER_SUFFIX = "_total";
+    private static final long DISCOVERY_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+    private static final Set<ModelType> INTEGRAL_TYPES = EnumSet.of(ModelType.INT, ModelType.LONG, ModelType.BIG_INTEGER);
+    private static final Set<ModelType> DECIMAL_TYPES = EnumSet.of(ModelType.DOUBLE, ModelType.BIG_DECIMAL);
+
+    private final ModelController modelController;
+    private final ImmutableManagementResourceRegistration rootRegistration;
+    private volatile Metrics metrics;
+
+    MetricsHandler(ModelController modelController, ImmutableManagementResourceRegistration rootRegistration) {
+        this.modelController = modelController;
+        this.rootRegistration = rootRegistration;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (!Methods.GET.equals(exchange.getRequestMethod())) {
+            Common.METHOD_NOT_ALLOWED_HANDLER.handleRequest(exchange);
+            return;
+        }
+        final ModelNode response;
+        final Metrics metrics;
+        try {
+            Metrics current = this.metrics;
+            if (current == null || System.nanoTime() - current.discovered > DISCOVERY_INTERVAL) {
+                current = discover(rootRegistration);
+                this.metrics = current;
+            }
+            metrics = current;
+            response = execute(metrics.readOperation.clone());
+        } catch (Throwable t) {
+            ROOT_LOGGER.modelRequestError(t);
+            Common.sendError(exchange, false, t.getLocalizedMessage());
+            return;
+        }
+
+        exchange.setStatusCode(200);
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, OPENMETRICS_TEXT);
+        exchange.startBlocking();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getOutputStream(), StandardCharsets.UTF_8))) {
+            metrics.write(response.get(RESULT), writer);
+        }
+    }
+
+    private ModelNode execute(ModelNode operation) {
+        ModelNode headers = operation.get(OPERATION_HEADERS);
+        headers.get(ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
+        headers.get(CALLER_TYPE).set(USER);
+        OperationResponse response = modelController.execute(new OperationBuilder(operation).build(), OperationMessageHandler.logging,
+                ModelController.OperationTransactionControl.COMMIT);
+        try {
+            return response.getResponseNode();
+        } finally {
+            StreamUtils.safeClose(response);
+        }
+    }
+
+    static Metrics discover(ImmutableManagementResourceRegistration rootRegistration) {
+        List<Metric> found = new ArrayList<>();
+        discover(rootRegistration, PathAddress.EMPTY_ADDRESS, Collections.emptyList(), found);
+
+        ModelNode operation = new ModelNode();
+        operation.get(OP).set(COMPOSITE);
+        operation.get(OP_ADDR).setEmptyList();
+        // A metric that cannot be read must not prevent the others from being written
+        operation.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        ModelNode steps = operation.get(STEPS).setEmptyList();
+        Map<String, List<Metric>> families = new LinkedHashMap<>();
+        for (int i = 0; i < found.size(); i++) {
+            Metric metric = found.get(i);
+            ModelNode step = new ModelNode();
+            step.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            step.get(OP_ADDR).set(metric.address.toModelNode());
+            step.get(NAME).set(metric.attribute);
+            steps.add(step);
+            metric.step = "step-" + (i + 1);
+            families.computeIfAbsent(metric.name, name -> new ArrayList<>()).add(metric);
+        }
+        return new Metrics(System.nanoTime(), operation, families);
+    }
+
+    /**
+     * Collects the metrics of a registration and of its children.
+     *
+     * @param registration the registration
+     * @param address the address of the registration, with wildcards
+     * @param overridden the values registered specifically, and so excluded, for each element of the address
+     * @param metrics the collected metrics
+     */
+    private static void discover(ImmutableManagementResourceRegistration registration, PathAddress address,
+                                 List<Set<String>> overridden, List<Metric> metrics) {
+        for (Map.Entry<String, AttributeAccess> attribute : registration.getAttributes(PathAddress.EMPTY_ADDRESS).entrySet()) {
+            AttributeAccess access = attribute.getValue();
+            if (access.getAccessType() == AttributeAccess.AccessType.METRIC) {
+                ModelType type = access.getAttributeDefinition().getType();
+                if (INTEGRAL_TYPES.contains(type) || DECIMAL_TYPES.contains(type)) {
+                    metrics.add(new Metric(address, attribute.getKey(), INTEGRAL_TYPES.contains(type),
+                            access.getFlags().contains(AttributeAccess.Flag.COUNTER_METRIC), overridden));
+                }
+            }
+        }
+        Set<PathElement> children = registration.getChildAddresses(PathAddress.EMPTY_ADDRESS);
+        for (PathElement child : children) {
+            ImmutableManagementResourceRegistration childRegistration = registration.getSubModel(PathAddress.pathAddress(child));
+            // The metrics of proxied processes are served by those processes, and aliases would only duplicate them
+            if (childRegistration == null || childRegistration.isRemote() || childRegistration.isAlias()) {
+                continue;
+            }
+            List<Set<String>> childOverridden = new ArrayList<>(overridden);
+            if (child.isWildcard()) {
+                Set<String> specific = new HashSet<>();
+                for (PathElement sibling : children) {
+                    if (sibling.getKey().equals(child.getKey()) && !sibling.isWildcard()) {
+                        specific.add(sibling.getValue());
+                    }
+                }
+                childOverridden.add(specific);
+            } else {
+                childOverridden.add(Collections.emptySet());
+            }
+            discover(childRegistration, address.append(child), childOverridden, metrics);
+        }
+    }
+
+    static String sanitize(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            builder.append((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The discovered metrics, and the operation reading all of them.
+     */
+    static final class Metrics {
+        private final long discovered;
+        private final ModelNode readOperation;
+        private final Map<String, List<Metric>> families;
+
+        Metrics(long discovered, ModelNode readOperation, Map<String, List<Metric>> families) {
+            this.discovered = discovered;
+            this.readOperation = readOperation;
+            this.families = families;
+        }
+
+        ModelNode getReadOperation() {
+            return readOperation;
+        }
+
+        /**
+         * Writes the metrics read by the composite operation.
+         *
+         * @param result the result of the operation
+         * @param writer the writer of the response
+         */
+        void write(ModelNode result, Writer writer) throws IOException {
+            for (Map.Entry<String, List<Metric>> family : families.entrySet()) {
+                boolean described = false;
+                for (Metric metric : family.getValue()) {
+                    ModelNode stepResponse = result.get(metric.step);
+                    if (!SUCCESS.equals(stepResponse.get(OUTCOME).asString())) {
+                        continue;
+                    }
+                    ModelNode value = stepResponse.get(RESULT);
+                    if (metric.wildcards.length == 0) {
+                        if (value.isDefined()) {
+                            described = describe(family.getKey(), metric.counter, described, writer);
+                            metric.writeSample(null, value, writer);
+                        }
+                        continue;
+                    }
+                    // A read through a wildcard address lists the result of each resource
+                    for (ModelNode resourceResponse : value.asList()) {
+                        ModelNode resourceValue = resourceResponse.get(RESULT);
+                        if (SUCCESS.equals(resourceResponse.get(OUTCOME).asString()) && resourceValue.isDefined()) {
+                            PathAddress resourceAddress = PathAddress.pathAddress(resourceResponse.get(ADDRESS));
+                            if (!metric.isOverridden(resourceAddress)) {
+                                described = describe(family.getKey(), metric.counter, described, writer);
+                                metric.writeSample(resourceAddress, resourceValue, writer);
+                            }
+                        }
+                    }
+                }
+            }
+            writer.write("# EOF\n");
+        }
+
+        private static boolean describe(String family, boolean counter, boolean described, Writer writer) throws IOException {
+            if (!described) {
+                writer.write("# TYPE ");
+                writer.write(family);
+                writer.write(counter ? " counter\n" : " gauge\n");
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A metric of all the resources of a registration.
+     */
+    static final class Metric {
+        private final PathAddress address;
+        private final String attribute;
+        private final boolean integral;
+        private final boolean counter;
+        // The name of the family, and that of its samples, which is suffixed with _total for a counter
+        private final String name;
+        private final String sampleName;
+        // The positions of the wildcard elements of the address, with their label names and overridden values
+        private final int[] wildcards;
+        private final String[] labels;
+        private final List<Set<String>> overridden;
+        private String step;
+
+        Metric(PathAddress address, String attribute, boolean integral, boolean counter, List<Set<String>> overridden) {
+            this.address = address;
+            this.attribute = attribute;
+            this.integral = integral;
+            this.counter = counter;
+            this.overridden = overridden;
+            StringBuilder name = new StringBuilder(PREFIX);
+            List<Integer> wildcards = new ArrayList<>();
+            for (int i = 0; i < address.size(); i++) {
+                PathElement element = address.getElement(i);
+                name.append('_');
+                if (element.isWildcard()) {
+                    wildcards.add(i);
+                    name.append(sanitize(element.getKey()));
+                } else {
+                    name.append(sanitize(element.getValue()));
+                }
+            }
+            name.append('_').append(sanitize(attribute));
+            if (counter && name.toString().endsWith(COUNTER_SUFFIX)) {
+                name.setLength(name.length() - COUNTER_SUFFIX.length());
+            }
+            this.name = name.toString();
+            this.sampleName = counter ? this.name + COUNTER_SUFFIX : this.name;
+            this.wildcards = new int[wildcards.size()];
+            this.labels = new String[wildcards.size()];
+            for (int i = 0; i < this.wildcards.length; i++) {
+                this.wildcards[i] = wildcards.get(i);
+                this.labels[i] = sanitize(address.getElement(this.wildcards[i]).getKey());
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        private boolean isOverridden(PathAddress resourceAddress) {
+            for (int position : wildcards) {
+                if (overridden.get(position).contains(resourceAddress.getElement(position).getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void writeSample(PathAddress resourceAddress, ModelNode value, Writer writer) throws IOException {
+            writer.write(sampleName);
+            if (resourceAddress != null) {
+                writer.write('{');
+                for (int i = 0; i < wildcards.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(labels[i]);
+                    writer.write("=\"");
+                    writeLabelValue(resourceAddress.getElement(wildcards[i]).getValue(), writer);
+                    writer.write('"');
+                }
+                writer.write('}');
+            }
+            writer.write(' ');
+            if (integral) {
+                writer.write(Long.toString(value.asLong()));
+            } else {
+                double doubleValue = value.asDouble();
+                if (Double.isInfinite(doubleValue)) {
+                    writer.write(doubleValue > 0 ? "+Inf" : "-Inf");
+                } else {
+                    writer.write(Double.toString(doubleValue));
+                }
+            }
+            writer.write('\n');
+        }
+
+        private static void writeLabelValue(String value, Writer writer) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\':
+                        writer.write("\\\\");
+                        break;
+                    case '"':
+                        writer.write("\\\"");
+                        break;
+                    case '\n':
+                        writer.write("\\n");
+                        break;
+                    default:
+                        writer.write(c);
+                }
+            }
+        }
+    }
+}
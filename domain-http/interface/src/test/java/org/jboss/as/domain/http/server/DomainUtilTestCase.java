@@ -0,0 +1,172 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DomainUtil#writeResponse}.
+ */
+public class DomainUtilTestCase {
+
+    private final BlockingQueue<Boolean> responsesStarted = new LinkedBlockingQueue<>();
+    private final BlockingQueue<RuntimeException> failures = new LinkedBlockingQueue<>();
+    private volatile ModelNode response;
+    private Undertow server;
+    private InetSocketAddress address;
+
+    @Before
+    public void startServer() {
+        HttpHandler handler = exchange -> {
+            try {
+                DomainUtil.writeResponse(exchange, 200, response, new OperationParameter.Builder(false).build());
+            } catch (RuntimeException e) {
+                responsesStarted.add(exchange.isResponseStarted());
+                failures.add(e);
+                throw e;
+            }
+        };
+        // Operation responses are written from a worker thread, and rejections from the IO thread
+        server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(exchange -> {
+                    if (exchange.getRequestPath().equals("/io")) {
+                        handler.handleRequest(exchange);
+                    } else {
+                        exchange.dispatch(handler);
+                    }
+                })
+                .build();
+        server.start();
+        address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testSmallResponse() throws Exception {
+        response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set("small");
+
+        for (String path : new String[] {"/", "/io"}) {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), path).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("application/json; charset=utf-8", connection.getContentType());
+            // A response that fits in a buffer is sent with its length
+            assertNull(connection.getHeaderField("Transfer-Encoding"));
+            byte[] body;
+            try (InputStream in = connection.getInputStream()) {
+                body = in.readAllBytes();
+            }
+            assertEquals(body.length, connection.getContentLengthLong());
+            assertEquals(response, ModelNode.fromJSONString(new String(body, StandardCharsets.UTF_8)));
+        }
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    public void testLargeResponse() throws Exception {
+        response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        ModelNode result = response.get(RESULT).setEmptyList();
+        for (int i = 0; i < 20000; i++) {
+            ModelNode entry = new ModelNode();
+            entry.get("name").set("entry-" + i);
+            entry.get("value").set("\u00e9t\u00e9 \"" + i + "\"");
+            result.add(entry);
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), "/").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        // A response larger than a buffer is streamed in chunks, as its length is not known when its headers are sent
+        assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        assertEquals(-1, connection.getContentLengthLong());
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(response, ModelNode.fromJSONString(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    public void testFailureAfterHeadersSent() throws Exception {
+        // Larger than what the socket buffers can hold while the client does not read
+        response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set("x".repeat(16 * 1024 * 1024));
+
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(address);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET / HTTP/1.1\r\nHost: " + address.getHostString() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String headers = readHeaders(socket.getInputStream());
+            assertTrue(headers, headers.startsWith("HTTP/1.1 200"));
+            assertTrue(headers, headers.toLowerCase(Locale.ENGLISH).contains("transfer-encoding: chunked"));
+            // Reset the connection while the response is being written
+            socket.setSoLinger(true, 0);
+        }
+
+        RuntimeException failure = failures.poll(30, TimeUnit.SECONDS);
+        assertNotNull(failure);
+        assertTrue(String.valueOf(failure.getCause()), failure.getCause() instanceof IOException);
+        // The status and headers were already sent, so the failure can only end the exchange
+        assertTrue(responsesStarted.take());
+
+        // The server still handles other requests
+        response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        HttpURLConnection connection = (HttpURLConnection) new URL("http", address.getHostString(), address.getPort(), "/").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(response, ModelNode.fromJSONString(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static String readHeaders(InputStream in) throws IOException {
+        ByteArrayOutputStream headers = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int b = in.read();
+            if (b == -1) {
+                throw new IOException("Unexpected end of the response headers: " + headers);
+            }
+            headers.write(b);
+            matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        return headers.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.Undertow;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link MetricsHandler}.
+ */
+public class MetricsHandlerTestCase {
+
+    @Test
+    public void testWrite() throws Exception {
+        ManagementResourceRegistration root = createRootRegistration();
+        ManagementResourceRegistration worker = registerChild(registerChild(root, PathElement.pathElement("subsystem", "io")),
+                PathElement.pathElement("worker"));
+        registerMetric(worker, "io-thread-count", ModelType.INT, null);
+        worker.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("task-max-threads", ModelType.INT).build(), null);
+        registerMetric(worker, "name", ModelType.STRING, null);
+        registerMetric(registerChild(registerChild(root, PathElement.pathElement("core-service", "platform-mbean")),
+                PathElement.pathElement("type", "memory")), "object-pending-finalization-count", ModelType.DOUBLE, null);
+
+        MetricsHandler.Metrics metrics = MetricsHandler.discover(root);
+        ModelNode steps = metrics.getReadOperation().get(STEPS);
+        assertEquals(2, steps.asList().size());
+        // The order of the registrations is not defined
+        int workerStep = PathAddress.pathAddress(steps.get(0).get(OP_ADDR)).size() == 2 ? 1 : 2;
+        assertEquals(PathAddress.pathAddress("subsystem", "io").append("worker", "*"), PathAddress.pathAddress(steps.get(workerStep - 1).get(OP_ADDR)));
+
+        ModelNode result = new ModelNode();
+        ModelNode workers = result.get("step-" + workerStep);
+        workers.get(OUTCOME).set(SUCCESS);
+        workers.get(RESULT).add(resourceResult(PathAddress.pathAddress("subsystem", "io").append("worker", "a\"b"), new ModelNode(4)));
+        workers.get(RESULT).add(resourceResult(PathAddress.pathAddress("subsystem", "io").append("worker", "undefined"), new ModelNode()));
+        ModelNode memory = result.get("step-" + (3 - workerStep));
+        memory.get(OUTCOME).set(SUCCESS);
+        memory.get(RESULT).set(Double.POSITIVE_INFINITY);
+
+        String workerFamily = "# TYPE wildfly_io_worker_io_thread_count gauge\n"
+                + "wildfly_io_worker_io_thread_count{worker=\"a\\\"b\"} 4\n";
+        String memoryFamily = "# TYPE wildfly_platform_mbean_memory_object_pending_finalization_count gauge\n"
+                + "wildfly_platform_mbean_memory_object_pending_finalization_count +Inf\n";
+        StringWriter writer = new StringWriter();
+        metrics.write(result, writer);
+        assertEquals((workerStep == 1 ? workerFamily + memoryFamily : memoryFamily + workerFamily) + "# EOF\n", writer.toString());
+
+        // Metrics that could not be read are left out
+        memory.get(OUTCOME).set(FAILED);
+        writer = new StringWriter();
+        metrics.write(result, writer);
+        assertEquals(workerFamily + "# EOF\n", writer.toString());
+    }
+
+    @Test
+    public void testCounter() throws Exception {
+        ManagementResourceRegistration root = createRootRegistration();
+        registerMetric(root, "request-count", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC);
+        MetricsHandler.Metrics metrics = MetricsHandler.discover(root);
+        ModelNode result = new ModelNode();
+        result.get("step-1", OUTCOME).set(SUCCESS);
+        result.get("step-1", RESULT).set(3L);
+
+        StringWriter writer = new StringWriter();
+        metrics.write(result, writer);
+        // The samples of a counter are suffixed with _total
+        assertEquals("# TYPE wildfly_request_count counter\n"
+                + "wildfly_request_count_total 3\n"
+                + "# EOF\n", writer.toString());
+
+        // Unless the name of the attribute already ends with it
+        root = createRootRegistration();
+        registerMetric(root, "requests-total", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC);
+        writer = new StringWriter();
+        MetricsHandler.discover(root).write(result, writer);
+        assertEquals("# TYPE wildfly_requests counter\n"
+                + "wildfly_requests_total 3\n"
+                + "# EOF\n", writer.toString());
+    }
+
+    @Test
+    public void testOverriddenRegistration() throws Exception {
+        ManagementResourceRegistration root = createRootRegistration();
+        registerMetric(registerChild(root, PathElement.pathElement("type")), "count", ModelType.LONG, null);
+        registerMetric(registerChild(root, PathElement.pathElement("type", "special")), "count", ModelType.LONG, null);
+
+        MetricsHandler.Metrics metrics = MetricsHandler.discover(root);
+        ModelNode steps = metrics.getReadOperation().get(STEPS);
+        int wildcardStep = PathAddress.pathAddress(steps.get(0).get(OP_ADDR)).getLastElement().isWildcard() ? 1 : 2;
+        ModelNode result = new ModelNode();
+        ModelNode wildcard = result.get("step-" + wildcardStep);
+        wildcard.get(OUTCOME).set(SUCCESS);
+        wildcard.get(RESULT).add(resourceResult(PathAddress.pathAddress("type", "plain"), new ModelNode(1L)));
+        wildcard.get(RESULT).add(resourceResult(PathAddress.pathAddress("type", "special"), new ModelNode(2L)));
+        ModelNode special = result.get("step-" + (3 - wildcardStep));
+        special.get(OUTCOME).set(SUCCESS);
+        special.get(RESULT).set(2L);
+
+        String wildcardFamily = "# TYPE wildfly_type_count gauge\n"
+                + "wildfly_type_count{type=\"plain\"} 1\n";
+        String specialFamily = "# TYPE wildfly_special_count gauge\n"
+                + "wildfly_special_count 2\n";
+        StringWriter writer = new StringWriter();
+        metrics.write(result, writer);
+        // The resource of the specific registration is only written once
+        assertEquals((wildcardStep == 1 ? wildcardFamily + specialFamily : specialFamily + wildcardFamily) + "# EOF\n",
+                writer.toString());
+    }
+
+    @Test
+    public void testHandleRequest() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        ModelController controller = (ModelController) Proxy.newProxyInstance(ModelController.class.getClassLoader(),
+                new Class<?>[]{ModelController.class}, (proxy, method, args) -> {
+                    reads.incrementAndGet();
+                    ModelNode response = new ModelNode();
+                    response.get(OUTCOME).set(SUCCESS);
+                    response.get(RESULT, "step-1", OUTCOME).set(SUCCESS);
+                    response.get(RESULT, "step-1", RESULT).set(5L);
+                    return OperationResponse.Factory.createSimple(response);
+                });
+        ManagementResourceRegistration root = createRootRegistration();
+        registerMetric(root, "count", ModelType.LONG, null);
+        MetricsHandler handler = new MetricsHandler(controller, root);
+        // Dispatched to a worker thread without starting blocking mode, which the handler does itself
+        Undertow server = Undertow.builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(exchange -> exchange.dispatch(handler))
+                .build();
+        server.start();
+        try {
+            InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+            URL url = new URL("http", address.getHostString(), address.getPort(), MetricsHandler.PATH);
+            for (int i = 0; i < 2; i++) {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                assertEquals(200, connection.getResponseCode());
+                assertEquals("application/openmetrics-text; version=1.0.0; charset=utf-8", connection.getContentType());
+                try (InputStream in = connection.getInputStream()) {
+                    assertEquals("# TYPE wildfly_count gauge\nwildfly_count 5\n# EOF\n",
+                            new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            // Each scrape executes a single operation, the metrics being discovered from the registrations
+            assertEquals(2, reads.get());
+
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            assertEquals(405, connection.getResponseCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static ManagementResourceRegistration createRootRegistration() {
+        return ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+    }
+
+    private static ManagementResourceRegistration registerChild(ManagementResourceRegistration parent, PathElement path) {
+        return parent.registerSubModel(new SimpleResourceDefinition(path, NonResolvingResourceDescriptionResolver.INSTANCE));
+    }
+
+    private static void registerMetric(ManagementResourceRegistration registration, String name, ModelType type, AttributeAccess.Flag flag) {
+        SimpleAttributeDefinitionBuilder builder = new SimpleAttributeDefinitionBuilder(name, type).setStorageRuntime();
+        if (flag != null) {
+            builder.addFlag(flag);
+        }
+        registration.registerMetric(builder.build(), (context, operation) -> { });
+    }
+
+    private static ModelNode resourceResult(PathAddress address, ModelNode value) {
+        ModelNode result = new ModelNode();
+        result.get(ADDRESS).set(address.toModelNode());
+        result.get(OUTCOME).set(SUCCESS);
+        result.get(RESULT).set(value);
+        return result;
+    }
+}
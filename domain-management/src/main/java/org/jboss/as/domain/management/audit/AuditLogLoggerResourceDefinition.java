@@ -22,11 +22,15 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
@@ -55,7 +59,55 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
             .setAllowExpression(true)
             .setDefaultValue(ModelNode.TRUE).build();
 
-    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
+    public static final SimpleAttributeDefinition ASYNC = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.ASYNC, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition QUEUE_LENGTH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_LENGTH, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1024))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition OVERFLOW_POLICY = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.OVERFLOW_POLICY, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(ManagedAuditLogger.OverflowPolicy.BLOCK.toString()))
+            .setValidator(EnumValidator.create(ManagedAuditLogger.OverflowPolicy.class))
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_DEPTH, ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition DISCARDED_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.DISCARDED_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_QUEUE_LATENCY = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.AVERAGE_QUEUE_LATENCY, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_QUEUE_LATENCY = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.MAX_QUEUE_LATENCY, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED, ASYNC, QUEUE_LENGTH, OVERFLOW_POLICY);
+
+    private static final List<SimpleAttributeDefinition> ASYNC_ATTRIBUTES = Arrays.asList(ASYNC, QUEUE_LENGTH, OVERFLOW_POLICY);
 
     private final ManagedAuditLogger auditLogger;
 
@@ -81,6 +133,18 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+
+        final OperationStepHandler asyncWriteHandler = new AuditLogAsyncWriteAttributeHandler(auditLogger);
+        for (AttributeDefinition attr : ASYNC_ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attr, null, asyncWriteHandler);
+        }
+
+        if (auditLogger != null) {
+            resourceRegistration.registerMetric(QUEUE_DEPTH, (context, operation) -> context.getResult().set(auditLogger.getQueueDepth()));
+            resourceRegistration.registerMetric(DISCARDED_COUNT, (context, operation) -> context.getResult().set(auditLogger.getDiscardedCount()));
+            resourceRegistration.registerMetric(AVERAGE_QUEUE_LATENCY, (context, operation) -> context.getResult().set(auditLogger.getAverageQueueLatency()));
+            resourceRegistration.registerMetric(MAX_QUEUE_LATENCY, (context, operation) -> context.getResult().set(auditLogger.getMaxQueueLatency()));
+        }
     }
 
     @Override
@@ -134,8 +198,10 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
                         auditLoggerProvider.setLogReadOnly(AuditLogLoggerResourceDefinition.LOG_READ_ONLY.resolveModelAttribute(context, model).asBoolean());
                         boolean enabled = AuditLogLoggerResourceDefinition.ENABLED.resolveModelAttribute(context, model).asBoolean();
                         final AuditLogger.Status status = enabled ? AuditLogger.Status.LOGGING : AuditLogger.Status.DISABLED;
+                        final AsyncConfiguration async = AsyncConfiguration.resolve(context, model);
                         context.completeStep((OperationContext.ResultAction resultAction, OperationContext context1, ModelNode operation1) -> {
                             if(resultAction == OperationContext.ResultAction.KEEP) {
+                                async.apply(auditLoggerProvider);
                                 auditLoggerProvider.setLoggerStatus(status);
                             } else {
                                 auditLoggerProvider.setLogReadOnly(wasReadOnly);
@@ -247,4 +313,60 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AuditLogAsyncWriteAttributeHandler extends AbstractWriteAttributeHandler<AsyncConfiguration> {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AuditLogAsyncWriteAttributeHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return auditLogger != null;
+        }
+
+        @Override
+        protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                               ModelNode resolvedValue, ModelNode currentValue,
+                                               HandbackHolder<AsyncConfiguration> handbackHolder) throws OperationFailedException {
+            final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+            final ModelNode previous = model.clone();
+            previous.get(attributeName).set(currentValue);
+            handbackHolder.setHandback(AsyncConfiguration.resolve(context, previous));
+            AsyncConfiguration.resolve(context, model).apply(auditLogger);
+            return false;
+        }
+
+        @Override
+        protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName,
+                                             ModelNode valueToRestore, ModelNode valueToRevert, AsyncConfiguration handback) throws OperationFailedException {
+            handback.apply(auditLogger);
+        }
+    }
+
+    /**
+     * The resolved values of the attributes configuring asynchronous writing of audit log records.
+     */
+    private static final class AsyncConfiguration {
+        private final boolean async;
+        private final int queueLength;
+        private final ManagedAuditLogger.OverflowPolicy overflowPolicy;
+
+        private AsyncConfiguration(boolean async, int queueLength, ManagedAuditLogger.OverflowPolicy overflowPolicy) {
+            this.async = async;
+            this.queueLength = queueLength;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        static AsyncConfiguration resolve(OperationContext context, ModelNode model) throws OperationFailedException {
+            return new AsyncConfiguration(ASYNC.resolveModelAttribute(context, model).asBoolean(),
+                    QUEUE_LENGTH.resolveModelAttribute(context, model).asInt(),
+                    ManagedAuditLogger.OverflowPolicy.valueOf(OVERFLOW_POLICY.resolveModelAttribute(context, model).asString()));
+        }
+
+        void apply(ManagedAuditLogger auditLogger) {
+            auditLogger.setAsyncConfiguration(async, queueLength, overflowPolicy);
+        }
+    }
 }
@@ -12,13 +12,25 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_COMPLETE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationStatistics;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@code ResourceDefinition} for the management of operation execution.
@@ -35,6 +47,24 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     private static final NotificationDefinition NOTIFICATION_COMPLETE_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_COMPLETE, RESOLVER).build();
     private static final NotificationDefinition NOTIFICATION_BOOT_COMPLETE = NotificationDefinition.Builder.create(BOOT_COMPLETE_NOTIFICATION, RESOLVER).build();
 
+    private static final ObjectTypeAttributeDefinition OPERATION_STATISTICS_ELEMENT = ObjectTypeAttributeDefinition.Builder.of(ModelDescriptionConstants.OPERATION_STATISTICS,
+            SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.OP, ModelType.STRING).build(),
+            SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.ADDRESS, ModelType.STRING).build(),
+            SimpleAttributeDefinitionBuilder.create(OperationStatistics.PHASE, ModelType.STRING).build(),
+            SimpleAttributeDefinitionBuilder.create(OperationStatistics.COUNT, ModelType.LONG).build(),
+            timeAttribute(OperationStatistics.TOTAL_TIME),
+            timeAttribute(OperationStatistics.MAX_TIME),
+            timeAttribute(OperationStatistics.MEDIAN_TIME),
+            timeAttribute(OperationStatistics.PERCENTILE_90_TIME),
+            timeAttribute(OperationStatistics.PERCENTILE_99_TIME))
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition OPERATION_STATISTICS = ObjectListAttributeDefinition.Builder.of(ModelDescriptionConstants.OPERATION_STATISTICS, OPERATION_STATISTICS_ELEMENT)
+            .setStorageRuntime()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
     public static final ResourceDefinition INSTANCE = new ManagementControllerResourceDefinition();
 
     private ManagementControllerResourceDefinition() {
@@ -43,11 +73,28 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         );
     }
 
+    private static AttributeDefinition timeAttribute(String name) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .build();
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(OPERATION_STATISTICS, (context, operation) -> {
+            Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS);
+            context.getResult().set(resource instanceof OperationStatistics
+                    ? ((OperationStatistics) resource).getOperationStatistics() : new ModelNode().setEmptyList());
+        });
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(FindNonProgressingOperationHandler.DEFINITION, FindNonProgressingOperationHandler.INSTANCE);
         resourceRegistration.registerOperationHandler(CancelNonProgressingOperationHandler.DEFINITION, CancelNonProgressingOperationHandler.INSTANCE);
+        resourceRegistration.registerOperationHandler(ResetOperationStatisticsHandler.DEFINITION, ResetOperationStatisticsHandler.INSTANCE);
     }
 
     @Override
@@ -0,0 +1,52 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.domain.management.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStatistics;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * {@link org.jboss.as.controller.OperationStepHandler} that discards the
+ * {@link ManagementControllerResourceDefinition#OPERATION_STATISTICS operation statistics} recorded so far.
+ */
+public class ResetOperationStatisticsHandler implements OperationStepHandler {
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder("reset-operation-statistics",
+            DomainManagementResolver.getResolver(CORE, MANAGEMENT_OPERATIONS))
+            .withFlag(OperationEntry.Flag.HOST_CONTROLLER_ONLY)
+            .setRuntimeOnly()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    static final OperationStepHandler INSTANCE = new ResetOperationStatisticsHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS);
+                if (resource instanceof OperationStatistics) {
+                    ((OperationStatistics) resource).resetOperationStatistics();
+                }
+                context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
@@ -6,6 +6,7 @@ package org.jboss.as.domain.management.parsing;
 
 import java.util.List;
 import javax.xml.stream.XMLStreamException;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.IntVersion;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
@@ -17,6 +18,10 @@ import org.jboss.staxmapper.XMLExtendedStreamWriter;
  */
 public interface AuditLogXml {
     static AuditLogXml newInstance(IntVersion version, boolean host) {
+        return newInstance(version, host, Stability.DEFAULT);
+    }
+
+    static AuditLogXml newInstance(IntVersion version, boolean host, Stability stability) {
         switch (version.major()) {
             case 1:
             case 2:
@@ -25,7 +30,7 @@ public interface AuditLogXml {
             case 4:
                 return new AuditLogXml_4(host);
             default:
-                return new AuditLogXml_5(host);
+                return new AuditLogXml_5(host, stability);
         }
     }
 
@@ -44,6 +44,7 @@ import org.jboss.as.domain.management.audit.SizeRotatingFileAuditLogHandlerResou
 import org.jboss.as.domain.management.audit.SyslogAuditLogHandlerResourceDefinition;
 import org.jboss.as.domain.management.audit.SyslogAuditLogProtocolResourceDefinition;
 import org.jboss.as.domain.management.logging.DomainManagementLogger;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
@@ -54,9 +55,11 @@ import org.jboss.staxmapper.XMLExtendedStreamWriter;
  */
 final class AuditLogXml_5 implements AuditLogXml {
     final boolean host;
+    private final Stability stability;
 
-    AuditLogXml_5(boolean host) {
+    AuditLogXml_5(boolean host, Stability stability) {
         this.host = host;
+        this.stability = stability;
     }
 
     private void parseFileAuditLogHandler(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> list) throws XMLStreamException {
@@ -606,6 +609,27 @@ final class AuditLogXml_5 implements AuditLogXml {
                     AuditLogLoggerResourceDefinition.ENABLED.parseAndSetParameter(value, add, reader);
                     break;
                 }
+                case ASYNC: {
+                    if (stability.enables(Stability.COMMUNITY)) {
+                        AuditLogLoggerResourceDefinition.ASYNC.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
+                case QUEUE_LENGTH: {
+                    if (stability.enables(Stability.COMMUNITY)) {
+                        AuditLogLoggerResourceDefinition.QUEUE_LENGTH.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
+                case OVERFLOW_POLICY: {
+                    if (stability.enables(Stability.COMMUNITY)) {
+                        AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    throw unexpectedAttribute(reader, i);
+                }
                 default: {
                     throw unexpectedAttribute(reader, i);
                 }
@@ -766,6 +790,11 @@ final class AuditLogXml_5 implements AuditLogXml {
             AuditLogLoggerResourceDefinition.LOG_BOOT.marshallAsAttribute(config, writer);
             AuditLogLoggerResourceDefinition.LOG_READ_ONLY.marshallAsAttribute(config, writer);
             AuditLogLoggerResourceDefinition.ENABLED.marshallAsAttribute(config, writer);
+            if (stability.enables(Stability.COMMUNITY)) {
+                AuditLogLoggerResourceDefinition.ASYNC.marshallAsAttribute(config, writer);
+                AuditLogLoggerResourceDefinition.QUEUE_LENGTH.marshallAsAttribute(config, writer);
+                AuditLogLoggerResourceDefinition.OVERFLOW_POLICY.marshallAsAttribute(config, writer);
+            }
             if (config.hasDefined(ModelDescriptionConstants.HANDLER) && !config.get(ModelDescriptionConstants.HANDLER).keys().isEmpty()) {
                 writer.writeStartElement(Element.HANDLERS.getLocalName());
                 for (String name : config.get(ModelDescriptionConstants.HANDLER).keys()) {
@@ -254,7 +254,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
         final ConcurrentMap<String, ProxyController> hostProxies = new ConcurrentHashMap<String, ProxyController>();
         final Map<String, ProxyController> serverProxies = new ConcurrentHashMap<String, ProxyController>();
         final LocalHostControllerInfoImpl hostControllerInfo = new LocalHostControllerInfoImpl(processState, environment);
-        final ContentRepository contentRepository = ContentRepository.Factory.create(environment.getDomainContentDir(), environment.getDomainTempDir());
+        final ContentRepository contentRepository = ContentRepository.Factory.createUnchunked(environment.getDomainContentDir(), environment.getDomainTempDir());
         ContentRepository.Factory.addService(serviceTarget, contentRepository);
         final IgnoredDomainResourceRegistry ignoredRegistry = new IgnoredDomainResourceRegistry(hostControllerInfo);
         final ManagedAuditLogger auditLogger = createAuditLogger(environment);
@@ -137,7 +137,7 @@ final class HostXml_20 extends CommonXml implements ManagementXmlDelegate {
         super(new SocketBindingsXml.HostSocketBindingsXml());
         this.namespace = namespace.getUri();
         this.version = namespace.getVersion();
-        this.auditLogDelegate = AuditLogXml.newInstance(version, true);
+        this.auditLogDelegate = AuditLogXml.newInstance(version, true, namespace.getStability());
         this.defaultHostControllerName = defaultHostControllerName;
         this.runningMode = runningMode;
         this.isCachedDc = isCachedDC;
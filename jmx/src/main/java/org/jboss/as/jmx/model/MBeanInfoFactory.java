@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYP
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -41,10 +42,11 @@ import java.util.Set;
 import javax.management.AttributeChangeNotification;
 import javax.management.Descriptor;
 import javax.management.ImmutableDescriptor;
-import javax.management.InstanceNotFoundException;
+import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanNotificationInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
 import javax.management.Notification;
 import javax.management.ObjectName;
 import javax.management.openmbean.OpenMBeanAttributeInfo;
@@ -94,29 +96,86 @@ public class MBeanInfoFactory {
     private static final String DESC_EXPRESSIONS_ALLOWED_DESC = "expressions.allowed.description";
 
     private static final OpenMBeanParameterInfo[] EMPTY_PARAMETERS = new OpenMBeanParameterInfo[0];
-    private final ObjectName name;
     private final TypeConverters converters;
-    private final ConfiguredDomains configuredDomains;
     private final MutabilityChecker mutabilityChecker;
     private final ImmutableManagementResourceRegistration resourceRegistration;
     private final ModelNode providedDescription;
     private final PathAddress pathAddress;
     private final boolean legacy;
 
-    private MBeanInfoFactory(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
-        this.name = name;
+    private MBeanInfoFactory(final boolean legacy, final TypeConverters converters, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
         this.converters = converters;
-        this.configuredDomains = configuredDomains;
         this.mutabilityChecker = mutabilityChecker;
-        this.legacy = configuredDomains.isLegacyDomain(name);
+        this.legacy = legacy;
         this.resourceRegistration = resourceRegistration;
         DescriptionProvider provider = resourceRegistration.getModelDescription(PathAddress.EMPTY_ADDRESS);
         providedDescription = provider != null ? provider.getModelDescription(null) : new ModelNode();
         this.pathAddress = address;
     }
 
-    static MBeanInfo createMBeanInfo(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) throws InstanceNotFoundException{
-        return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
+    /**
+     * Creates the part of the MBeanInfo of a resource that only depends on its registration, and so can be shared by
+     * all the resources registered by it. This is all of it but the name of the alternate MBean of the resource in the
+     * other JMX domain, which {@link #createMBeanInfo(MBeanInfo, ObjectName, ConfiguredDomains)} adds.
+     *
+     * @param legacy {@code true} if the MBeanInfo is for the legacy JMX domain
+     * @param address the address of one of the resources registered by the registration
+     */
+    static MBeanInfo createRegistrationMBeanInfo(final boolean legacy, final TypeConverters converters, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) {
+        return new MBeanInfoFactory(legacy, converters, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
+    }
+
+    /**
+     * Completes the MBeanInfo shared by the resources of a registration with the name of the alternate MBean of a
+     * resource.
+     *
+     * @param registrationInfo the MBeanInfo created by {@link #createRegistrationMBeanInfo}
+     * @param name the name of the resource's MBean
+     */
+    static MBeanInfo createMBeanInfo(final MBeanInfo registrationInfo, final ObjectName name, final ConfiguredDomains configuredDomains) {
+        final ObjectName alternate = configuredDomains.getMirroredObjectName(name);
+        if (alternate == null) {
+            return registrationInfo;
+        }
+        final Map<String, String> descriptions = new HashMap<String, String>();
+        descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
+        descriptions.put(DESC_ALTERNATE_MBEAN_DESCR, configuredDomains.isLegacyDomain(name) ?
+                JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanExpressions(alternate) : JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanLegacy(alternate));
+        final Descriptor alternateDescriptor = new ImmutableDescriptor(descriptions);
+
+        final MBeanAttributeInfo[] attributes = registrationInfo.getAttributes();
+        final OpenMBeanAttributeInfo[] attributeInfos = new OpenMBeanAttributeInfo[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            OpenMBeanAttributeInfo attribute = (OpenMBeanAttributeInfo) attributes[i];
+            attributeInfos[i] = new OpenMBeanAttributeInfoSupport(
+                    attribute.getName(),
+                    attribute.getDescription(),
+                    attribute.getOpenType(),
+                    attribute.isReadable(),
+                    attribute.isWritable(),
+                    attribute.isIs(),
+                    ImmutableDescriptor.union(attributes[i].getDescriptor(), alternateDescriptor));
+        }
+        final MBeanOperationInfo[] operations = registrationInfo.getOperations();
+        final OpenMBeanOperationInfo[] operationInfos = new OpenMBeanOperationInfo[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            OpenMBeanOperationInfo operation = (OpenMBeanOperationInfo) operations[i];
+            MBeanParameterInfo[] signature = operation.getSignature();
+            operationInfos[i] = new OpenMBeanOperationInfoSupport(
+                    operation.getName(),
+                    operation.getDescription(),
+                    Arrays.copyOf(signature, signature.length, OpenMBeanParameterInfo[].class),
+                    operation.getReturnOpenType(),
+                    operation.getImpact(),
+                    ImmutableDescriptor.union(operations[i].getDescriptor(), alternateDescriptor));
+        }
+        return new OpenMBeanInfoSupport(registrationInfo.getClassName(),
+                registrationInfo.getDescription(),
+                attributeInfos,
+                null,
+                operationInfos,
+                registrationInfo.getNotifications(),
+                ImmutableDescriptor.union(registrationInfo.getDescriptor(), alternateDescriptor));
     }
 
     private MBeanInfo createMBeanInfo() {
@@ -392,22 +451,13 @@ public class MBeanInfoFactory {
     }
 
     private void addMBeanExpressionSupport(Map<String, String> descriptions) {
+        // The alternate MBean is added per resource by createMBeanInfo(MBeanInfo, ObjectName, ConfiguredDomains)
         if (legacy) {
             descriptions.put(DESC_MBEAN_EXPR, "true");
             descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportFalse());
-            if (configuredDomains.getExprDomain() != null) {
-                ObjectName alternate = configuredDomains.getMirroredObjectName(name);
-                descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
-                descriptions.put(DESC_ALTERNATE_MBEAN_DESCR, JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanExpressions(alternate));
-            }
         } else {
             descriptions.put(DESC_MBEAN_EXPR, "false");
             descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportTrue());
-            if (configuredDomains.getLegacyDomain() != null) {
-                ObjectName alternate = configuredDomains.getMirroredObjectName(name);
-                descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
-                descriptions.put(DESC_ALTERNATE_MBEAN_DESCR, JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanLegacy(alternate));
-            }
         }
     }
 }
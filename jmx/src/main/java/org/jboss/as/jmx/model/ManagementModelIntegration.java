@@ -8,6 +8,7 @@ package org.jboss.as.jmx.model;
 import org.jboss.as.controller.ManagementModel;
 import org.jboss.as.controller.ModelControllerServiceInitialization;
 import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.registry.DescriptionCache;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.msc.service.Service;
@@ -62,6 +63,15 @@ public class ManagementModelIntegration implements ModelControllerServiceInitial
         ImmutableManagementResourceRegistration getRegistration() {
             return managementModel.getRootResourceRegistration();
         }
+
+        /**
+         * @return a value that changes whenever the resource registrations change, or {@code -1} if changes cannot be
+         * tracked
+         */
+        long getRegistrationGeneration() {
+            DescriptionCache cache = managementModel.getRootResourceRegistration().getDescriptionCache();
+            return cache != null ? cache.getGeneration() : -1;
+        }
     }
 
     public final class ManagementModelProvider implements Service<ManagementModelProvider> {
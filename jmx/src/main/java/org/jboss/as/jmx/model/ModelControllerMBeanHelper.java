@@ -7,6 +7,7 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -16,6 +17,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
@@ -53,6 +55,7 @@ import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.jmx.logging.JmxLogger;
 import org.jboss.as.jmx.model.ChildAddOperationFinder.ChildAddOperationEntry;
@@ -81,6 +84,8 @@ public class ModelControllerMBeanHelper {
     private final TypeConverters converters;
     private final ConfiguredDomains configuredDomains;
     private final String domain;
+    private final boolean legacy;
+    private final ResourceMBeanCache cache;
     private final ObjectInstance rootObjectInstance;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
 
@@ -90,6 +95,8 @@ public class ModelControllerMBeanHelper {
         this.converters = converters;
         this.configuredDomains = configuredDomains;
         this.domain = domain;
+        this.legacy = domain.equals(configuredDomains.getLegacyDomain());
+        this.cache = new ResourceMBeanCache(domain);
         this.controller = controller;
         this.accessControlUtil = new ResourceAccessControlUtil(controller);
         this.mutabilityChecker = mutabilityChecker;
@@ -127,8 +134,9 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectInstance> queryMBeans(final MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
+        final Resource root = getRootResourceAndRegistration().getResource();
+        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, root,
+                new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name, root) {
 
             Set<ObjectInstance> set = new HashSet<ObjectInstance>();
 
@@ -171,8 +179,9 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectName> queryNames(MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
+        final Resource root = getRootResourceAndRegistration().getResource();
+        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, root,
+                new ObjectNameMatchResourceAction<Set<ObjectName>>(name, root) {
 
             Set<ObjectName> set = new HashSet<ObjectName>();
 
@@ -251,7 +260,10 @@ public class ModelControllerMBeanHelper {
         }
         // Ensure the resource is addressable; fail if not
         accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        // The MBeanInfo only depends on the registration: the mutability checkers do not depend on the address
+        MBeanInfo registrationInfo = cache.getMBeanInfo(reg.getRegistrationGeneration(), getMBeanRegistration(address, reg),
+                registration -> MBeanInfoFactory.createRegistrationMBeanInfo(legacy, converters, mutabilityChecker, address, registration));
+        return MBeanInfoFactory.createMBeanInfo(registrationInfo, name, configuredDomains);
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -272,12 +284,40 @@ public class ModelControllerMBeanHelper {
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
         AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
+        if (attributes.length == 0) {
+            return list;
+        }
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final Map<String, AttributeAccess> registeredAttributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
+        final String[] attributeNames = new String[attributes.length];
+        // Read all the attributes in a single composite operation, rather than executing an operation per attribute
+        ModelNode op = new ModelNode();
+        op.get(OP).set(COMPOSITE);
+        op.get(OP_ADDR).setEmptyList();
+        ModelNode steps = op.get(STEPS).setEmptyList();
+        for (int i = 0; i < attributes.length; i++) {
             try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, attribute, accessControl)));
+                attributeNames[i] = getReadableAttributeName(registeredAttributes, attributes[i], accessControl);
             } catch (AttributeNotFoundException e) {
                 throw new ReflectionException(e);
             }
+            steps.add(createReadAttributeOperation(address, attributeNames[i]));
+        }
+        ModelNode result = execute(op);
+        boolean failed = getFailureDescription(result) != null;
+        for (int i = 0; i < attributes.length; i++) {
+            ModelNode stepResult = result.get(RESULT, "step-" + (i + 1));
+            String error = getFailureDescription(stepResult);
+            if (error != null) {
+                throw new ReflectionException(new AttributeNotFoundException(error));
+            }
+            if (!failed) {
+                list.add(new Attribute(attributes[i], getAttributeValue(registration, registeredAttributes, attributeNames[i], stepResult)));
+            }
+        }
+        if (failed) {
+            // The composite operation failed as a whole, e.g. on a timeout, rather than on reading an attribute
+            throw new ReflectionException(new AttributeNotFoundException(getFailureDescription(result)));
         }
         return list;
     }
@@ -285,22 +325,33 @@ public class ModelControllerMBeanHelper {
     private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final Map<String, AttributeAccess> attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
-        final String attributeName = findAttributeName(attributes.keySet(), attribute);
+        final String attributeName = getReadableAttributeName(attributes, attribute, accessControl);
 
+        ModelNode result = execute(createReadAttributeOperation(address, attributeName));
+        String error = getFailureDescription(result);
+        if (error != null) {
+            throw new AttributeNotFoundException(error);
+        }
+        return getAttributeValue(registration, attributes, attributeName, result);
+    }
+
+    private String getReadableAttributeName(final Map<String, AttributeAccess> attributes, final String attribute, final ResourceAccessControl accessControl) throws AttributeNotFoundException {
+        final String attributeName = findAttributeName(attributes.keySet(), attribute);
         if (!accessControl.isReadableAttribute(attributeName)) {
             throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeName);
         }
+        return attributeName;
+    }
 
-
+    private static ModelNode createReadAttributeOperation(final PathAddress address, final String attributeName) {
         ModelNode op = new ModelNode();
         op.get(OP).set(READ_ATTRIBUTE_OPERATION);
         op.get(OP_ADDR).set(address.toModelNode());
         op.get(NAME).set(attributeName);
-        ModelNode result = execute(op);
-        String error = getFailureDescription(result);
-        if (error != null) {
-            throw new AttributeNotFoundException(error);
-        }
+        return op;
+    }
+
+    private Object getAttributeValue(final ImmutableManagementResourceRegistration registration, final Map<String, AttributeAccess> attributes, final String attributeName, final ModelNode result) {
         ModelNode attrDesc = getAttributeDescription(attributeName, registration, attributes);
         return converters.fromModelNode(attributes.get(attributeName).getAttributeDefinition(), attrDesc, result.get(RESULT));
     }
@@ -629,9 +680,11 @@ public class ModelControllerMBeanHelper {
         private final ObjectName domainOnlyName;
         private final boolean propertyListPattern;
         private final ObjectNameAddressUtil.ObjectNameCreationContext creationContext = ObjectNameAddressUtil.ObjectNameCreationContext.create();
+        private final Resource root;
 
-        ObjectNameMatchResourceAction(ObjectName baseName) {
+        ObjectNameMatchResourceAction(ObjectName baseName, Resource root) {
             this.baseName = baseName;
+            this.root = root;
             this.properties = baseName == null ? Collections.<String, String>emptyMap() : baseName.getKeyPropertyList();
             try {
                 this.domainOnlyName = baseName == null ? null : ObjectName.getInstance(baseName.getDomain() + ":*");
@@ -648,7 +701,7 @@ public class ModelControllerMBeanHelper {
             }
 
             ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address, creationContext);
+            ObjectName toMatch = cache.getObjectName(root, address, creationContext);
             if (baseName == null) {
                 result = toMatch;
             } else if (address.size() == 0) {
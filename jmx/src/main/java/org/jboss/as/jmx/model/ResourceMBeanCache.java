@@ -0,0 +1,104 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Caches what the model controller MBeans of a JMX domain derive from the management model, so that queries and
+ * {@code getMBeanInfo} calls on large models do not rebuild it for every resource each time.
+ * <ul>
+ *     <li>The {@link ObjectName} of each resource address. It only depends on the address, so the entries are never
+ *     stale, but they are dropped whenever the root resource is replaced, i.e. on every model change, so that the names
+ *     of removed resources do not accumulate.</li>
+ *     <li>The {@link MBeanInfo} of each resource registration, without the name-specific parts. These are dropped
+ *     whenever the generation of the registrations changes.</li>
+ * </ul>
+ */
+final class ResourceMBeanCache {
+
+    // Bounds the names kept for a model that is never changed, but whose dynamic runtime resources come and go
+    static final int MAX_OBJECT_NAMES = 100_000;
+
+    private final String domain;
+    // Each of these is replaced as a whole once stale, rather than cleared, so that concurrent callers never mix entries
+    private volatile ObjectNames objectNames = new ObjectNames(null);
+    private volatile MBeanInfos mbeanInfos = new MBeanInfos(-1);
+
+    ResourceMBeanCache(String domain) {
+        this.domain = domain;
+    }
+
+    /**
+     * Gets the ObjectName of a resource address.
+     *
+     * @param root the current root resource of the model
+     * @param address the address of the resource
+     * @param context the context used to create the name if not cached
+     * @return the name
+     */
+    ObjectName getObjectName(Resource root, PathAddress address, ObjectNameAddressUtil.ObjectNameCreationContext context) {
+        ObjectNames names = this.objectNames;
+        if (names.root != root || names.names.size() >= MAX_OBJECT_NAMES) {
+            names = new ObjectNames(root);
+            this.objectNames = names;
+        }
+        ObjectName name = names.names.get(address);
+        if (name == null) {
+            name = ObjectNameAddressUtil.createObjectName(domain, address, context);
+            names.names.put(address, name);
+        }
+        return name;
+    }
+
+    /**
+     * Gets the MBeanInfo of a resource registration.
+     *
+     * @param generation the current generation of the registrations, or {@code -1} if not known, in which case nothing
+     *                   is cached. Neither are the registrations of proxied resources, which are created on demand.
+     * @param registration the registration of the resource
+     * @param factory creates the MBeanInfo if not cached
+     * @return the MBeanInfo
+     */
+    MBeanInfo getMBeanInfo(long generation, ImmutableManagementResourceRegistration registration,
+                           Function<ImmutableManagementResourceRegistration, MBeanInfo> factory) {
+        if (generation < 0 || registration.isRemote()) {
+            return factory.apply(registration);
+        }
+        MBeanInfos infos = this.mbeanInfos;
+        if (infos.generation != generation) {
+            infos = new MBeanInfos(generation);
+            this.mbeanInfos = infos;
+        }
+        return infos.infos.computeIfAbsent(registration, factory);
+    }
+
+    private static final class ObjectNames {
+        private final Resource root;
+        private final Map<PathAddress, ObjectName> names = new ConcurrentHashMap<>();
+
+        ObjectNames(Resource root) {
+            this.root = root;
+        }
+    }
+
+    private static final class MBeanInfos {
+        private final long generation;
+        private final Map<ImmutableManagementResourceRegistration, MBeanInfo> infos = new ConcurrentHashMap<>();
+
+        MBeanInfos(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 import javax.management.Query;
 import javax.management.QueryExp;
+import javax.management.ReflectionException;
 import javax.management.RuntimeOperationsException;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
@@ -587,6 +588,29 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         Assert.assertEquals(BigDecimal.valueOf(2.0), compositeData.get("bigdecimal-value"));
     }
 
+    @Test
+    public void testGetAttributesStandalone() throws Exception {
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.STANDALONE_SERVER, new TestExtension()));
+
+        ObjectName name = createObjectName(LEGACY_DOMAIN + ":subsystem=test");
+        AttributeList list = connection.getAttributes(name, new String[] {"roInt", "undefinedInt", "string", "long"});
+        Assert.assertEquals(4, list.size());
+        List<Attribute> attributes = list.asList();
+        Assert.assertEquals("roInt", attributes.get(0).getName());
+        Assert.assertEquals(1, assertCast(Integer.class, attributes.get(0).getValue()).intValue());
+        Assert.assertNull(attributes.get(1).getValue());
+        Assert.assertEquals("8", assertCast(String.class, attributes.get(2).getValue()));
+        Assert.assertEquals(10L, assertCast(Long.class, attributes.get(3).getValue()).longValue());
+
+        Assert.assertTrue(connection.getAttributes(name, new String[0]).isEmpty());
+        try {
+            connection.getAttributes(name, new String[] {"roInt", "unknown"});
+            Assert.fail("unknown is not an attribute");
+        } catch (ReflectionException expected) {
+            //expected
+        }
+    }
+
     @Test
     public void testReadWriteAttributeDomain() throws Exception {
         MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.DOMAIN_SERVER, new TestExtension()));
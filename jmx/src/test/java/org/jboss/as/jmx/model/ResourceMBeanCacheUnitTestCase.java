@@ -0,0 +1,72 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ResourceMBeanCache}.
+ */
+public class ResourceMBeanCacheUnitTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+
+    private final ResourceMBeanCache cache = new ResourceMBeanCache(DOMAIN);
+
+    @Test
+    public void testObjectNames() {
+        Resource root = Resource.Factory.create();
+        PathAddress address = PathAddress.pathAddress(pathElement("subsystem", "test"), pathElement("child", "a b"));
+        ObjectName name = cache.getObjectName(root, address, ObjectNameAddressUtil.ObjectNameCreationContext.create());
+        assertEquals(ObjectNameAddressUtil.createObjectName(DOMAIN, address), name);
+        assertSame(name, cache.getObjectName(root, address, ObjectNameAddressUtil.ObjectNameCreationContext.create()));
+
+        // A new model drops the names of the previous one
+        Resource changed = Resource.Factory.create();
+        ObjectName renamed = cache.getObjectName(changed, address, ObjectNameAddressUtil.ObjectNameCreationContext.create());
+        assertEquals(name, renamed);
+        assertNotSame(name, renamed);
+    }
+
+    @Test
+    public void testMBeanInfos() {
+        ManagementResourceRegistration registration = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(new SimpleResourceDefinition(null, NonResolvingResourceDescriptionResolver.INSTANCE));
+        AtomicInteger created = new AtomicInteger();
+        MBeanInfo info = cache.getMBeanInfo(1, registration, r -> createMBeanInfo(created));
+        assertSame(info, cache.getMBeanInfo(1, registration, r -> createMBeanInfo(created)));
+        assertEquals(1, created.get());
+
+        // A change to the registrations drops the cached MBeanInfos
+        assertNotSame(info, cache.getMBeanInfo(2, registration, r -> createMBeanInfo(created)));
+        assertEquals(2, created.get());
+
+        // Nothing is cached if the changes to the registrations cannot be tracked
+        cache.getMBeanInfo(-1, registration, r -> createMBeanInfo(created));
+        cache.getMBeanInfo(-1, registration, r -> createMBeanInfo(created));
+        assertEquals(4, created.get());
+    }
+
+    private static MBeanInfo createMBeanInfo(AtomicInteger created) {
+        created.incrementAndGet();
+        return new MBeanInfo(ModelControllerMBeanHelper.CLASS_NAME, null, null, null, null, null);
+    }
+}
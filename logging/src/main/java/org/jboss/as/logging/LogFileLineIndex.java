@@ -0,0 +1,123 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A sparse index of the lines of a log file, which lets the {@code read-log-file} operation seek close to the lines it
+ * reads rather than reading all the lines before them.
+ * <p/>
+ * The offset of every {@value #STRIDE}th line is recorded. The index is extended with the content appended to the file
+ * since it was last updated, and rebuilt when the file is rotated, i.e. replaced or truncated.
+ * <p/>
+ * Lines are terminated as {@link java.io.BufferedReader#readLine()} terminates them, by a line feed, a carriage return
+ * or both, so the index can only be used for the encodings in which these are single bytes.
+ */
+final class LogFileLineIndex {
+
+    static final int STRIDE = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] TERMINATORS = {'\n', '\r'};
+
+    private Object fileKey;
+    private FileTime creationTime;
+    private long[] offsets = new long[16];
+    // The number of lines terminated in the indexed content, and the length of that content
+    private long terminatedLines;
+    private long indexedLength;
+    // Whether the indexed content ends with an unterminated line, or with a carriage return possibly followed by a line feed
+    private boolean unterminatedLine;
+    private boolean carriageReturn;
+
+    /**
+     * Checks whether the lines of files in the given encoding can be indexed.
+     *
+     * @param charset the encoding of the file
+     * @return {@code true} if the line terminators are single bytes in the encoding
+     */
+    static boolean isSupported(final Charset charset) {
+        return charset.canEncode() && Arrays.equals(TERMINATORS, new String(TERMINATORS, StandardCharsets.US_ASCII).getBytes(charset));
+    }
+
+    /**
+     * Updates the index with the current content of the file.
+     *
+     * @param channel    the channel of the file
+     * @param attributes the attributes of the file, read before the channel was opened, so that a rotation happening in
+     *                   between discards the index rather than keep it for another file
+     * @return the number of lines of the file
+     * @throws IOException if the file could not be read
+     */
+    synchronized long update(final FileChannel channel, final BasicFileAttributes attributes) throws IOException {
+        final long size = channel.size();
+        if (!Objects.equals(fileKey, attributes.fileKey()) || !Objects.equals(creationTime, attributes.creationTime()) || size < indexedLength) {
+            fileKey = attributes.fileKey();
+            creationTime = attributes.creationTime();
+            terminatedLines = 0;
+            indexedLength = 0;
+            unterminatedLine = false;
+            carriageReturn = false;
+        }
+        if (indexedLength < size) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int read;
+            while (indexedLength < size && (read = channel.read(buffer, indexedLength)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    index(buffer.get(i), indexedLength + i);
+                }
+                indexedLength += read;
+                buffer.clear();
+            }
+        }
+        return unterminatedLine ? terminatedLines + 1 : terminatedLines;
+    }
+
+    private void index(final byte b, final long offset) {
+        if (carriageReturn) {
+            carriageReturn = false;
+            if (b == '\n') {
+                // The line feed following a carriage return is part of the same terminator
+                return;
+            }
+        }
+        if (!unterminatedLine) {
+            // First byte of a line
+            if (terminatedLines % STRIDE == 0) {
+                final int i = (int) (terminatedLines / STRIDE);
+                if (i == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[i] = offset;
+            }
+            unterminatedLine = true;
+        }
+        if (b == '\n' || b == '\r') {
+            terminatedLines++;
+            unterminatedLine = false;
+            carriageReturn = (b == '\r');
+        }
+    }
+
+    /**
+     * Gets the offset of the closest indexed line at or before a line. The line must be one of the lines counted by the
+     * last {@link #update(FileChannel, BasicFileAttributes) update}.
+     *
+     * @param line the line, counted from 0
+     * @return the offset of the line {@code line - line % }{@value #STRIDE}
+     */
+    synchronized long getOffset(final long line) {
+        return offsets[(int) (line / STRIDE)];
+    }
+}
@@ -13,18 +13,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -199,6 +205,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     static class ReadLogFileOperation implements OperationStepHandler {
 
         private final PathManager pathManager;
+        private final Map<Path, LogFileLineIndex> indexes = new ConcurrentHashMap<>();
 
         private ReadLogFileOperation(final PathManager pathManager) {
             this.pathManager = pathManager;
@@ -222,6 +229,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
 
             // The file must exist
             if (!path.exists()) {
+                indexes.remove(path.toPath());
                 throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, ServerEnvironment.SERVER_LOG_DIR);
             }
 
@@ -244,6 +252,16 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
 
         private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            Charset charset;
+            try {
+                charset = (encoding == null ? Charset.defaultCharset() : Charset.forName(encoding));
+            } catch (IllegalArgumentException e) {
+                // Let the reader report the unsupported encoding
+                charset = null;
+            }
+            if (charset != null && LogFileLineIndex.isSupported(charset)) {
+                return readIndexedLines(file.toPath(), charset, tail, skip, numberOfLines);
+            }
             final List<String> lines;
             if (numberOfLines < 0) {
                 lines = new ArrayList<>();
@@ -273,6 +291,38 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 return lines;
             }
         }
+
+        private List<String> readIndexedLines(final Path file, final Charset charset, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            final LogFileLineIndex index = indexes.computeIfAbsent(file, p -> new LogFileLineIndex());
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long lineCount = index.update(channel, attributes);
+                // The lines to read, the last ones being read up to the end of the file
+                final long first;
+                final long last;
+                if (tail) {
+                    last = lineCount - skip;
+                    first = (numberOfLines < 0 ? 0 : Math.max(0, last - numberOfLines));
+                } else {
+                    first = skip;
+                    last = (numberOfLines < 0 ? Long.MAX_VALUE : first + numberOfLines);
+                }
+                if (first >= Math.min(last, lineCount)) {
+                    return Collections.emptyList();
+                }
+                final List<String> lines = new ArrayList<>((int) Math.min(Math.min(last, lineCount) - first, 1024));
+                channel.position(index.getOffset(first));
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), charset));
+                long lineNumber = first - first % LogFileLineIndex.STRIDE;
+                String line;
+                while (lineNumber < last && (line = reader.readLine()) != null) {
+                    if (lineNumber++ >= first) {
+                        lines.add(line);
+                    }
+                }
+                return lines;
+            }
+        }
     }
 
     static final class LifoFileInputStream extends InputStream {
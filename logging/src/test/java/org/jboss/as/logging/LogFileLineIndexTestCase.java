@@ -0,0 +1,97 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link LogFileLineIndex}.
+ */
+public class LogFileLineIndexTestCase {
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("server", ".log");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testLineOffsets() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        final long[] expectedOffsets = new long[3];
+        for (int i = 0; i < 2 * LogFileLineIndex.STRIDE + 10; i++) {
+            if (i % LogFileLineIndex.STRIDE == 0) {
+                expectedOffsets[i / LogFileLineIndex.STRIDE] = content.length();
+            }
+            // All the terminators of BufferedReader.readLine(), and empty lines
+            content.append(i % 10 == 0 ? "" : "line " + i).append(i % 3 == 0 ? "\r\n" : (i % 3 == 1 ? "\n" : "\r"));
+        }
+        final LogFileLineIndex index = new LogFileLineIndex();
+        // Index the file as it grows, ending in the middle of a carriage return and line feed
+        final int split = (int) expectedOffsets[1] - 1;
+        append(content.substring(0, split));
+        assertEquals(LogFileLineIndex.STRIDE, update(index));
+        append(content.substring(split) + "unterminated");
+        assertEquals(2 * LogFileLineIndex.STRIDE + 11, update(index));
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], index.getOffset(i * LogFileLineIndex.STRIDE + 5));
+        }
+    }
+
+    @Test
+    public void testRotation() throws IOException {
+        final LogFileLineIndex index = new LogFileLineIndex();
+        append("first\nsecond\nthird\n");
+        assertEquals(3, update(index));
+        // A truncated file is indexed again
+        Files.write(file, "new\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, update(index));
+        // And so is a file replaced by another one
+        final Path rotated = Files.createTempFile("server", ".log");
+        Files.write(rotated, "a\nb\nc\nd\ne\n".getBytes(StandardCharsets.UTF_8));
+        Files.move(rotated, file, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(5, update(index));
+    }
+
+    @Test
+    public void testSupportedEncodings() {
+        assertTrue(LogFileLineIndex.isSupported(StandardCharsets.UTF_8));
+        assertTrue(LogFileLineIndex.isSupported(StandardCharsets.ISO_8859_1));
+        assertFalse(LogFileLineIndex.isSupported(StandardCharsets.UTF_16));
+    }
+
+    private void append(final String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private long update(final LogFileLineIndex index) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return index.update(channel, attributes);
+        }
+    }
+}
@@ -284,6 +284,7 @@ public class ManagedDMRContentTypeResource implements Resource.ResourceEntry {
             throw new ContentStorageException(e);
         } finally {
             safeClose(is);
+            contentRepository.releaseContent(initialHash);
         }
     }
 
@@ -14,8 +14,6 @@ import static org.jboss.as.process.protocol.StreamUtils.writeBoolean;
 import static org.jboss.as.process.protocol.StreamUtils.writeInt;
 import static org.jboss.as.process.protocol.StreamUtils.writeUTFZBytes;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -24,11 +22,17 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.invoke.MethodHandles;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -59,6 +63,16 @@ final class ManagedProcess {
             WildFlySecurityManager.getPropertyPrivileged(MANAGED_PROCESS_SYSTEM_OUT_TO_LOG, "true")
     );
 
+    // Handles the exits of the processes, with threads only created while exits are being handled
+    private static final Executor EXIT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            return new Thread(task, "reaper " + count.incrementAndGet());
+        }
+    });
+
     private final String processName;
     private final List<String> command;
     private final Map<String, String> env;
@@ -76,7 +90,6 @@ final class ManagedProcess {
 
     private OutputStream stdin;
     private volatile State state = State.DOWN;
-    private volatile Thread joinThread;
     private Process process;
     private boolean shutdown;
     private boolean stopRequested = false;
@@ -219,22 +232,24 @@ final class ManagedProcess {
         final OutputStream stdin = process.getOutputStream();
         final InputStream stderr = process.getErrorStream();
         final InputStream stdout = process.getInputStream();
-        final Thread stderrThread = new Thread( new ReadTask(stderr, processController.getStderr(),
+        final Thread stderrThread = new Thread( new ReadTask(processName, logStatus, stderr, processController.getStderr(),
                 MANAGED_PROCESS_SYSTEM_ERROR_TO_PROCESS_CONTROLLER_LOG,
                 logSystemErr::error)
         );
         stderrThread.setName(String.format("stderr for %s", processName));
         stderrThread.start();
-        final Thread stdoutThread = new Thread(new ReadTask(stdout, processController.getStdout(),
+        final Thread stdoutThread = new Thread(new ReadTask(processName, logStatus, stdout, processController.getStdout(),
                 MANAGED_PROCESS_SYSTEM_OUT_TO_PROCESS_CONTROLLER_LOG,
                 logSystemOut::info)
         );
         stdoutThread.setName(String.format("stdout for %s", processName));
         stdoutThread.start();
 
-        joinThread = new Thread(new JoinTask(startTime));
-        joinThread.setName(String.format("reaper for %s", processName));
-        joinThread.start();
+        // Handled once the process exits rather than by a thread waiting for it, on a pooled thread as a respawn may wait
+        process.onExit().thenRunAsync(new JoinTask(process, startTime), EXIT_EXECUTOR).exceptionally(t -> {
+            logStatus.processExitHandlingFailed(t, processName);
+            return null;
+        });
         boolean ok = false;
         try {
             // WFLY-2697 All writing is in Base64
@@ -273,24 +288,23 @@ final class ManagedProcess {
 
     public void destroy() {
         synchronized (lock) {
-            Thread jt = joinThread;
             if(state != State.STOPPING) {
                 stop(); // Try to stop before destroying the process
             }
 
             final long timeout = 5000;
-            if (state != State.DOWN && jt != null) {
+            if (state != State.DOWN) {
                 try {
                     // Give stop() a small amount of time to work,
                     // in case the user asked for a destroy when a normal stop
                     // was sufficient. But the base assumption is the destroy
                     // is needed
-                    jt.join(timeout);
+                    process.waitFor(timeout, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
             }
-            if (state != State.DOWN || jt == null || jt.isAlive()) { // Cover all bases just to be robust
+            if (state != State.DOWN || process.isAlive()) { // Cover all bases just to be robust
                 logStatus.destroyingProcess(processName, timeout);
                 process.destroyForcibly();
             }
@@ -299,25 +313,24 @@ final class ManagedProcess {
 
     public void kill() {
         synchronized (lock) {
-            Thread jt = joinThread;
             if(state != State.STOPPING) {
                 stop(); // Try to stop before killing the process
             }
 
             final long timeout = 5000;
-            if (state != State.DOWN && jt != null) {
+            if (state != State.DOWN) {
                 try {
                     // Give stop() a small amount of time to work,
                     // in case the user asked for a kill when a normal stop
                     // was sufficient. But the base assumption is the kill
                     // is needed
-                    jt.join(timeout);
+                    process.waitFor(timeout, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
             }
 
-            if (state != State.DOWN || jt == null || jt.isAlive()) { // Cover all bases just to be robust
+            if (state != State.DOWN || process.isAlive()) { // Cover all bases just to be robust
                 logStatus.attemptingToKillProcess(processName, timeout);
                 if (!ProcessUtils.killProcess(processName, id)) {
                     // Fallback to destroy if kill is not available
@@ -375,25 +388,18 @@ final class ManagedProcess {
     }
 
     private final class JoinTask implements Runnable {
+        private final Process process;
         private final long startTime;
 
-        public JoinTask(final long startTime) {
+        public JoinTask(final Process process, final long startTime) {
+            this.process = process;
             this.startTime = startTime;
         }
 
         public void run() {
-            final Process process;
-            synchronized (lock) {
-                process = ManagedProcess.this.process;
-            }
-            int exitCode;
-            for (;;) try {
-                exitCode = process.waitFor();
-                logStatus.processFinished(processName, exitCode);
-                break;
-            } catch (InterruptedException e) {
-                // ignore
-            }
+            // Run once the process has exited
+            final int exitCode = process.exitValue();
+            logStatus.processFinished(processName, exitCode);
             boolean respawn = false;
             boolean slowRespawn = false;
             boolean unlimitedRespawn = false;
@@ -456,13 +462,22 @@ final class ManagedProcess {
         }
     }
 
-    private final class ReadTask implements Runnable {
+    static final class ReadTask implements Runnable {
+        private static final int MAX_BATCH_LENGTH = 8192;
+
+        private final String processName;
+        private final ProcessLogger logStatus;
         private final InputStream source;
         private final PrintStream target;
         private boolean useLog;
         private final Consumer<String> logConsumer;
+        private final StringBuilder batch = new StringBuilder();
+        private String prevEscape = "";
 
-        private ReadTask(final InputStream source, final PrintStream target, boolean useLog, Consumer<String> logConsumer) {
+        ReadTask(final String processName, final ProcessLogger logStatus, final InputStream source, final PrintStream target,
+                 boolean useLog, Consumer<String> logConsumer) {
+            this.processName = processName;
+            this.logStatus = logStatus;
             this.source = source;
             this.target = target;
             this.useLog = useLog;
@@ -471,63 +486,36 @@ final class ManagedProcess {
 
         public void run() {
             final InputStream source = this.source;
-            final String processName = ManagedProcess.this.processName;
             try {
-                final BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(source), StandardCharsets.UTF_8));
-                final OutputStreamWriter writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
-                String s;
-                String prevEscape = "";
-                while ((s = reader.readLine()) != null) {
-
-                    if (s.contains(ProcessController.STDIO_ABOUT_TO_INSTALL_MSG)) {
-                        useLog = false;
-                        continue;
-                    }
-
-                    // Has ANSI?
-                    int i = s.lastIndexOf('\033');
-                    int j = i != -1 ? s.indexOf('m', i) : 0;
-
-                    if (useLog) {
-                        StringBuilder sp = new StringBuilder();
-                        sp.append("[");
-                        sp.append(processName);
-                        sp.append("] ");
-                        sp.append(prevEscape);
-                        sp.append(s);
-
-                        // Reset if there was ANSI
-                        if (j != 0 || !prevEscape.isEmpty()) {
-                            sp.append("\033[0m");
-                        }
-
-                        logConsumer.accept(sp.toString());
-                    } else {
-                        synchronized (target) {
-                            writer.write('[');
-                            writer.write(processName);
-                            writer.write("] ");
-                            writer.write(prevEscape);
-                            writer.write(s);
-
-                            // Reset if there was ANSI
-                            if (j != 0 || !prevEscape.isEmpty()) {
-                                writer.write("\033[0m");
-                            }
-                            writer.write('\n');
-                            writer.flush();
+                final Reader reader = new InputStreamReader(source, StandardCharsets.UTF_8);
+                final Writer writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+                final char[] buffer = new char[MAX_BATCH_LENGTH];
+                final StringBuilder line = new StringBuilder();
+                boolean skipLf = false;
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    // Lines end with \n, \r or \r\n, as with BufferedReader.readLine()
+                    for (int k = 0; k < read; k++) {
+                        final char c = buffer[k];
+                        if (skipLf && c == '\n') {
+                            skipLf = false;
+                            continue;
                         }
-                    }
-
-                    // Remember escape code for the next line
-                    if (j != 0) {
-                        String escape = s.substring(i, j + 1);
-                        if (!"\033[0m".equals(escape)) {
-                            prevEscape = escape;
+                        skipLf = c == '\r';
+                        if (c == '\n' || c == '\r') {
+                            processLine(line.toString(), writer);
+                            line.setLength(0);
                         } else {
-                            prevEscape = "";
+                            line.append(c);
                         }
                     }
+                    // Write the complete lines already read before reading again, as the next read may block until the
+                    // rest of a partial line is written by the process
+                    writeBatch(writer);
+                }
+                if (line.length() > 0) {
+                    processLine(line.toString(), writer);
+                    writeBatch(writer);
                 }
                 source.close();
             } catch (IOException e) {
@@ -536,5 +524,70 @@ final class ManagedProcess {
                 safeClose(source);
             }
         }
+
+        private void processLine(final String s, final Writer writer) throws IOException {
+            if (s.contains(ProcessController.STDIO_ABOUT_TO_INSTALL_MSG)) {
+                useLog = false;
+                return;
+            }
+
+            // Has ANSI?
+            int i = s.lastIndexOf('\033');
+            int j = i != -1 ? s.indexOf('m', i) : 0;
+
+            if (useLog) {
+                StringBuilder sp = new StringBuilder();
+                sp.append("[");
+                sp.append(processName);
+                sp.append("] ");
+                sp.append(prevEscape);
+                sp.append(s);
+
+                // Reset if there was ANSI
+                if (j != 0 || !prevEscape.isEmpty()) {
+                    sp.append("\033[0m");
+                }
+
+                logConsumer.accept(sp.toString());
+            } else {
+                batch.append('[');
+                batch.append(processName);
+                batch.append("] ");
+                batch.append(prevEscape);
+                batch.append(s);
+
+                // Reset if there was ANSI
+                if (j != 0 || !prevEscape.isEmpty()) {
+                    batch.append("\033[0m");
+                }
+                batch.append('\n');
+                if (batch.length() >= MAX_BATCH_LENGTH) {
+                    writeBatch(writer);
+                }
+            }
+
+            // Remember escape code for the next line
+            if (j != 0) {
+                String escape = s.substring(i, j + 1);
+                if (!"\033[0m".equals(escape)) {
+                    prevEscape = escape;
+                } else {
+                    prevEscape = "";
+                }
+            }
+        }
+
+        /**
+         * Writes the lines read together, so that the target is locked and flushed once for them.
+         */
+        private void writeBatch(final Writer writer) throws IOException {
+            if (batch.length() > 0) {
+                synchronized (target) {
+                    writer.append(batch);
+                    writer.flush();
+                }
+                batch.setLength(0);
+            }
+        }
     }
 }
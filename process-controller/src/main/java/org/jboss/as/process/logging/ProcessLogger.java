@@ -801,4 +801,7 @@ public interface ProcessLogger extends BasicLogger {
             "using java.lang.Process.destroyForcibly()")
     void destroyingProcess(String process, long timeout);
 
+    @LogMessage(level = ERROR)
+    @Message(id = 68, value = "Failed to handle the exit of process '%s'")
+    void processExitHandlingFailed(@Cause Throwable cause, String process);
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.process.logging.ProcessLogger;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ManagedProcess.ReadTask}.
+ */
+public class ManagedProcessReadTaskTestCase {
+
+    @Test
+    public void testCompleteLinesWrittenBeforePartialLineCompletes() throws Exception {
+        final PipedOutputStream process = new PipedOutputStream();
+        final PipedInputStream source = new PipedInputStream(process);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Thread thread = new Thread(new ManagedProcess.ReadTask("test", ProcessLogger.ROOT_LOGGER, source,
+                new PrintStream(output, true, StandardCharsets.UTF_8), false, s -> {}));
+        thread.start();
+        try {
+            process.write("first\r\nsecond\npart".getBytes(StandardCharsets.UTF_8));
+            process.flush();
+            // The complete lines are written while the task waits for the end of the partial one
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!read(output).equals("[test] first\n[test] second\n") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("[test] first\n[test] second\n", read(output));
+
+            process.write("ial\rlast".getBytes(StandardCharsets.UTF_8));
+            process.close();
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } finally {
+            thread.interrupt();
+        }
+        assertEquals("[test] first\n[test] second\n[test] partial\n[test] last\n", read(output));
+    }
+
+    @Test
+    public void testLinesLoggedUntilStdioInstalled() throws Exception {
+        final PipedOutputStream process = new PipedOutputStream();
+        final PipedInputStream source = new PipedInputStream(process);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<String> logged = new ArrayList<>();
+        final Thread thread = new Thread(new ManagedProcess.ReadTask("test", ProcessLogger.ROOT_LOGGER, source,
+                new PrintStream(output, true, StandardCharsets.UTF_8), true, logged::add));
+        thread.start();
+        process.write(("logged\n" + ProcessController.STDIO_ABOUT_TO_INSTALL_MSG + "\nwritten\n").getBytes(StandardCharsets.UTF_8));
+        process.close();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(thread.isAlive());
+        assertEquals(List.of("[test] logged"), logged);
+        assertEquals("[test] written\n", read(output));
+    }
+
+    private static String read(final ByteArrayOutputStream output) {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
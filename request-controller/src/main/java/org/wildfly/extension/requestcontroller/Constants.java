@@ -12,4 +12,8 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String QUEUE_WEIGHTS = "queue-weights";
+    String MAX_QUEUED_REQUESTS = "max-queued-requests";
+    String QUEUED_REQUESTS = "queued-requests";
+    String QUEUE_WAIT_TIMES = "queue-wait-times";
 }
@@ -204,8 +204,10 @@ public class ControlPoint {
      * @param task            The task to run
      * @param timeout         The timeout in milliseconds, if this is larger than zero the task will be timed out after
      *                        this much time has elapsed
-     * @param timeoutTask     The task that is run on timeout
+     * @param timeoutTask     The task that is run on timeout, and if the task is rejected
      * @param rejectOnSuspend If the task should be rejected if the container is suspended, if this happens the timeout task is invoked immediately
+     * @throws java.util.concurrent.RejectedExecutionException if the task is rejected, as the queue of this control point
+     *                        is full or the container is suspended, and no timeout task is given
      */
     public void queueTask(Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend) {
         controller.queueTask(this, task, taskExecutor, timeout, timeoutTask, rejectOnSuspend, false);
@@ -0,0 +1,207 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tasks waiting for the request controller to admit them, shared fairly between control points.
+ * <p/>
+ * Each control point has its own FIFO queue, and the queues are served by stride scheduling: the next task is taken from
+ * the queue with the lowest pass, which then advances by the inverse of the weight of its control point. Under sustained
+ * overload a control point with a weight of 2 is served twice as often as one with a weight of 1, and a burst queued by
+ * one deployment no longer holds back the tasks of the others until it has drained.
+ * <p/>
+ * The queue is only locked when tasks are added or taken, so completing a request while nothing is queued stays lock free.
+ *
+ * @param <T> the type of the tasks
+ */
+final class FairTaskQueue<T extends FairTaskQueue.Task> {
+
+    /**
+     * A task that can be queued.
+     */
+    interface Task {
+
+        ControlPoint getControlPoint();
+
+        /**
+         * @return {@code true} if the task must run even while the server is suspended, and is not subject to queue limits
+         */
+        boolean isForced();
+    }
+
+    private final Map<ControlPoint, Lane<T>> lanes = new HashMap<>();
+    private final PriorityQueue<Lane<T>> activeLanes = new PriorityQueue<>(Comparator.comparingDouble(lane -> lane.pass));
+    // Read without the lock to skip it when nothing is queued
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Map<String, Integer> weights = Collections.emptyMap();
+    private volatile int maxQueuedPerControlPoint = -1;
+    // The pass of the last lane served, at which lanes that become active start
+    private double virtualTime;
+
+    /**
+     * Sets the weights of control points, keyed by deployment name or entry point name. Control points without a weight
+     * have a weight of 1.
+     *
+     * @param weights the weights
+     */
+    void setWeights(Map<String, Integer> weights) {
+        // Not an immutable copy, as those reject the null deployment name of control points not tied to a deployment
+        this.weights = new HashMap<>(weights);
+    }
+
+    /**
+     * Sets the maximum number of tasks that can be queued for a single control point.
+     *
+     * @param maxQueuedPerControlPoint the maximum, or a negative value for no limit
+     */
+    void setMaxQueuedPerControlPoint(int maxQueuedPerControlPoint) {
+        this.maxQueuedPerControlPoint = maxQueuedPerControlPoint;
+    }
+
+    /**
+     * Queues a task.
+     *
+     * @param task the task
+     * @return {@code false} if the queue of the task's control point is full, in which case the task was not queued
+     */
+    boolean add(T task) {
+        int max = this.maxQueuedPerControlPoint;
+        synchronized (this) {
+            Lane<T> lane = lanes.get(task.getControlPoint());
+            if (lane == null) {
+                lane = new Lane<>(getWeight(task.getControlPoint()));
+                lanes.put(task.getControlPoint(), lane);
+            }
+            if (max >= 0 && !task.isForced() && lane.tasks.size() >= max) {
+                if (lane.tasks.isEmpty()) {
+                    lanes.remove(task.getControlPoint());
+                }
+                return false;
+            }
+            if (lane.tasks.isEmpty()) {
+                // An idle control point cannot save up turns while others are being served
+                lane.pass = Math.max(lane.pass, virtualTime);
+                activeLanes.add(lane);
+            }
+            lane.tasks.add(task);
+            size.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Takes the next task.
+     *
+     * @return the task, or {@code null} if no task is queued
+     */
+    T poll() {
+        if (size.get() == 0) {
+            return null;
+        }
+        synchronized (this) {
+            Lane<T> lane = activeLanes.poll();
+            if (lane == null) {
+                return null;
+            }
+            T task = lane.tasks.poll();
+            virtualTime = lane.pass;
+            lane.pass += 1.0 / lane.weight;
+            removed(task, lane);
+            return task;
+        }
+    }
+
+    /**
+     * Takes the next task that must run even while the server is suspended, leaving the others queued.
+     *
+     * @return the task, or {@code null} if no such task is queued
+     */
+    T pollForced() {
+        if (size.get() == 0) {
+            return null;
+        }
+        synchronized (this) {
+            for (Lane<T> lane : lanes.values()) {
+                for (Iterator<T> iterator = lane.tasks.iterator(); iterator.hasNext(); ) {
+                    T task = iterator.next();
+                    if (task.isForced()) {
+                        iterator.remove();
+                        activeLanes.remove(lane);
+                        removed(task, lane);
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes a task that is no longer to be run, such as one that timed out while queued, so that it no longer counts
+     * towards the queue limit of its control point.
+     *
+     * @param task the task
+     * @return {@code true} if the task was queued
+     */
+    boolean remove(T task) {
+        if (size.get() == 0) {
+            return false;
+        }
+        synchronized (this) {
+            Lane<T> lane = lanes.get(task.getControlPoint());
+            if (lane == null || !lane.tasks.remove(task)) {
+                return false;
+            }
+            activeLanes.remove(lane);
+            removed(task, lane);
+            return true;
+        }
+    }
+
+    boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private void removed(T task, Lane<T> lane) {
+        size.decrementAndGet();
+        if (lane.tasks.isEmpty()) {
+            lanes.remove(task.getControlPoint());
+        } else {
+            activeLanes.add(lane);
+        }
+    }
+
+    private int getWeight(ControlPoint controlPoint) {
+        Map<String, Integer> weights = this.weights;
+        Integer weight = weights.get(controlPoint.getDeployment());
+        if (weight == null) {
+            weight = weights.get(controlPoint.getEntryPoint());
+        }
+        return weight != null ? weight : 1;
+    }
+
+    private static final class Lane<T> {
+        private final ArrayDeque<T> tasks = new ArrayDeque<>();
+        private final int weight;
+        private double pass;
+
+        Lane(int weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Read handler for the metrics of the queue of requests waiting to be admitted.
+ */
+class QueueMetricReadHandler extends AbstractRuntimeOnlyHandler {
+
+    private final Function<RequestController, ModelNode> metric;
+
+    QueueMetricReadHandler(Function<RequestController, ModelNode> metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service != null) {
+            RequestController requestController = (RequestController) service.getService().getValue();
+            context.getResult().set(metric.apply(requestController));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A histogram of the time queued tasks waited before the request controller admitted them.
+ */
+final class QueueWaitTimeHistogram {
+
+    /** The upper bounds of the buckets, in milliseconds */
+    private static final long[] BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+    static final String INFINITY = "+Inf";
+
+    // One more bucket than bounds, for the waits longer than the last one
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+    QueueWaitTimeHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long waitNanos) {
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        int i = 0;
+        while (i < BOUNDS.length && waitMillis > BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+    }
+
+    /**
+     * @return the number of waits no longer than each bound, keyed by the bound in milliseconds, with the total number of
+     * waits keyed by {@value #INFINITY}
+     */
+    ModelNode toModelNode() {
+        ModelNode result = new ModelNode();
+        long count = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            count += buckets[i].sum();
+            result.get(Long.toString(BOUNDS[i])).set(count);
+        }
+        result.get(INFINITY).set(count + buckets[BOUNDS.length].sum());
+        return result;
+    }
+}
@@ -5,16 +5,14 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -58,7 +56,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unused")
     private volatile CompletableFuture<Void> suspend = null;
@@ -73,7 +71,10 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    // Polled on every request completion, so it must not take a lock when empty
+    private final FairTaskQueue<QueuedTask> taskQueue = new FairTaskQueue<>();
+
+    private final QueueWaitTimeHistogram queueWaitTimes = new QueueWaitTimeHistogram();
 
     @Override
     public CompletionStage<Void> suspend(ServerSuspendContext context) {
@@ -109,7 +110,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param filter a control point filter
      * @return a stage that will complete when the deployments matching the specified predicate are paused.
      */
-    private synchronized CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
+    private CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
         List<ControlPoint> controlPoints = this.entryPoints.values().stream().filter(filter).collect(Collectors.toUnmodifiableList());
         if (controlPoints.isEmpty()) return SuspendableActivity.COMPLETED;
         AtomicInteger count = new AtomicInteger(controlPoints.size());
@@ -155,7 +156,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * Resumes the control points matching the specified predicate.
      * @param filter a control point filter
      */
-    private synchronized void resume(Predicate<ControlPoint> filter) {
+    private void resume(Predicate<ControlPoint> filter) {
         this.entryPoints.values().stream().filter(filter).forEach(ControlPoint::resume);
     }
 
@@ -199,7 +200,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.resume(new EntryPointFilter(entryPoint));
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
@@ -209,14 +210,22 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     RunResult beginRequest(boolean force) {
         int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
         boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+        if (maxRequests <= 0) {
+            // Without a limit a single atomic increment is enough, avoiding CAS retries when many threads begin requests
+            if (!paused || force) {
+                activeRequestCountUpdater.incrementAndGet(this);
                 success = true;
-                break;
             }
-            active = activeRequestCountUpdater.get(this);
+        } else {
+            int active = activeRequestCountUpdater.get(this);
+            while (active < maxRequests && (!paused || force)) {
+                if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
+                    success = true;
+                    break;
+                }
+                active = activeRequestCountUpdater.get(this);
+            }
         }
         if (success) {
             //re-check the paused state
@@ -263,15 +272,15 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -279,11 +288,9 @@ public class RequestController implements Service<RequestController>, Suspendabl
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.compute(id, (key, ep) -> (controlPoint.decreaseReferenceCount() == 0) ? null : ep);
     }
 
     /**
@@ -310,6 +317,40 @@ public class RequestController implements Service<RequestController>, Suspendabl
         }
     }
 
+    /**
+     * Sets the weights of control points when requests are queued. Control points with a higher weight get a
+     * proportionally larger share of the requests admitted from the queue.
+     *
+     * @param queueWeights the weights, keyed by deployment name or entry point name. Other control points have a weight of 1.
+     */
+    public void setQueueWeights(Map<String, Integer> queueWeights) {
+        this.taskQueue.setWeights(queueWeights);
+    }
+
+    /**
+     * Sets the maximum number of requests that can be queued for a single control point. Requests queued beyond this
+     * limit are rejected straight away.
+     *
+     * @param maxQueuedRequests the maximum, or a negative value for no limit
+     */
+    public void setMaxQueuedRequests(int maxQueuedRequests) {
+        this.taskQueue.setMaxQueuedPerControlPoint(maxQueuedRequests);
+    }
+
+    /**
+     * @return The number of requests waiting to be admitted
+     */
+    public int getQueuedRequestCount() {
+        return taskQueue.size();
+    }
+
+    /**
+     * @return The histogram of the time queued requests waited before being admitted
+     */
+    QueueWaitTimeHistogram getQueueWaitTimes() {
+        return queueWaitTimes;
+    }
+
     /**
      * @return <code>true</code> If the server is currently pause
      */
@@ -348,12 +389,23 @@ public class RequestController implements Service<RequestController>, Suspendabl
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                if (timeoutTask == null) {
+                    throw RequestControllerLogger.ROOT_LOGGER.suspended(controlPoint.getEntryPoint(), controlPoint.getDeployment());
+                }
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask = new QueuedTask(taskQueue, taskExecutor, task, timeoutTask, controlPoint, forceRun);
+        if (!taskQueue.add(queuedTask)) {
+            // The control point already has as many queued requests as it may
+            if (timeoutTask == null) {
+                // Rejected explicitly, rather than dropped without the caller knowing
+                throw RequestControllerLogger.ROOT_LOGGER.queueFull(controlPoint.getEntryPoint(), controlPoint.getDeployment());
+            }
+            taskExecutor.execute(timeoutTask);
+            return;
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -373,39 +425,17 @@ public class RequestController implements Service<RequestController>, Suspendabl
         if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
-        if (!paused) {
-            task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
-        if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
-            }
-            return true;
-        } else {
-            decrementRequestCount();
-            return false;
-        }
-    }
-
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
         QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
+        //if the container is suspended we still need to run any force queued tasks
+        //tasks that timed out while queued are skipped, so the permit goes to a task that can still run
+        while ((task = paused ? taskQueue.pollForced() : taskQueue.poll()) != null) {
+            if (task.runRequest()) {
+                queueWaitTimes.record(System.nanoTime() - task.queueTime);
+                return true;
             }
         }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
+        decrementRequestCount();
+        return false;
     }
 
     private static final class ControlPointIdentifier {
@@ -443,20 +473,23 @@ public class RequestController implements Service<RequestController>, Suspendabl
     }
 
 
-    private static final class QueuedTask extends TimerTask {
+    private static final class QueuedTask extends TimerTask implements FairTaskQueue.Task {
 
+        private final FairTaskQueue<QueuedTask> queue;
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final long queueTime = System.nanoTime();
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private QueuedTask(FairTaskQueue<QueuedTask> queue, Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+            this.queue = queue;
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
@@ -467,6 +500,8 @@ public class RequestController implements Service<RequestController>, Suspendabl
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                // No longer counted as queued, nor towards the queue limit of its control point
+                queue.remove(this);
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -478,6 +513,16 @@ public class RequestController implements Service<RequestController>, Suspendabl
             }
         }
 
+        @Override
+        public ControlPoint getControlPoint() {
+            return controlPoint;
+        }
+
+        @Override
+        public boolean isForced() {
+            return forceRun;
+        }
+
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
                 cancel();
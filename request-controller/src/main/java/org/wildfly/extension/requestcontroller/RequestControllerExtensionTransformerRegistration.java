@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+
+/**
+ * Registers the transformers of the request controller subsystem for hosts running earlier versions of it.
+ */
+public class RequestControllerExtensionTransformerRegistration implements ExtensionTransformerRegistration {
+
+    @Override
+    public String getSubsystemName() {
+        return RequestControllerExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        // Requests are not queued fairly by hosts running 1.1.0, so the settings of the fair queue cannot be applied there
+        builder.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, RequestControllerRootDefinition.QUEUE_WEIGHTS, RequestControllerRootDefinition.MAX_QUEUED_REQUESTS)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, RequestControllerRootDefinition.QUEUE_WEIGHTS, RequestControllerRootDefinition.MAX_QUEUED_REQUESTS)
+                .end();
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, RequestControllerExtension.VERSION_1_1_0);
+    }
+}
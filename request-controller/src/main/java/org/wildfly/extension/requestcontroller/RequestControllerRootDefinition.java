@@ -16,9 +16,12 @@ import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -41,9 +44,33 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleMapAttributeDefinition QUEUE_WEIGHTS = new SimpleMapAttributeDefinition.Builder(Constants.QUEUE_WEIGHTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setElementValidator(new IntRangeValidator(1, false, true))
+            .setRestartAllServices()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.MAX_QUEUED_REQUESTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1))
+            .setRestartAllServices()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.QUEUED_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    public static final SimpleMapAttributeDefinition QUEUE_WAIT_TIMES = new SimpleMapAttributeDefinition.Builder(Constants.QUEUE_WAIT_TIMES, ModelType.LONG, true)
+            .setStorageRuntime()
+            .setStability(Stability.COMMUNITY)
+            .build();
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -67,9 +94,9 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, QUEUE_WEIGHTS, MAX_QUEUED_REQUESTS, ACTIVE_REQUESTS, QUEUED_REQUESTS, QUEUE_WAIT_TIMES});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, QUEUE_WEIGHTS, MAX_QUEUED_REQUESTS});
         }
     }
 
@@ -83,8 +110,12 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
         MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler();
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(QUEUE_WEIGHTS, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(MAX_QUEUED_REQUESTS, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            resourceRegistration.registerMetric(QUEUED_REQUESTS, new QueueMetricReadHandler(controller -> new ModelNode(controller.getQueuedRequestCount())));
+            resourceRegistration.registerMetric(QUEUE_WAIT_TIMES, new QueueMetricReadHandler(controller -> controller.getQueueWaitTimes().toModelNode()));
         }
     }
 }
@@ -17,7 +17,10 @@ import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.suspend.SuspendableActivityRegistry;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 
@@ -45,11 +48,21 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        int maxQueuedRequests = RequestControllerRootDefinition.MAX_QUEUED_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
+        Map<String, Integer> queueWeights = new HashMap<>();
+        ModelNode weights = RequestControllerRootDefinition.QUEUE_WEIGHTS.resolveModelAttribute(context, resource.getModel());
+        if (weights.isDefined()) {
+            for (Property weight : weights.asPropertyList()) {
+                queueWeights.put(weight.getName(), weight.getValue().asInt());
+            }
+        }
 
         CapabilityServiceBuilder<?> svcBuilder = context.getCapabilityServiceTarget().addCapability(REQUEST_CONTROLLER_CAPABILITY);
         Supplier<SuspendableActivityRegistry> registry = svcBuilder.requires(SuspendableActivityRegistry.SERVICE_DESCRIPTOR);
         RequestController requestController = new RequestController(trackIndividual, registry);
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setMaxQueuedRequests(maxQueuedRequests);
+        requestController.setQueueWeights(queueWeights);
         svcBuilder.setInstance(requestController)
                 .install();
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.jboss.as.controller.Feature;
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentSubsystemSchema;
+import org.jboss.as.controller.SubsystemSchema;
+import org.jboss.as.controller.xml.VersionedNamespace;
+import org.jboss.as.version.Stability;
+import org.jboss.staxmapper.IntVersion;
+
+/**
+ * Parser and marshaller for the request controller subsystem.
+ *
+ * <em>All attributes must be listed explicitly and not through any collections.</em>
+ * This ensures that if the resource definition changes in a later version (e.g. a new attribute is added),
+ * this will have no impact on parsing this specific version of the subsystem.
+ */
+enum RequestControllerSubsystemSchema implements PersistentSubsystemSchema<RequestControllerSubsystemSchema> {
+
+    VERSION_1_0(1),
+    VERSION_1_0_COMMUNITY(1, Stability.COMMUNITY);
+    static final Map<Stability, RequestControllerSubsystemSchema> CURRENT = Feature.map(EnumSet.of(VERSION_1_0, VERSION_1_0_COMMUNITY));
+
+    private final VersionedNamespace<IntVersion, RequestControllerSubsystemSchema> namespace;
+
+    RequestControllerSubsystemSchema(int major) {
+        this.namespace = SubsystemSchema.createLegacySubsystemURN(RequestControllerExtension.SUBSYSTEM_NAME, new IntVersion(major, 0));
+    }
+
+    RequestControllerSubsystemSchema(int major, Stability stability) {
+        this.namespace = SubsystemSchema.createLegacySubsystemURN(RequestControllerExtension.SUBSYSTEM_NAME, stability, new IntVersion(major, 0));
+    }
+
+    @Override
+    public VersionedNamespace<IntVersion, RequestControllerSubsystemSchema> getNamespace() {
+        return this.namespace;
+    }
+
+    @Override
+    public PersistentResourceXMLDescription getXMLDescription() {
+        PersistentResourceXMLDescription.Factory factory = PersistentResourceXMLDescription.factory(this);
+        return factory.builder(RequestControllerExtension.SUBSYSTEM_PATH)
+                .addAttribute(RequestControllerRootDefinition.MAX_REQUESTS)
+                .addAttribute(RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS)
+                .addAttribute(RequestControllerRootDefinition.MAX_QUEUED_REQUESTS)
+                .addAttribute(RequestControllerRootDefinition.QUEUE_WEIGHTS)
+                .build();
+    }
+}
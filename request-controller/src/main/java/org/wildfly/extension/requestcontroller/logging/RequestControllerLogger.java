@@ -8,6 +8,7 @@ package org.wildfly.extension.requestcontroller.logging;
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
@@ -32,4 +33,10 @@ public interface RequestControllerLogger extends BasicLogger {
     @Message(id = 1, value = "Failed to cancel queued task %s")
     void failedToCancelTask(Object task, @Cause Exception e);
 
+    @Message(id = 2, value = "Cannot queue a task of the entry point %s of %s, as its queue is full and no task was given to run on rejection")
+    RejectedExecutionException queueFull(String entryPoint, String deployment);
+
+    @Message(id = 3, value = "Cannot queue a task of the entry point %s of %s, as the server is suspended and no task was given to run on rejection")
+    RejectedExecutionException suspended(String entryPoint, String deployment);
+
 }
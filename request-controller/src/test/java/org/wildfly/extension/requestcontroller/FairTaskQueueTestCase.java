@@ -0,0 +1,127 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link FairTaskQueue}.
+ */
+public class FairTaskQueueTestCase {
+
+    private final ControlPoint heavy = new ControlPoint(null, "heavy.war", "web", false);
+    private final ControlPoint light = new ControlPoint(null, "light.war", "web", false);
+
+    @Test
+    public void testWeightedShares() {
+        FairTaskQueue<TestTask> queue = new FairTaskQueue<>();
+        queue.setWeights(Map.of("heavy.war", 2));
+        // A burst for one control point queued before the tasks of another does not hold them back
+        for (int i = 0; i < 6; i++) {
+            assertTrue(queue.add(new TestTask(heavy, false)));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.add(new TestTask(light, false)));
+        }
+        assertEquals(9, queue.size());
+
+        int heavyCount = 0;
+        for (int i = 0; i < 6; i++) {
+            if (queue.poll().getControlPoint() == heavy) {
+                heavyCount++;
+            }
+        }
+        assertEquals(4, heavyCount);
+        while (queue.poll() != null) {
+            // drain
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testEntryPointWeight() {
+        FairTaskQueue<TestTask> queue = new FairTaskQueue<>();
+        ControlPoint global = new ControlPoint(null, null, "ejb", false);
+        queue.setWeights(Map.of("ejb", 3));
+        for (int i = 0; i < 6; i++) {
+            queue.add(new TestTask(global, false));
+            queue.add(new TestTask(light, false));
+        }
+        int globalCount = 0;
+        for (int i = 0; i < 4; i++) {
+            if (queue.poll().getControlPoint() == global) {
+                globalCount++;
+            }
+        }
+        assertEquals(3, globalCount);
+    }
+
+    @Test
+    public void testQueueLimit() {
+        FairTaskQueue<TestTask> queue = new FairTaskQueue<>();
+        queue.setMaxQueuedPerControlPoint(2);
+        assertTrue(queue.add(new TestTask(heavy, false)));
+        assertTrue(queue.add(new TestTask(heavy, false)));
+        assertFalse(queue.add(new TestTask(heavy, false)));
+        // The limit applies to each control point, and not to forced tasks
+        assertTrue(queue.add(new TestTask(light, false)));
+        TestTask forced = new TestTask(heavy, true);
+        assertTrue(queue.add(forced));
+        assertEquals(4, queue.size());
+
+        assertSame(forced, queue.pollForced());
+        assertNull(queue.pollForced());
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void testRemove() {
+        FairTaskQueue<TestTask> queue = new FairTaskQueue<>();
+        queue.setMaxQueuedPerControlPoint(1);
+        TestTask timedOut = new TestTask(heavy, false);
+        assertTrue(queue.add(timedOut));
+        assertFalse(queue.add(new TestTask(heavy, false)));
+        // A task removed once it timed out leaves room for another
+        assertTrue(queue.remove(timedOut));
+        assertFalse(queue.remove(timedOut));
+        assertTrue(queue.isEmpty());
+        TestTask task = new TestTask(heavy, false);
+        assertTrue(queue.add(task));
+        assertTrue(queue.add(new TestTask(light, false)));
+        assertEquals(2, queue.size());
+        assertSame(task, queue.poll());
+        assertEquals(light, queue.poll().getControlPoint());
+        assertNull(queue.poll());
+    }
+
+    private static final class TestTask implements FairTaskQueue.Task {
+        private final ControlPoint controlPoint;
+        private final boolean forced;
+
+        TestTask(ControlPoint controlPoint, boolean forced) {
+            this.controlPoint = controlPoint;
+            this.forced = forced;
+        }
+
+        @Override
+        public ControlPoint getControlPoint() {
+            return controlPoint;
+        }
+
+        @Override
+        public boolean isForced() {
+            return forced;
+        }
+    }
+}
@@ -5,13 +5,13 @@
 
 package org.wildfly.extension.requestcontroller;
 
-import java.io.IOException;
+import java.util.EnumSet;
 
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.ServiceNameFactory;
 import org.jboss.as.server.suspend.ServerSuspendController;
 import org.jboss.as.server.suspend.SuspendController;
-import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.as.subsystem.test.AbstractSubsystemSchemaTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
@@ -19,21 +19,23 @@ import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import org.wildfly.service.ServiceInstaller;
 
 /**
  * @author Stuart Douglas
  */
-public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTest {
+@RunWith(Parameterized.class)
+public class RequestControllerSubsystemTestCase extends AbstractSubsystemSchemaTest<RequestControllerSubsystemSchema> {
 
-    public RequestControllerSubsystemTestCase() {
-        super(RequestControllerExtension.SUBSYSTEM_NAME, new RequestControllerExtension());
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<RequestControllerSubsystemSchema> getParameters() {
+        return EnumSet.allOf(RequestControllerSubsystemSchema.class);
     }
 
-
-    @Override
-    protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+    public RequestControllerSubsystemTestCase(RequestControllerSubsystemSchema schema) {
+        super(RequestControllerExtension.SUBSYSTEM_NAME, new RequestControllerExtension(), schema, RequestControllerSubsystemSchema.CURRENT.get(schema.getStability()));
     }
 
     @Test
@@ -53,7 +55,7 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected AdditionalInitialization createAdditionalInitialization() {
-        return new AdditionalInitialization() {
+        return new AdditionalInitialization.ManagementAdditionalInitialization(getSubsystemSchema()) {
 
             @Override
             protected void addExtraServices(ServiceTarget target) {
@@ -0,0 +1,65 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.suspend.ServerSuspendController;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link RequestController}.
+ */
+public class RequestControllerTestCase {
+
+    @Test
+    public void testQueueFull() {
+        final RequestController controller = new RequestController(false, () -> null);
+        controller.setMaxRequestCount(1);
+        controller.setMaxQueuedRequests(1);
+        final ControlPoint controlPoint = controller.getControlPoint("test.war", "servlet");
+        // The only request that may run is running, so that the tasks are queued
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        final AtomicInteger executed = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        controlPoint.queueTask(executed::incrementAndGet, Runnable::run, 0, rejected::incrementAndGet, false);
+        assertEquals(0, rejected.get());
+
+        // A task rejected as the queue is full is given to its rejection task
+        controlPoint.queueTask(executed::incrementAndGet, Runnable::run, 0, rejected::incrementAndGet, false);
+        assertEquals(1, rejected.get());
+
+        // Or, without one, rejected explicitly rather than dropped
+        try {
+            controlPoint.queueTask(executed::incrementAndGet, Runnable::run, 0, null, false);
+            fail("The task is rejected");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        // Only the queued task runs once the running request completes
+        controlPoint.requestComplete();
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void testRejectedOnSuspend() {
+        final RequestController controller = new RequestController(false, () -> null);
+        controller.suspend(ServerSuspendController.Context.RUNNING);
+        final ControlPoint controlPoint = controller.getControlPoint("test.war", "servlet");
+        final AtomicInteger rejected = new AtomicInteger();
+        controlPoint.queueTask(() -> { }, Runnable::run, 0, rejected::incrementAndGet, true);
+        assertEquals(1, rejected.get());
+        try {
+            controlPoint.queueTask(() -> { }, Runnable::run, 0, null, true);
+            fail("The task is rejected");
+        } catch (RejectedExecutionException expected) {
+        }
+    }
+}
@@ -66,14 +66,17 @@ import org.jboss.as.platform.mbean.RootPlatformMBeanResource;
 import org.jboss.as.remoting.HttpListenerRegistryService;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
 import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.resources.ContentRepositoryResourceDefinition;
 import org.jboss.as.server.controller.resources.ServerRootResourceDefinition;
 import org.jboss.as.server.controller.resources.VersionModelInitializer;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.BootDeploymentExecutor;
 import org.jboss.as.server.deployment.DeferredDeploymentOverlayDeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentCompleteServiceProcessor;
 import org.jboss.as.server.deployment.DeploymentMountProvider;
 import org.jboss.as.server.deployment.DeploymentOverlayDeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentProfile;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
@@ -82,6 +85,7 @@ import org.jboss.as.server.deployment.ServiceLoaderProcessor;
 import org.jboss.as.server.deployment.SubDeploymentProcessor;
 import org.jboss.as.server.deployment.annotation.AnnotationIndexProcessor;
 import org.jboss.as.server.deployment.annotation.CleanupAnnotationIndexProcessor;
+import org.jboss.as.server.deployment.annotation.PersistentIndexCache;
 import org.jboss.as.server.deployment.annotation.CompositeIndexProcessor;
 import org.jboss.as.server.deployment.dependencies.DeploymentDependenciesProcessor;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXMLParsingProcessor;
@@ -160,8 +164,13 @@ public final class ServerService extends AbstractControllerService {
     private volatile ExtensibleConfigurationPersister extensibleConfigurationPersister;
     private final ServerDelegatingResourceDefinition rootResourceDefinition;
     private final ServerSuspendController suspendController;
+    private volatile PersistentIndexCache annotationIndexCache;
     public static final String SERVER_NAME = "server";
 
+    /** System property setting the maximum size in bytes of the persistent annotation index cache; 0 disables it */
+    static final String ANNOTATION_INDEX_CACHE_MAX_SIZE = "org.jboss.as.server.annotation_index_cache_max_size";
+    private static final long DEFAULT_ANNOTATION_INDEX_CACHE_MAX_SIZE = 256L * 1024 * 1024;
+
     static final String EXTERNAL_MODULE_CAPABILITY_NAME = "org.wildfly.management.external-module";
 
     // TODO Remove type narrowing as soon as references to the implementation class are dropped from WildFly
@@ -269,6 +278,7 @@ public final class ServerService extends AbstractControllerService {
         Bootstrap.ConfigurationPersisterFactory configurationPersisterFactory = configuration.getConfigurationPersisterFactory();
         extensibleConfigurationPersister = configurationPersisterFactory.createConfigurationPersister(serverEnvironment, getExecutorService());
         setConfigurationPersister(extensibleConfigurationPersister);
+        annotationIndexCache = createAnnotationIndexCache(serverEnvironment);
         rootResourceDefinition.setDelegate(
                 new ServerRootResourceDefinition(injectedContentRepository.getValue(),
                         extensibleConfigurationPersister, configuration.getServerEnvironment(), processState,
@@ -287,14 +297,36 @@ public final class ServerService extends AbstractControllerService {
                         getMutableRootResourceRegistrationProvider(),
                         super.getBootErrorCollector(),
                         configuration.getCapabilityRegistry(),
-                        this.suspendController));
+                        this.suspendController,
+                        annotationIndexCache));
         super.start(context);
     }
 
+    /**
+     * Creates the cache of annotation indexes generated for managed deployment content, stored in the server's
+     * data directory, if the cache is enabled.
+     */
+    private static PersistentIndexCache createAnnotationIndexCache(final ServerEnvironment serverEnvironment) {
+        if (serverEnvironment == null || !serverEnvironment.getStability().enables(Stability.COMMUNITY)) {
+            return null;
+        }
+        long maxSize = DEFAULT_ANNOTATION_INDEX_CACHE_MAX_SIZE;
+        final String value = WildFlySecurityManager.getPropertyPrivileged(ANNOTATION_INDEX_CACHE_MAX_SIZE, null);
+        if (value != null) {
+            try {
+                maxSize = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                ServerLogger.ROOT_LOGGER.invalidIntegerSystemProperty(value, ANNOTATION_INDEX_CACHE_MAX_SIZE, maxSize);
+            }
+        }
+        return maxSize > 0 ? new PersistentIndexCache(serverEnvironment.getServerDataDir().toPath().resolve("annotation-index"), maxSize) : null;
+    }
+
     @Override
     protected void boot(final BootContext context) throws ConfigurationPersistenceException {
         boolean ok;
         Throwable cause = null;
+        BootDeploymentExecutor.bootStarting();
         try {
             final ServerEnvironment serverEnvironment = configuration.getServerEnvironment();
             final ServiceTarget serviceTarget = context.getServiceTarget();
@@ -345,7 +377,7 @@ public final class ServerService extends AbstractControllerService {
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_DEFERRED_DEPLOYMENT_OVERLAY, new DeferredDeploymentOverlayDeploymentUnitProcessor(injectedContentRepository.getValue()));
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_SUB_DEPLOYMENT, new SubDeploymentProcessor());
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_MODULE_IDENTIFIERS, new ModuleIdentifierProcessor());
-            DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor());
+            DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor(annotationIndexCache));
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_PARSE_JBOSS_ALL_XML, new JBossAllXMLParsingProcessor());
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_JBOSS_DEPLOYMENT_STRUCTURE, new DeploymentStructureDescriptorParser());
             DeployerChainAddHandler.addDeploymentProcessor(SERVER_NAME, Phase.STRUCTURE, Phase.STRUCTURE_CLASS_PATH, new ManifestClassPathProcessor());
@@ -405,6 +437,7 @@ public final class ServerService extends AbstractControllerService {
             ok = false;
             cause = e;
         }
+        BootDeploymentExecutor.bootCompleted();
 
         if (ok) {
             // Trigger the started message
@@ -420,6 +453,7 @@ public final class ServerService extends AbstractControllerService {
                 messages.add(ServerLogger.AS_ROOT_LOGGER.serverStabilityInUse(stability));
             }
             bootstrapListener.generateBootStatistics(messages.toArray(new String[0]));
+            DeploymentProfile.writeBootProfiles();
         } else {
             // Die!
             List<String> messages = new ArrayList<>();
@@ -476,6 +510,12 @@ public final class ServerService extends AbstractControllerService {
         rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.MANAGEMENT), managementResource);
         rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.SERVICE_CONTAINER), Resource.Factory.create());
         rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.MODULE_LOADING), PlaceholderResource.INSTANCE);
+        if (annotationIndexCache != null) {
+            rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.ANNOTATION_INDEX_CACHE), PlaceholderResource.INSTANCE);
+        }
+        if (managementModel.getRootResourceRegistration().getSubModel(PathAddress.pathAddress(ContentRepositoryResourceDefinition.PATH_ELEMENT)) != null) {
+            rootResource.registerChild(ContentRepositoryResourceDefinition.PATH_ELEMENT, PlaceholderResource.INSTANCE);
+        }
         rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE, ModelDescriptionConstants.CAPABILITY_REGISTRY), Resource.Factory.create());
         managementResource.registerChild(AccessAuthorizationResourceDefinition.PATH_ELEMENT, AccessAuthorizationResourceDefinition.createResource(authorizer.getWritableAuthorizerConfiguration()));
         rootResource.registerChild(ServerEnvironmentResourceDescription.RESOURCE_PATH, Resource.Factory.create());
@@ -0,0 +1,76 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.controller.resources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ANNOTATION_INDEX_CACHE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceRegistration;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.deployment.annotation.PersistentIndexCache;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the core-service=annotation-index-cache resource, exposing the metrics of the
+ * {@link PersistentIndexCache persistent cache} of annotation indexes generated for managed deployment content.
+ */
+public class AnnotationIndexCacheResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(CORE_SERVICE, ANNOTATION_INDEX_CACHE);
+
+    static final AttributeDefinition HIT_COUNT = createCounter("hit-count");
+    static final AttributeDefinition MISS_COUNT = createCounter("miss-count");
+    static final AttributeDefinition ENTRY_COUNT = new SimpleAttributeDefinitionBuilder("entry-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+    static final AttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+
+    private final PersistentIndexCache cache;
+
+    AnnotationIndexCacheResourceDefinition(final PersistentIndexCache cache) {
+        super(new Parameters(ResourceRegistration.of(PATH_ELEMENT, Stability.COMMUNITY),
+                ServerDescriptions.getResourceDescriptionResolver("core", ANNOTATION_INDEX_CACHE))
+                .setRuntime()
+        );
+        this.cache = cache;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        registerMetric(resourceRegistration, HIT_COUNT, PersistentIndexCache::getHitCount);
+        registerMetric(resourceRegistration, MISS_COUNT, PersistentIndexCache::getMissCount);
+        registerMetric(resourceRegistration, ENTRY_COUNT, PersistentIndexCache::getEntryCount);
+        registerMetric(resourceRegistration, SIZE, PersistentIndexCache::getSize);
+    }
+
+    private void registerMetric(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition attribute,
+                                final ToLongFunction<PersistentIndexCache> metric) {
+        resourceRegistration.registerMetric(attribute, (context, operation) -> context.getResult().set(metric.applyAsLong(cache)));
+    }
+
+    private static AttributeDefinition createCounter(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .build();
+    }
+}
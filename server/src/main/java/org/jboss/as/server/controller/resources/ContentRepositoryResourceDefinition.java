@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.controller.resources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT_REPOSITORY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceRegistration;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.repository.ContentStorageStatistics;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the core-service=content-repository resource, exposing the {@link ContentStorageStatistics statistics}
+ * of a content repository storing deployment content as deduplicated chunks.
+ */
+public class ContentRepositoryResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(CORE_SERVICE, CONTENT_REPOSITORY);
+
+    static final AttributeDefinition DEDUPLICATION_RATIO = new SimpleAttributeDefinitionBuilder("deduplication-ratio", ModelType.DOUBLE)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+    static final AttributeDefinition BYTES_SAVED = new SimpleAttributeDefinitionBuilder("bytes-saved", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+
+    private final ContentStorageStatistics statistics;
+
+    ContentRepositoryResourceDefinition(final ContentStorageStatistics statistics) {
+        super(new Parameters(ResourceRegistration.of(PATH_ELEMENT, Stability.COMMUNITY),
+                ServerDescriptions.getResourceDescriptionResolver("core", CONTENT_REPOSITORY))
+                .setRuntime()
+        );
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(DEDUPLICATION_RATIO, (context, operation) -> context.getResult().set(statistics.getDeduplicationRatio()));
+        resourceRegistration.registerMetric(BYTES_SAVED, (context, operation) -> context.getResult().set(statistics.getBytesSaved()));
+    }
+}
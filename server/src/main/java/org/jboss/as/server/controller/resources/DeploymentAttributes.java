@@ -52,6 +52,7 @@ import org.jboss.as.controller.registry.OperationEntry.Flag;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.AbstractDeploymentUnitService;
 import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -458,6 +459,22 @@ public class DeploymentAttributes {
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
 
+    //Upload deployment delta definition
+    public static final AttributeDefinition BASE_HASH = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.BASE_HASH, ModelType.BYTES)
+            .setValidator(new HashValidator(false))
+            .build();
+    public static final AttributeDefinition HASH_NOT_NULL = SimpleAttributeDefinitionBuilder.create(CONTENT_HASH)
+            .setRequired(true)
+            .setAlternatives()
+            .build();
+    public static final OperationDefinition UPLOAD_DELTA_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.UPLOAD_DEPLOYMENT_DELTA, DEPLOYMENT_RESOLVER)
+            .setParameters(BASE_HASH, INPUT_STREAM_INDEX_NOT_NULL, HASH_NOT_NULL)
+            .setReplyParameters(UPLOAD_HASH_REPLY)
+            .setRuntimeOnly()
+            .setStability(Stability.COMMUNITY)
+            .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
+            .build();
+
     //Replace deployment definition
     public static final Map<String, AttributeDefinition> REPLACE_DEPLOYMENT_ATTRIBUTES = createAttributeMap(NAME, TO_REPLACE, CONTENT_PARAM_ALL_NILLABLE, RUNTIME_NAME_NILLABLE);
     public static final OperationDefinition REPLACE_DEPLOYMENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.REPLACE_DEPLOYMENT, DEPLOYMENT_RESOLVER)
@@ -0,0 +1,66 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.controller.resources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceRegistration;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.deployment.DeploymentProfile;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the deployment-profile=* children of a deployment resource, exposing the time the deployment unit
+ * processors spent in a phase of the deployment, and the memory they allocated, if {@link DeploymentProfile profiling}
+ * is enabled.
+ */
+public class DeploymentProfileResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(DeploymentProfile.DEPLOYMENT_PROFILE);
+
+    private static final AttributeDefinition TIME = new SimpleAttributeDefinitionBuilder(DeploymentProfile.TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    private static final AttributeDefinition ALLOCATED_BYTES = new SimpleAttributeDefinitionBuilder(DeploymentProfile.ALLOCATED_BYTES, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    private static final AttributeDefinition PROCESSOR = new SimpleAttributeDefinitionBuilder(DeploymentProfile.PROCESSOR, ModelType.STRING)
+            .build();
+    private static final AttributeDefinition PROCESSOR_SUBSYSTEM = new SimpleAttributeDefinitionBuilder(SUBSYSTEM, ModelType.STRING, true)
+            .build();
+    private static final AttributeDefinition PRIORITY = new SimpleAttributeDefinitionBuilder(DeploymentProfile.PRIORITY, ModelType.INT)
+            .build();
+    private static final AttributeDefinition PROCESSORS = new ObjectListAttributeDefinition.Builder(DeploymentProfile.PROCESSORS,
+            new ObjectTypeAttributeDefinition.Builder(DeploymentProfile.PROCESSOR, PROCESSOR, PROCESSOR_SUBSYSTEM, PRIORITY, TIME, ALLOCATED_BYTES).build())
+            .build();
+
+    static final DeploymentProfileResourceDefinition INSTANCE = new DeploymentProfileResourceDefinition();
+
+    private DeploymentProfileResourceDefinition() {
+        super(new Parameters(ResourceRegistration.of(PATH_ELEMENT, Stability.COMMUNITY),
+                ServerDescriptions.getResourceDescriptionResolver(DEPLOYMENT, DeploymentProfile.DEPLOYMENT_PROFILE))
+                .setRuntime()
+        );
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        // The model of the resource is the recorded profile
+        for (AttributeDefinition attribute : new AttributeDefinition[] { TIME, ALLOCATED_BYTES, PROCESSORS }) {
+            resourceRegistration.registerReadOnlyAttribute(attribute, null);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.controller.resources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION_CACHE;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceRegistration;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.DescriptionCache;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the core-service=description-cache resource, exposing the metrics of the {@link DescriptionCache cache}
+ * of the descriptions of the server's resources and operations.
+ */
+public class DescriptionCacheResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(CORE_SERVICE, DESCRIPTION_CACHE);
+
+    static final AttributeDefinition HIT_COUNT = createCounter("hit-count");
+    static final AttributeDefinition MISS_COUNT = createCounter("miss-count");
+
+    private final DescriptionCache cache;
+
+    DescriptionCacheResourceDefinition(final DescriptionCache cache) {
+        super(new Parameters(ResourceRegistration.of(PATH_ELEMENT, Stability.COMMUNITY),
+                ServerDescriptions.getResourceDescriptionResolver("core", DESCRIPTION_CACHE))
+                .setRuntime()
+        );
+        this.cache = cache;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        registerMetric(resourceRegistration, HIT_COUNT, DescriptionCache::getHitCount);
+        registerMetric(resourceRegistration, MISS_COUNT, DescriptionCache::getMissCount);
+    }
+
+    private void registerMetric(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition attribute,
+                                final ToLongFunction<DescriptionCache> metric) {
+        resourceRegistration.registerMetric(attribute, (context, operation) -> context.getResult().set(metric.applyAsLong(cache)));
+    }
+
+    private static AttributeDefinition createCounter(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .build();
+    }
+}
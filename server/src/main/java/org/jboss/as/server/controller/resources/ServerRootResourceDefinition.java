@@ -67,6 +67,7 @@ import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
+import org.jboss.as.controller.registry.DescriptionCache;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.RuntimePackageDependency;
@@ -77,6 +78,7 @@ import org.jboss.as.domain.management.audit.EnvironmentNameReader;
 import org.jboss.as.domain.management.security.WhoAmIOperation;
 import org.jboss.as.platform.mbean.PlatformMBeanResourceRegistrar;
 import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.repository.ContentStorageStatistics;
 import org.jboss.as.server.DeployerChainAddHandler;
 import org.jboss.as.server.DomainServerCommunicationServices;
 import org.jboss.as.server.ServerEnvironment;
@@ -88,8 +90,10 @@ import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.DeploymentFullReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
+import org.jboss.as.server.deployment.DeploymentUploadDeltaHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
 import org.jboss.as.server.deployment.DeploymentUploadURLHandler;
+import org.jboss.as.server.deployment.annotation.PersistentIndexCache;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayDefinition;
 import org.jboss.as.server.mgmt.HttpManagementResourceDefinition;
 import org.jboss.as.server.mgmt.NativeManagementResourceDefinition;
@@ -267,6 +271,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
     private final MutableRootResourceRegistrationProvider rootResourceRegistrationProvider;
     private final BootErrorCollector bootErrorCollector;
     private final ServerSuspendController suspendController;
+    private final PersistentIndexCache annotationIndexCache;
 
     public ServerRootResourceDefinition(
             final ContentRepository contentRepository,
@@ -285,6 +290,29 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             final BootErrorCollector bootErrorCollector,
             final CapabilityRegistry capabilityRegistry,
             final ServerSuspendController suspendController) {
+        this(contentRepository, extensibleConfigurationPersister, serverEnvironment, processState, runningModeControl,
+                extensionRegistry, parallelBoot, pathManager, operationIDUpdater, authorizer, securityIdentitySupplier,
+                auditLogger, rootResourceRegistrationProvider, bootErrorCollector, capabilityRegistry, suspendController, null);
+    }
+
+    public ServerRootResourceDefinition(
+            final ContentRepository contentRepository,
+            final ExtensibleConfigurationPersister extensibleConfigurationPersister,
+            final ServerEnvironment serverEnvironment,
+            final ControlledProcessState processState,
+            final RunningModeControl runningModeControl,
+            final ExtensionRegistry extensionRegistry,
+            final boolean parallelBoot,
+            final PathManagerService pathManager,
+            final DomainServerCommunicationServices.OperationIDUpdater operationIDUpdater,
+            final DelegatingConfigurableAuthorizer authorizer,
+            final ManagementSecurityIdentitySupplier securityIdentitySupplier,
+            final ManagedAuditLogger auditLogger,
+            final MutableRootResourceRegistrationProvider rootResourceRegistrationProvider,
+            final BootErrorCollector bootErrorCollector,
+            final CapabilityRegistry capabilityRegistry,
+            final ServerSuspendController suspendController,
+            final PersistentIndexCache annotationIndexCache) {
         super(new Parameters(ResourceRegistration.root(), ServerDescriptions.getResourceDescriptionResolver(SERVER, false))
                 .addCapabilities(PATH_CAPABILITY.fromBaseCapability(ServerEnvironment.HOME_DIR),
                         PATH_CAPABILITY.fromBaseCapability(ServerEnvironment.SERVER_BASE_DIR),
@@ -312,6 +340,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         this.rootResourceRegistrationProvider = rootResourceRegistrationProvider;
         this.bootErrorCollector = bootErrorCollector;
         this.suspendController = suspendController;
+        this.annotationIndexCache = annotationIndexCache;
     }
 
     @Override
@@ -354,6 +383,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         DeploymentUploadBytesHandler.register(resourceRegistration, contentRepository);
         DeploymentUploadURLHandler.register(resourceRegistration, contentRepository);
         DeploymentUploadStreamAttachmentHandler.register(resourceRegistration, contentRepository);
+        DeploymentUploadDeltaHandler.register(resourceRegistration, contentRepository);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.REPLACE_DEPLOYMENT_DEFINITION, DeploymentReplaceHandler.create(contentRepository));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.FULL_REPLACE_DEPLOYMENT_DEFINITION, DeploymentFullReplaceHandler.create(contentRepository));
 
@@ -526,6 +556,23 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         //module loading
         resourceRegistration.registerSubModel(ModuleLoadingResourceDefinition.INSTANCE);
 
+        // Persistent annotation index cache
+        if (annotationIndexCache != null) {
+            resourceRegistration.registerSubModel(new AnnotationIndexCacheResourceDefinition(annotationIndexCache));
+        }
+
+        // Deduplicated content storage
+        final ContentStorageStatistics contentStorageStatistics = contentRepository.getStorageStatistics();
+        if (contentStorageStatistics != null) {
+            resourceRegistration.registerSubModel(new ContentRepositoryResourceDefinition(contentStorageStatistics));
+        }
+
+        // Cached resource and operation descriptions
+        final DescriptionCache descriptionCache = resourceRegistration.getDescriptionCache();
+        if (descriptionCache != null) {
+            resourceRegistration.registerSubModel(new DescriptionCacheResourceDefinition(descriptionCache));
+        }
+
         // Platform MBeans
         PlatformMBeanResourceRegistrar.registerPlatformMBeanResources(resourceRegistration);
 
@@ -555,7 +602,9 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(new DeploymentOverlayDefinition(false, contentRepository, null));
 
         // The sub-deployments registry
-        deployments.registerSubModel(ServerSubDeploymentResourceDefinition.create());
+        deployments.registerSubModel(ServerSubDeploymentResourceDefinition.create())
+                .registerSubModel(DeploymentProfileResourceDefinition.INSTANCE);
+        deployments.registerSubModel(DeploymentProfileResourceDefinition.INSTANCE);
 
         // Extensions
         resourceRegistration.registerSubModel(new ExtensionResourceDefinition(extensionRegistry, parallelBoot, ExtensionRegistryType.SERVER, rootResourceRegistrationProvider));
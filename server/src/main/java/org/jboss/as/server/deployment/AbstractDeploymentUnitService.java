@@ -131,6 +131,7 @@ public abstract class AbstractDeploymentUnitService implements Service<Deploymen
         } else {
             ServerLogger.DEPLOYMENT_LOGGER.stoppedSubDeployment(name, (int) (context.getElapsedTime() / 1000000L));
         }
+        DeploymentProfile.remove(deploymentUnit);
         // Retain any attached builder across restarts
         this.serviceTargetTransformer = this.deploymentUnit.getAttachment(Attachments.DEPLOYMENT_UNIT_PHASE_SERVICE_TARGET_TRANSFORMER);
         //clear up all attachments
@@ -72,6 +72,12 @@ public final class Attachments {
      */
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
+    /**
+     * The hash of the managed archive providing the deployment's content. Not attached if the content is unmanaged or
+     * exploded, as it may then be modified without its hash changing.
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
     /**
      * An attachment defining a transformer of the ServiceTarget used to install a deployment unit phase.
      */
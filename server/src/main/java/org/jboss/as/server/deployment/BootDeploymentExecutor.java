@@ -0,0 +1,206 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Executes the phases of the deployments, up to {@link Phase#POST_MODULE}, on a bounded pool of threads while the server
+ * boots, rather than on the threads of the service container, which the other services starting during the boot need.
+ * <p>
+ * The phases of different deployments are then executed concurrently, as soon as the services they depend on are up,
+ * so the dependencies between deployments are still respected. A phase is only handed to the pool if one of its threads
+ * is free, and is otherwise executed by the service container thread starting it, as it was before. The phases waiting
+ * for other deployments, e.g. for their services, therefore never hold back those deployments by holding every thread of
+ * the pool. Enabled by setting the {@code org.jboss.as.server.parallel_deployment_threads} system property to the number
+ * of threads of the pool.
+ * <p>
+ * The deployment unit processors executed on the pool see the same context as on the service container thread: the
+ * phase service is started {@link StartContext#asynchronous() asynchronously}, so its start context, and the child
+ * target of the services the processors install, remain usable, and the phase is executed with the context class loader
+ * of the thread starting the phase service.
+ */
+public final class BootDeploymentExecutor {
+
+    /** The number of threads executing the phases of the deployments. Zero or less disables the executor. */
+    private static final int THREADS = getIntProperty("org.jboss.as.server.parallel_deployment_threads", 0);
+
+    // The executor of the boot in progress, if any. Guarded by the class
+    private static BootDeploymentExecutor current;
+
+    /**
+     * Executes a phase of a deployment.
+     */
+    @FunctionalInterface
+    interface Task {
+        void execute() throws StartException;
+    }
+
+    private final ThreadPoolExecutor executor;
+    // The free threads of the pool
+    private final Semaphore threads;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final AtomicInteger executed = new AtomicInteger();
+    private final LongAdder busyTime = new LongAdder();
+    private final long start = System.nanoTime();
+    private final AtomicLong end = new AtomicLong(start);
+
+    BootDeploymentExecutor(final int threads) {
+        this.threads = new Semaphore(threads);
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            public ThreadFactory run() {
+                return new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.TRUE, null, "Boot Deployment Phase -- %t", null, null);
+            }
+        });
+        executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts executing the phases of the deployments on the pool, if it is enabled.
+     */
+    public static synchronized void bootStarting() {
+        if (THREADS > 0 && current == null) {
+            current = new BootDeploymentExecutor(THREADS);
+        }
+    }
+
+    /**
+     * Stops executing the phases of the deployments on the pool, and logs how many were executed concurrently.
+     */
+    public static void bootCompleted() {
+        final BootDeploymentExecutor executor;
+        synchronized (BootDeploymentExecutor.class) {
+            executor = current;
+            current = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            final long elapsed = executor.end.get() - executor.start;
+            if (executor.executed.get() > 0 && elapsed > 0) {
+                ServerLogger.DEPLOYMENT_LOGGER.parallelDeploymentPhases(executor.executed.get(), THREADS, executor.maxActive.get(),
+                        (double) executor.busyTime.sum() / elapsed);
+            }
+        }
+    }
+
+    /**
+     * Executes a phase of a deployment on the pool, if the server is booting and the phase is not past
+     * {@link Phase#POST_MODULE}, completing the start of the phase service once it is executed.
+     *
+     * @param phase the phase
+     * @param context the start context of the phase service
+     * @param task executes the phase
+     * @return {@code true} if the phase is executed asynchronously, {@code false} if the caller must execute it
+     */
+    static boolean execute(final Phase phase, final StartContext context, final Task task) {
+        if (phase.compareTo(Phase.POST_MODULE) > 0) {
+            return false;
+        }
+        synchronized (BootDeploymentExecutor.class) {
+            return current != null && current.submit(context, task);
+        }
+    }
+
+    /**
+     * Executes a phase of a deployment on the pool, if one of its threads is free.
+     *
+     * @param context the start context of the phase service
+     * @param task executes the phase
+     * @return {@code true} if the phase is executed asynchronously, {@code false} if the caller must execute it
+     */
+    boolean submit(final StartContext context, final Task task) {
+        if (!threads.tryAcquire()) {
+            return false;
+        }
+        context.asynchronous();
+        executor.execute(new Execution(context, task));
+        return true;
+    }
+
+    /**
+     * Stops accepting phases, while still executing those already submitted.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    static int getIntProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.invalidIntegerSystemProperty(value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private final class Execution implements Runnable {
+
+        private final StartContext context;
+        private final Task task;
+        // The context class loader of the service container thread starting the phase service
+        private final ClassLoader contextClassLoader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+
+        private Execution(final StartContext context, final Task task) {
+            this.context = context;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            final long started = System.nanoTime();
+            StartException failure = null;
+            final ClassLoader current = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(contextClassLoader);
+            try {
+                task.execute();
+            } catch (StartException e) {
+                failure = e;
+            } catch (RuntimeException | Error e) {
+                failure = new StartException(e);
+            } finally {
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
+                // Recorded before the service is started, so that the statistics are complete once the boot is
+                final long ended = System.nanoTime();
+                busyTime.add(ended - started);
+                end.accumulateAndGet(ended, Math::max);
+                executed.incrementAndGet();
+                active.decrementAndGet();
+                threads.release();
+            }
+            if (failure == null) {
+                context.complete();
+            } else {
+                context.failed(failure);
+            }
+        }
+    }
+
+    // Wrapper class to delay thread group creation until when it's needed.
+    private static class ThreadGroupHolder {
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("BootDeploymentExecutor ThreadGroup");
+    }
+}
@@ -9,6 +9,7 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
@@ -20,6 +21,7 @@ import org.jboss.vfs.VirtualFile;
 class ContentServitor implements Service<VirtualFile> {
     private final InjectedValue<ContentRepository> contentRepositoryInjectedValue = new InjectedValue<ContentRepository>();
     private final byte[] hash;
+    private volatile VirtualFile content;
 
     ContentServitor(final byte[] hash) {
         assert hash != null : "hash is null";
@@ -34,17 +36,23 @@ class ContentServitor implements Service<VirtualFile> {
     }
 
     @Override
-    public void start(StartContext startContext) {
-        // noop
+    public void start(StartContext startContext) throws StartException {
+        try {
+            content = contentRepositoryInjectedValue.getValue().getContent(hash);
+        } catch (RuntimeException e) {
+            throw new StartException(e);
+        }
     }
 
     @Override
     public void stop(StopContext stopContext) {
-        // noop
+        content = null;
+        // Any copy made to read the content is no longer needed once the deployment is stopped
+        contentRepositoryInjectedValue.getValue().releaseContent(hash);
     }
 
     @Override
     public VirtualFile getValue() throws IllegalStateException, IllegalArgumentException {
-        return contentRepositoryInjectedValue.getValue().getContent(hash);
+        return content;
     }
 }
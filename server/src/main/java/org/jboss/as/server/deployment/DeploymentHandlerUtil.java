@@ -188,9 +188,11 @@ public class DeploymentHandlerUtil {
         // TODO: overlay service
         final ServiceName contentsServiceName = deploymentUnitServiceName.append("contents");
         boolean isExplodedContent = false;
+        byte[] contentHash = null;
         if (contents[0].hash != null) {
             if (contents[0].isArchive) {
                 contentService = ContentServitor.addService(serviceTarget, contentsServiceName, contents[0].hash);
+                contentHash = contents[0].hash;
             } else {
                 isExplodedContent = true;
                 contentService = ManagedExplodedContentServitor.addService(context, contentsServiceName, managementName, contents[0].hash);
@@ -215,7 +217,7 @@ public class DeploymentHandlerUtil {
                 serverDeploymentRepositorySupplier, pathManagerSupplier, contentsSupplier,
                 deploymentUnitName, managementName, null, context.getStability(),
                 registration, mutableRegistration, deploymentResource, context.getCapabilityServiceSupport(), overlays,
-                annotationIndexSupport, isExplodedContent);
+                annotationIndexSupport, isExplodedContent, contentHash);
         final ServiceController<?> deploymentUnitController = sb.setInstance(service).install();
 
         contentService.addListener(new LifecycleListener() {
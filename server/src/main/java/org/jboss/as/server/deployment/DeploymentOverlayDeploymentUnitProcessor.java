@@ -50,6 +50,8 @@ public class DeploymentOverlayDeploymentUnitProcessor implements DeploymentUnitP
 
     protected static final AttachmentKey<AttachmentList<Closeable>> MOUNTED_FILES = AttachmentKey.createList(Closeable.class);
     protected static final AttachmentKey<Map<String, byte[]>> DEFERRED_OVERLAYS = AttachmentKey.create(Map.class);
+    // The hashes of the overlay content obtained from the repository, released once the overlays are unmounted
+    private static final AttachmentKey<AttachmentList<byte[]>> OVERLAY_CONTENT = AttachmentKey.createList(byte[].class);
 
     public DeploymentOverlayDeploymentUnitProcessor(final ContentRepository contentRepository) {
         this.contentRepository = contentRepository;
@@ -83,6 +85,7 @@ public class DeploymentOverlayDeploymentUnitProcessor implements DeploymentUnitP
 
                     paths.add(path);
                     VirtualFile content = contentRepository.getContent(entry.getValue());
+                    deploymentUnit.addToAttachmentList(OVERLAY_CONTENT, entry.getValue());
                     if (exploded) {
                         VirtualFile parent = mountPoint.getParent();
                         while (!parent.exists()) {
@@ -189,7 +192,10 @@ public class DeploymentOverlayDeploymentUnitProcessor implements DeploymentUnitP
                 ServerLogger.DEPLOYMENT_LOGGER.failedToUnmountContentOverride(e);
             }
         }
-
+        for (byte[] hash : context.getAttachmentList(OVERLAY_CONTENT)) {
+            contentRepository.releaseContent(hash);
+        }
+        context.removeAttachment(OVERLAY_CONTENT);
     }
 
     protected static void copyFile(final File src, final File dest) throws IOException {
@@ -0,0 +1,285 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * The time the {@link DeploymentUnitProcessor deployment unit processors} spent deploying a deployment unit, and the
+ * memory they allocated doing so, per {@link Phase}.
+ * <p>
+ * Profiles are only recorded if the {@code org.jboss.as.server.deployment_profile} system property is {@code true}, or if
+ * the {@code org.jboss.as.server.deployment_profile_file} system property names a file, to which the profiles of the
+ * deployments are then written in JSON at the end of the server boot. The profile of each phase is exposed as a
+ * runtime {@value #DEPLOYMENT_PROFILE} child of the deployment resource.
+ */
+public final class DeploymentProfile {
+
+    public static final String DEPLOYMENT_PROFILE = "deployment-profile";
+    /** The time spent deploying, in microseconds. */
+    public static final String TIME = "time";
+    /** The bytes allocated by the thread deploying, if the JVM can measure them. */
+    public static final String ALLOCATED_BYTES = "allocated-bytes";
+    public static final String PROCESSORS = "processors";
+    public static final String PROCESSOR = "processor";
+    public static final String PRIORITY = "priority";
+
+    private static final String PHASES = "phases";
+
+    private static final String FILE = WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment_profile_file", null);
+    static final boolean ENABLED = FILE != null
+            || Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.deployment_profile", "false"));
+
+    private static final AttachmentKey<DeploymentProfile> ATTACHMENT_KEY = AttachmentKey.create(DeploymentProfile.class);
+
+    // The profiles of the top-level deployments, by management name, until they are written at the end of the boot
+    private static final ConcurrentMap<String, DeploymentProfile> BOOT_PROFILES = new ConcurrentSkipListMap<>();
+
+    // The bean measuring the allocations of the current thread, or null if they are not measured
+    private static final ThreadMXBean THREAD_MXBEAN;
+
+    static {
+        ThreadMXBean threadMXBean = null;
+        if (ENABLED) {
+            try {
+                final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+                        && ((ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()) {
+                    threadMXBean = (ThreadMXBean) bean;
+                }
+            } catch (RuntimeException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.tracef(e, "Cannot measure the memory allocated by deployment unit processors");
+            }
+        }
+        THREAD_MXBEAN = threadMXBean;
+    }
+
+    private final Map<Phase, List<ModelNode>> phases = Collections.synchronizedMap(new EnumMap<>(Phase.class));
+    private final ConcurrentMap<String, DeploymentProfile> subDeployments = new ConcurrentSkipListMap<>();
+
+    private DeploymentProfile() {
+    }
+
+    /**
+     * Gets the profile of a deployment unit, creating it if needed.
+     */
+    static DeploymentProfile get(final DeploymentUnit unit) {
+        DeploymentProfile profile = unit.getAttachment(ATTACHMENT_KEY);
+        if (profile == null) {
+            profile = new DeploymentProfile();
+            unit.putAttachment(ATTACHMENT_KEY, profile);
+            final DeploymentUnit parent = unit.getParent();
+            if (parent == null) {
+                if (FILE != null) {
+                    BOOT_PROFILES.put(unit.getAttachment(Attachments.MANAGEMENT_NAME), profile);
+                }
+            } else {
+                final DeploymentProfile parentProfile = parent.getAttachment(ATTACHMENT_KEY);
+                if (parentProfile != null) {
+                    parentProfile.subDeployments.put(unit.getName(), profile);
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Discards the profile of a top-level deployment unit which is stopped, and so not to be written at the end of the boot.
+     */
+    static void remove(final DeploymentUnit unit) {
+        if (FILE != null && unit.getParent() == null) {
+            BOOT_PROFILES.remove(unit.getAttachment(Attachments.MANAGEMENT_NAME), unit.getAttachment(ATTACHMENT_KEY));
+        }
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread.
+     *
+     * @return the allocated bytes, or {@code -1} if the JVM cannot measure them
+     */
+    static long getAllocatedBytes() {
+        return THREAD_MXBEAN == null ? -1 : THREAD_MXBEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Records the time a processor spent deploying, and the memory it allocated.
+     *
+     * @param phase the phase in which the processor was run
+     * @param processor the processor
+     * @param start the {@link System#nanoTime()} before the processor was run
+     * @param allocatedBytes the {@link #getAllocatedBytes() bytes allocated} before the processor was run
+     */
+    void record(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final long start, final long allocatedBytes) {
+        // Measure first, so that the recording itself is not counted
+        final long time = System.nanoTime() - start;
+        final long allocated = allocatedBytes < 0 ? -1 : getAllocatedBytes() - allocatedBytes;
+        final ModelNode record = new ModelNode();
+        record.get(PROCESSOR).set(processor.getProcessor().getClass().getName());
+        if (processor.getSubsystemName() != null) {
+            record.get(SUBSYSTEM).set(processor.getSubsystemName());
+        }
+        record.get(PRIORITY).set(processor.getPriority());
+        record.get(TIME).set(TimeUnit.NANOSECONDS.toMicros(time));
+        if (allocated >= 0) {
+            record.get(ALLOCATED_BYTES).set(allocated);
+        }
+        synchronized (phases) {
+            phases.computeIfAbsent(phase, p -> new ArrayList<>()).add(record);
+        }
+    }
+
+    /**
+     * Exposes the profile of a completed phase as a child of the deployment resource, if the resource can have one.
+     *
+     * @param unit the deployment unit
+     * @param phase the completed phase
+     */
+    void register(final DeploymentUnit unit, final Phase phase) {
+        final Resource root = unit.getAttachment(DeploymentResourceSupport.DEPLOYMENT_RESOURCE);
+        final ImmutableManagementResourceRegistration registration = unit.getAttachment(DeploymentResourceSupport.REGISTRATION_ATTACHMENT);
+        final PathElement path = PathElement.pathElement(DEPLOYMENT_PROFILE, getName(phase));
+        // The child resource is not registered if the stability level of the server does not enable it
+        if (root != null && registration != null && registration.getSubModel(PathAddress.pathAddress(path)) != null) {
+            synchronized (root) {
+                if (!root.hasChild(path)) {
+                    root.registerChild(path, new PhaseProfileResource(path, phase));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the profile of a phase.
+     *
+     * @return the model of the phase profile, with the {@link #TIME total time}, the {@link #ALLOCATED_BYTES total
+     *         allocated bytes}, and the profile of each {@link #PROCESSORS processor}
+     */
+    ModelNode getModel(final Phase phase) {
+        final List<ModelNode> records;
+        synchronized (phases) {
+            final List<ModelNode> recorded = phases.get(phase);
+            records = recorded == null ? Collections.emptyList() : new ArrayList<>(recorded);
+        }
+        final ModelNode model = new ModelNode();
+        long time = 0;
+        long allocated = 0;
+        final ModelNode processors = model.get(PROCESSORS).setEmptyList();
+        for (ModelNode record : records) {
+            processors.add(record.clone());
+            time += record.get(TIME).asLong();
+            allocated += record.get(ALLOCATED_BYTES).asLong(0);
+        }
+        model.get(TIME).set(time);
+        if (THREAD_MXBEAN != null) {
+            model.get(ALLOCATED_BYTES).set(allocated);
+        }
+        return model;
+    }
+
+    private ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        final ModelNode phasesNode = result.get(PHASES).setEmptyObject();
+        for (Phase phase : Phase.values()) {
+            final boolean recorded;
+            synchronized (phases) {
+                recorded = phases.containsKey(phase);
+            }
+            if (recorded) {
+                phasesNode.get(getName(phase)).set(getModel(phase));
+            }
+        }
+        if (!subDeployments.isEmpty()) {
+            final ModelNode subDeploymentsNode = result.get(SUBDEPLOYMENT);
+            for (Map.Entry<String, DeploymentProfile> entry : subDeployments.entrySet()) {
+                subDeploymentsNode.get(entry.getKey()).set(entry.getValue().toModelNode());
+            }
+        }
+        return result;
+    }
+
+    static String getName(final Phase phase) {
+        return phase.name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+    }
+
+    /**
+     * Writes the profiles of the deployments deployed during the boot to the file named by the
+     * {@code org.jboss.as.server.deployment_profile_file} system property, if it is set.
+     */
+    public static void writeBootProfiles() {
+        if (FILE == null) {
+            return;
+        }
+        final ModelNode profiles = new ModelNode().setEmptyObject();
+        for (Map.Entry<String, DeploymentProfile> entry : BOOT_PROFILES.entrySet()) {
+            profiles.get(entry.getKey()).set(entry.getValue().toModelNode());
+        }
+        // Deployments deployed after the boot are not written
+        BOOT_PROFILES.clear();
+        final Path file = Paths.get(FILE);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(profiles.toJSONString(false));
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.failedToWriteDeploymentProfiles(e, FILE);
+        }
+    }
+
+    /**
+     * The {@value #DEPLOYMENT_PROFILE} child of a deployment resource, whose model is the profile of a phase.
+     */
+    private class PhaseProfileResource extends PlaceholderResource.PlaceholderResourceEntry {
+
+        private final Phase phase;
+
+        PhaseProfileResource(final PathElement path, final Phase phase) {
+            super(path);
+            this.phase = phase;
+        }
+
+        @Override
+        public ModelNode getModel() {
+            return DeploymentProfile.this.getModel(phase);
+        }
+
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
+        @Override
+        public PhaseProfileResource clone() {
+            return this;
+        }
+    }
+}
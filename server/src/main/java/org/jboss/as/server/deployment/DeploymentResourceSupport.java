@@ -229,6 +229,9 @@ public final class DeploymentResourceSupport {
             for (final Resource.ResourceEntry entry : resource.getChildren(SUBDEPLOYMENT)) {
                 resource.removeChild(entry.getPathElement());
             }
+            for (final Resource.ResourceEntry entry : resource.getChildren(DeploymentProfile.DEPLOYMENT_PROFILE)) {
+                resource.removeChild(entry.getPathElement());
+            }
         }
     }
 
@@ -67,7 +67,6 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return create(deploymentUnit, phase, phase.getPhaseKey());
     }
 
-    @SuppressWarnings("unchecked")
     public synchronized void start(final StartContext context) throws StartException {
         if(runOnce.get()) {
             ServerLogger.DEPLOYMENT_LOGGER.deploymentRestartDetected(deploymentUnit.getName());
@@ -97,6 +96,17 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             return;
         }
         runOnce.set(true);
+        if (!BootDeploymentExecutor.execute(phase, context, () -> {
+            synchronized (this) {
+                deploy(context);
+            }
+        })) {
+            deploy(context);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deploy(final StartContext context) throws StartException {
         final DeployerChains chains = deployerChainsInjector.getValue();
         final DeploymentUnit deploymentUnit = this.deploymentUnit;
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
@@ -158,11 +168,23 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final DeploymentProfile profile = DeploymentProfile.ENABLED ? DeploymentProfile.get(deploymentUnit) : null;
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    if (profile == null) {
+                        processor.getProcessor().deploy(processorContext);
+                    } else {
+                        final long allocatedBytes = DeploymentProfile.getAllocatedBytes();
+                        final long start = System.nanoTime();
+                        try {
+                            processor.getProcessor().deploy(processorContext);
+                        } finally {
+                            // A failing processor is recorded too, as it may be the one a slow deployment is waiting for
+                            profile.record(phase, processor, start, allocatedBytes);
+                        }
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -173,6 +195,10 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        if (profile != null) {
+            profile.register(deploymentUnit, phase);
+        }
+
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
             final ServiceName serviceName = DeploymentUtils.getDeploymentUnitPhaseServiceName(deploymentUnit, nextPhase);
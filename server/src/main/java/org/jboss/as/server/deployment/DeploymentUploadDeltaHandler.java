@@ -0,0 +1,71 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BASE_HASH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INPUT_STREAM_INDEX;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UPLOAD_DEPLOYMENT_DELTA;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.repository.ContentDelta;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handler for the upload-deployment-delta operation, which adds content built by applying a {@link ContentDelta delta}
+ * to content already in the repository, so that a new version of a large archive can be uploaded as the bytes that
+ * changed.
+ */
+public class DeploymentUploadDeltaHandler implements OperationStepHandler {
+
+    public static final String OPERATION_NAME = UPLOAD_DEPLOYMENT_DELTA;
+
+    private static final Set<Action.ActionEffect> ACTION_EFFECT_SET =
+            EnumSet.of(Action.ActionEffect.WRITE_RUNTIME);
+
+    private final ContentRepository contentRepository;
+
+    private DeploymentUploadDeltaHandler(final ContentRepository contentRepository) {
+        this.contentRepository = contentRepository;
+    }
+
+    public static void register(final ManagementResourceRegistration registration, final ContentRepository repository) {
+        registration.registerOperationHandler(DeploymentAttributes.UPLOAD_DELTA_DEFINITION, new DeploymentUploadDeltaHandler(repository));
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        DeploymentAttributes.BASE_HASH.validateOperation(operation);
+        DeploymentAttributes.INPUT_STREAM_INDEX_NOT_NULL.validateOperation(operation);
+        DeploymentAttributes.HASH_NOT_NULL.validateOperation(operation);
+        // Trigger authz
+        AuthorizationResult authorizationResult = context.authorize(operation, ACTION_EFFECT_SET);
+        authorizationResult.failIfDenied(operation, context.getCurrentAddress());
+
+        final int streamIndex = operation.require(INPUT_STREAM_INDEX).asInt();
+        try (InputStream in = context.getAttachmentStream(streamIndex)) {
+            if (in == null) {
+                throw ServerLogger.ROOT_LOGGER.nullStreamAttachment(streamIndex);
+            }
+            byte[] hash = contentRepository.addContentDelta(operation.require(BASE_HASH).asBytes(), in, operation.require(HASH).asBytes());
+            context.getResult().set(hash);
+        } catch (IOException e) {
+            throw ServerLogger.ROOT_LOGGER.caughtIOExceptionUploadingContent(e);
+        }
+    }
+}
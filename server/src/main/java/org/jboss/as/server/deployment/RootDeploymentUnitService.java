@@ -35,6 +35,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final DeploymentOverlayIndex deploymentOverlays;
     private final WeakReference<AnnotationIndexSupport> annotationIndexSupport;
     private final boolean isExplodedContent;
+    private final byte[] contentHash;
     private final Stability stability;
 
     /**
@@ -48,6 +49,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param deploymentOverlays the deployment overlays
      * @param annotationIndexSupport operation-scoped cache of static module annotation indexes
      * @param exploded the deployment has been exploded
+     * @param contentHash the hash of the managed archive providing the deployment's content, or {@code null}
      */
     public RootDeploymentUnitService(final Consumer<DeploymentUnit> deploymentUnitConsumer,
                                      final Supplier<DeploymentMountProvider> serverDeploymentRepositorySupplier,
@@ -58,7 +60,8 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
                                      final DeploymentOverlayIndex deploymentOverlays,
                                      final AnnotationIndexSupport annotationIndexSupport,
-                                     final boolean exploded) {
+                                     final boolean exploded,
+                                     final byte[] contentHash) {
         super(deploymentUnitConsumer, registration, mutableRegistration, resource, capabilityServiceSupport, name);
         assert name != null : "name is null";
         this.serverDeploymentRepositorySupplier = serverDeploymentRepositorySupplier;
@@ -73,6 +76,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         // of the related deployment operations.
         this.annotationIndexSupport = new WeakReference<>(annotationIndexSupport);
         this.isExplodedContent = exploded;
+        this.contentHash = contentHash;
         this.stability = stability;
     }
 
@@ -88,6 +92,9 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX, deploymentOverlays);
         deploymentUnit.putAttachment(Attachments.PATH_MANAGER, pathManagerSupplier.get());
         deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_SUPPORT, annotationIndexSupport);
+        if (contentHash != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, contentHash);
+        }
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
         }
@@ -5,12 +5,18 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.vfs.VirtualFile;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -20,6 +26,19 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private final PersistentIndexCache indexCache;
+
+    public AnnotationIndexProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param indexCache cache of the indexes generated for managed deployment content. May be {@code null}
+     */
+    public AnnotationIndexProcessor(final PersistentIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -30,9 +49,55 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final DeploymentUnit topLevel = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+        final byte[] contentHash = indexCache == null ? null : topLevel.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        final Map<String, byte[]> overlays = contentHash == null ? null : getOverlays(deploymentUnit, topLevel);
         for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+            final String cacheKey = contentHash == null ? null : getCacheKey(topLevel, resourceRoot, contentHash, overlays);
+            ResourceRootIndexer.indexResourceRoot(resourceRoot, indexCache, cacheKey);
+        }
+    }
+
+    /**
+     * Gets the key of a resource root's index in the index cache, or {@code null} if the resource root
+     * is not part of the deployment content.
+     */
+    private static String getCacheKey(final DeploymentUnit topLevel, final ResourceRoot resourceRoot, final byte[] contentHash,
+                                      final Map<String, byte[]> overlays) {
+        final ResourceRoot deploymentRoot = topLevel.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final VirtualFile root = resourceRoot.getRoot();
+        final String path;
+        if (root.equals(deploymentRoot.getRoot())) {
+            path = "";
+        } else {
+            try {
+                path = root.getPathNameRelativeTo(deploymentRoot.getRoot());
+            } catch (IllegalArgumentException e) {
+                // e.g. a Class-Path entry referencing a jar outside the deployment
+                return null;
+            }
+        }
+        return PersistentIndexCache.createKey(contentHash, path, resourceRoot.getAttachment(Attachments.INDEX_IGNORE_PATHS), overlays);
+    }
+
+    private static Map<String, byte[]> getOverlays(final DeploymentUnit deploymentUnit, final DeploymentUnit topLevel) {
+        final DeploymentOverlayIndex overlayIndex = topLevel.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+        if (overlayIndex == null) {
+            return null;
+        }
+        final Map<String, byte[]> overlays = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : overlayIndex.getOverlays(topLevel.getName()).entrySet()) {
+            overlays.put(topLevel.getName() + '/' + entry.getKey(), entry.getValue());
+        }
+        if (deploymentUnit != topLevel) {
+            for (Map.Entry<String, byte[]> entry : overlayIndex.getOverlays(deploymentUnit.getName()).entrySet()) {
+                overlays.put(deploymentUnit.getName() + '/' + entry.getKey(), entry.getValue());
+            }
         }
+        return overlays;
     }
 
 }
@@ -6,9 +6,10 @@
 package org.jboss.as.server.deployment.annotation;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -117,16 +118,15 @@ public final class AnnotationIndexSupport {
         final Indexer indexer = new Indexer();
         final PathFilter filter = PathFilters.getDefaultImportFilter();
         final Iterator<Resource> iterator = module.iterateResources(filter);
+        final List<Resource> classResources = new ArrayList<>();
         while (iterator.hasNext()) {
             Resource resource = iterator.next();
             if(resource.getName().endsWith(".class")) {
-                try (InputStream in = resource.openStream()) {
-                    indexer.index(in);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(resource.getName(), resource.getURL().toExternalForm(), e);
-                }
+                classResources.add(resource);
             }
         }
+        ClassFileIndexer.index(indexer, classResources, Resource::openStream,
+                (resource, e) -> ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(resource.getName(), resource.getURL().toExternalForm(), e));
         return new CompositeIndex(Collections.singleton(indexer.complete()));
     }
 }
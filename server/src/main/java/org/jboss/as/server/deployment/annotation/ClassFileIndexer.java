@@ -0,0 +1,189 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Indexer;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Adds class files to an {@link Indexer}.
+ *
+ * <p>If there are at least {@link #PARALLEL_THRESHOLD} class files, they are read and decompressed in batches by a
+ * shared, bounded {@link ForkJoinPool}, while the calling thread parses the previously read batch. Parsing is not
+ * itself spread across threads, as an {@code Indexer} is not thread safe and the resulting indexes cannot be merged
+ * without losing information.</p>
+ */
+final class ClassFileIndexer {
+
+    /** The number of class files from which they are read in parallel. Zero or less disables parallel reading. */
+    static final int PARALLEL_THRESHOLD = getIntProperty("org.jboss.as.server.parallel_indexing_threshold", 1000);
+    private static final int PARALLELISM = getIntProperty("org.jboss.as.server.parallel_indexing_threads", Runtime.getRuntime().availableProcessors());
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Opens a class file.
+     *
+     * @param <T> the type of the class file
+     */
+    @FunctionalInterface
+    interface Opener<T> {
+        InputStream open(T classFile) throws IOException;
+    }
+
+    /**
+     * Handles a class file that could not be indexed.
+     *
+     * @param <T> the type of the class file
+     */
+    @FunctionalInterface
+    interface FailureHandler<T> {
+        void failed(T classFile, Exception cause);
+    }
+
+    private ClassFileIndexer() {
+    }
+
+    /**
+     * Adds the given class files to an indexer.
+     *
+     * @param indexer the indexer
+     * @param classFiles the class files
+     * @param opener opens each class file. May be invoked concurrently
+     * @param failureHandler invoked for each class file that could not be indexed. May be invoked concurrently
+     * @return {@code true} if every class file was indexed
+     */
+    static <T> boolean index(final Indexer indexer, final List<T> classFiles, final Opener<T> opener, final FailureHandler<T> failureHandler) {
+        if (PARALLEL_THRESHOLD <= 0 || PARALLELISM < 2 || classFiles.size() < PARALLEL_THRESHOLD) {
+            boolean complete = true;
+            for (T classFile : classFiles) {
+                try (InputStream in = opener.open(classFile)) {
+                    indexer.index(in);
+                } catch (Exception e) {
+                    failureHandler.failed(classFile, e);
+                    complete = false;
+                }
+            }
+            return complete;
+        }
+
+        boolean complete = true;
+        Batch<T> batch = new Batch<>(classFiles.subList(0, Math.min(BATCH_SIZE, classFiles.size())), opener, failureHandler);
+        ForkJoinTask<?> reading = PoolHolder.POOL.submit(batch);
+        for (int start = 0; start < classFiles.size(); start += BATCH_SIZE) {
+            reading.join();
+            final Batch<T> read = batch;
+            // Read the next batch while this one is parsed
+            final int next = start + BATCH_SIZE;
+            if (next < classFiles.size()) {
+                batch = new Batch<>(classFiles.subList(next, Math.min(next + BATCH_SIZE, classFiles.size())), opener, failureHandler);
+                reading = PoolHolder.POOL.submit(batch);
+            }
+            for (int i = 0; i < read.contents.length; i++) {
+                final byte[] bytes = read.contents[i];
+                if (bytes == null) {
+                    complete = false;
+                    continue;
+                }
+                try {
+                    indexer.index(new ByteArrayInputStream(bytes));
+                } catch (Exception e) {
+                    failureHandler.failed(read.classFiles.get(i), e);
+                    complete = false;
+                }
+            }
+        }
+        return complete;
+    }
+
+    private static int getIntProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.invalidIntegerSystemProperty(value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    /** Reads the contents of a batch of class files in parallel */
+    private static final class Batch<T> implements Runnable {
+        private final List<T> classFiles;
+        private final Opener<T> opener;
+        private final FailureHandler<T> failureHandler;
+        /** The contents of each class file, or {@code null} if the class file could not be read */
+        private final byte[][] contents;
+
+        private Batch(final List<T> classFiles, final Opener<T> opener, final FailureHandler<T> failureHandler) {
+            this.classFiles = classFiles;
+            this.opener = opener;
+            this.failureHandler = failureHandler;
+            this.contents = new byte[classFiles.size()][];
+        }
+
+        @Override
+        public void run() {
+            // A parallel stream started by a pool thread runs in that pool
+            IntStream.range(0, contents.length).parallel().forEach(this::read);
+        }
+
+        private void read(final int i) {
+            final T classFile = classFiles.get(i);
+            try (InputStream in = opener.open(classFile)) {
+                contents[i] = in.readAllBytes();
+            } catch (Exception e) {
+                failureHandler.failed(classFile, e);
+            }
+        }
+    }
+
+    /**
+     * Wrapper class to delay the pool creation until when it's needed.
+     */
+    private static final class PoolHolder {
+        private static final ForkJoinPool POOL = doPrivileged(new PrivilegedAction<ForkJoinPool>() {
+            public ForkJoinPool run() {
+                // The threads are created on demand, by whichever thread submits a batch, so each is created privileged
+                return new ForkJoinPool(PARALLELISM,
+                        pool -> doPrivileged((PrivilegedAction<ForkJoinWorkerThread>) () -> new IndexerThread(pool)), null, false);
+            }
+        });
+    }
+
+    /**
+     * A thread of the pool, which does not hold on to the context class loader or the access control context of the
+     * deployment which first needed it.
+     */
+    private static final class IndexerThread extends ForkJoinWorkerThread {
+
+        private IndexerThread(final ForkJoinPool pool) {
+            super(pool);
+            setDaemon(true);
+            setContextClassLoader(ClassFileIndexer.class.getClassLoader());
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            // The pool index is only assigned once the thread is started
+            setName("Annotation Indexer -- " + getPoolIndex());
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.AccessController;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.wildfly.common.Assert;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Persistent cache of the annotation indexes generated for resource roots of managed deployment content.
+ *
+ * <p>Managed content is identified by its hash, so the index generated for a resource root of that content can be
+ * reused whenever the same content is deployed again, including after a restart. Each index is stored in its own
+ * file in the cache directory. Once the total size of the stored indexes exceeds the configured bound, the least
+ * recently used indexes are removed.</p>
+ *
+ * <p>The cache only ever improves performance: a failure to read or write an index is logged at debug level and
+ * results in the index being generated as if it had not been cached.</p>
+ */
+public final class PersistentIndexCache {
+
+    /** Change whenever the way keys are computed or indexes are stored changes, to ignore previously stored indexes */
+    private static final String FORMAT_VERSION = "1";
+    /** Indexes written by a version of Jandex are ignored by any other, which may not read them identically */
+    private static final String JANDEX_VERSION = getJandexVersion();
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxSize;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong entryCount = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final Object evictionLock = new Object();
+
+    /**
+     * Creates a cache storing indexes in the given directory, which is created if it does not exist.
+     *
+     * @param directory the directory. Cannot be {@code null}
+     * @param maxSize the maximum total size in bytes of the stored indexes. Must be greater than zero
+     */
+    public PersistentIndexCache(final Path directory, final long maxSize) {
+        Assert.checkNotNullParam("directory", directory);
+        Assert.checkMinimumParameter("maxSize", 1, maxSize);
+        this.directory = directory;
+        this.maxSize = maxSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot create annotation index cache directory %s", directory);
+        }
+        evict();
+    }
+
+    /**
+     * Creates the key under which the index of a resource root is cached.
+     *
+     * @param contentHash the hash of the managed deployment content. Cannot be {@code null}
+     * @param path the path of the resource root relative to the root of the deployment content. Cannot be {@code null}
+     * @param ignoredPaths the paths not indexed within the resource root. May be {@code null}
+     * @param overlays the hashes of the deployment overlay content applied to the deployment, keyed by path.
+     *                 May be {@code null}
+     * @return the key. Will not be {@code null}
+     */
+    public static String createKey(final byte[] contentHash, final String path, final Collection<String> ignoredPaths,
+                                   final Map<String, byte[]> overlays) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, FORMAT_VERSION);
+        update(digest, JANDEX_VERSION);
+        digest.update(contentHash);
+        update(digest, path);
+        if (ignoredPaths != null) {
+            for (String ignored : new TreeSet<>(ignoredPaths)) {
+                update(digest, ignored);
+            }
+        }
+        if (overlays != null) {
+            for (Map.Entry<String, byte[]> overlay : new TreeMap<>(overlays).entrySet()) {
+                update(digest, overlay.getKey());
+                digest.update(overlay.getValue());
+            }
+        }
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    private static String getJandexVersion() {
+        final Package jandex = Index.class.getPackage();
+        final String version = jandex == null ? null : jandex.getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        // Without a manifest version, the name of the JAR, which includes the version in a server installation
+        final CodeSource codeSource = WildFlySecurityManager.isChecking()
+                ? AccessController.doPrivileged((PrivilegedAction<CodeSource>) () -> Index.class.getProtectionDomain().getCodeSource())
+                : Index.class.getProtectionDomain().getCodeSource();
+        return codeSource == null || codeSource.getLocation() == null ? "" : codeSource.getLocation().toString();
+    }
+
+    /**
+     * Gets a cached index.
+     *
+     * @param key the key of the index
+     * @return the index, or {@code null} if it is not cached
+     */
+    Index get(final String key) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        if (!Files.exists(file)) {
+            missCount.increment();
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            final Index index = new IndexReader(in).read();
+            hitCount.increment();
+            try {
+                // Record the use, so the index is not evicted before less recently used ones
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException ignored) {
+                // Only affects which indexes are evicted first
+            }
+            return index;
+        } catch (NoSuchFileException e) {
+            // Evicted concurrently
+            missCount.increment();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Discarding unreadable cached annotation index %s", file);
+            missCount.increment();
+            delete(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores an index in the cache, evicting the least recently used indexes if the cache has grown too large.
+     *
+     * @param key the key of the index
+     * @param index the index
+     */
+    void put(final String key, final Index index) {
+        final Path file = directory.resolve(key + INDEX_SUFFIX);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                new IndexWriter(out).write(index);
+            }
+            final long length = Files.size(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            entryCount.incrementAndGet();
+            if (size.addAndGet(length) > maxSize) {
+                evict();
+            }
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot cache annotation index %s", file);
+        } finally {
+            if (temp != null) {
+                delete(temp);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a cached index.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups that did not find a cached index.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of cached indexes. The value is recalculated whenever indexes are evicted, and may
+     * overestimate the actual number in between if an index is stored more than once.
+     *
+     * @return the number of cached indexes
+     */
+    public long getEntryCount() {
+        return entryCount.get();
+    }
+
+    /**
+     * Gets the total size in bytes of the cached indexes. As with {@link #getEntryCount()}, the value is only exact
+     * after indexes have been evicted.
+     *
+     * @return the total size of the cached indexes
+     */
+    public long getSize() {
+        return size.get();
+    }
+
+    /**
+     * Recalculates the size of the cache from the contents of its directory, and removes the least recently used
+     * indexes until the cache is no larger than 90% of its maximum size. Also removes temporary files left behind by
+     * a previous process.
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            final List<CachedFile> files = new ArrayList<>();
+            long total = 0;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    final String name = path.getFileName().toString();
+                    if (name.endsWith(INDEX_SUFFIX)) {
+                        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        files.add(new CachedFile(path, attributes.lastModifiedTime().toMillis(), attributes.size()));
+                        total += attributes.size();
+                    } else if (name.endsWith(TEMP_SUFFIX) && Files.getLastModifiedTime(path).toMillis() < System.currentTimeMillis() - 3600000) {
+                        delete(path);
+                    }
+                }
+            } catch (IOException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot read annotation index cache directory %s", directory);
+                return;
+            }
+            long count = files.size();
+            if (total > maxSize) {
+                final long target = maxSize / 10 * 9;
+                files.sort(Comparator.comparingLong(CachedFile::lastModified));
+                for (CachedFile file : files) {
+                    if (total <= target) {
+                        break;
+                    }
+                    if (delete(file.path)) {
+                        total -= file.size;
+                        count--;
+                    }
+                }
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Evicted annotation indexes from %s; %d bytes remain", directory, total);
+            }
+            size.set(total);
+            entryCount.set(count);
+        }
+    }
+
+    private static boolean delete(final Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot delete %s", path);
+            return false;
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static final class CachedFile {
+        private final Path path;
+        private final long lastModified;
+        private final long size;
+
+        private CachedFile(final Path path, final long lastModified, final long size) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private long lastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -5,7 +5,6 @@
 
 package org.jboss.as.server.deployment.annotation;
 
-import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -18,7 +17,6 @@ import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
-import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
@@ -33,6 +31,19 @@ public class ResourceRootIndexer {
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null, null);
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached, reusing
+     * a previously generated index if one is available from the given cache.
+     *
+     * @param resourceRoot the resource root
+     * @param cache the cache of generated indexes. May be {@code null}
+     * @param cacheKey the key of the resource root's index in {@code cache}, created with
+     *                 {@link PersistentIndexCache#createKey}. May be {@code null} if the index is not to be cached
+     */
+    public static void indexResourceRoot(final ResourceRoot resourceRoot, final PersistentIndexCache cache, final String cacheKey) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -64,6 +75,16 @@ public class ResourceRootIndexer {
         }
 
         final VirtualFile virtualFile = resourceRoot.getRoot();
+        final boolean cacheable = cache != null && cacheKey != null;
+        if (cacheable) {
+            final Index cached = cache.get(cacheKey);
+            if (cached != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                ServerLogger.DEPLOYMENT_LOGGER.tracef("Found cached index for archive %s", virtualFile);
+                return;
+            }
+        }
+
         final Indexer indexer = new Indexer();
         try {
             final VisitorAttributes visitorAttributes = new VisitorAttributes();
@@ -75,20 +96,15 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-            for (VirtualFile classFile : classChildren) {
-                InputStream inputStream = null;
-                try {
-                    inputStream = classFile.openStream();
-                    indexer.index(inputStream);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e);
-                } finally {
-                    VFSUtils.safeClose(inputStream);
-                }
-            }
+            final boolean complete = ClassFileIndexer.index(indexer, classChildren, VirtualFile::openStream,
+                    (classFile, e) -> ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(classFile.getPathNameRelativeTo(virtualFile), virtualFile.getPathName(), e));
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            // Don't cache an index missing classes that could not be indexed, so the failures are reported again
+            if (cacheable && complete) {
+                cache.put(cacheKey, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
@@ -7,19 +7,38 @@ package org.jboss.as.server.deployment.reflect;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.as.server.moduleservice.ServiceModuleLoader;
 import org.jboss.as.server.security.ServerPermission;
+import org.jboss.modules.ModuleClassLoader;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A reflection index for a deployment.
+ * <p>
+ * If the {@code org.jboss.as.server.share_reflection_index} system property is {@code true}, the classes which are not
+ * defined by a deployment, and whose class loader is therefore the same for every deployment and every redeployment, are
+ * indexed once in an index shared by all the deployments.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class DeploymentReflectionIndex {
-    private final Map<Class<?>, ClassReflectionIndex> classes = new HashMap<Class<?>, ClassReflectionIndex>();
+
+    private static final boolean SHARE_INDEXES = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.share_reflection_index", "false"));
+
+    private static final DeploymentReflectionIndex SHARED = new DeploymentReflectionIndex();
+    // Does not prevent the classes, nor their class loaders, from being unloaded
+    private static final ClassValue<ClassReflectionIndex> SHARED_CLASSES = new ClassValue<ClassReflectionIndex>() {
+        @Override
+        protected ClassReflectionIndex computeValue(final Class<?> type) {
+            return SHARED.createClassIndex(type);
+        }
+    };
+
+    private final ConcurrentMap<Class<?>, ClassReflectionIndex> classes = new ConcurrentHashMap<>();
 
     DeploymentReflectionIndex() {
     }
@@ -38,27 +57,37 @@ public final class DeploymentReflectionIndex {
     }
 
     /**
-     * Get the (possibly cached) index for a given class.
+     * Get the (possibly cached) index for a given class. Each class is indexed once, and the indexes already cached are
+     * read without locking.
      *
      * @param clazz the class
      * @return the index
      */
     @SuppressWarnings({"unchecked"})
-    public synchronized ClassReflectionIndex getClassIndex(Class clazz) {
+    public ClassReflectionIndex getClassIndex(Class clazz) {
         try {
-            ClassReflectionIndex index = classes.get(clazz);
-            if (index == null) {
-                final SecurityManager sm = System.getSecurityManager();
-                if (sm == null) {
-                    index = new ClassReflectionIndex(clazz, this);
-                } else {
-                    index = AccessController.doPrivileged((PrivilegedAction<ClassReflectionIndex>) () -> new ClassReflectionIndex(clazz, this));
-                }
-                classes.put(clazz, index);
+            if (this == SHARED || SHARE_INDEXES && !isDeploymentClass(clazz)) {
+                return SHARED_CLASSES.get(clazz);
             }
-            return index;
+            final ClassReflectionIndex index = classes.get(clazz);
+            // A ClassReflectionIndex does not index other classes when created, so this does not update the map recursively
+            return index != null ? index : classes.computeIfAbsent(clazz, this::createClassIndex);
         } catch (Throwable e) {
             throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(clazz, clazz.getClassLoader(), e);
         }
     }
+
+    private ClassReflectionIndex createClassIndex(final Class<?> clazz) {
+        final SecurityManager sm = System.getSecurityManager();
+        if (sm == null) {
+            return new ClassReflectionIndex(clazz, this);
+        }
+        return AccessController.doPrivileged((PrivilegedAction<ClassReflectionIndex>) () -> new ClassReflectionIndex(clazz, this));
+    }
+
+    private static boolean isDeploymentClass(final Class<?> clazz) {
+        final ClassLoader loader = clazz.getClassLoader();
+        return loader instanceof ModuleClassLoader
+                && ((ModuleClassLoader) loader).getModule().getName().startsWith(ServiceModuleLoader.MODULE_PREFIX);
+    }
 }
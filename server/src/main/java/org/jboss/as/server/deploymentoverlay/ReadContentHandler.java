@@ -48,6 +48,8 @@ public class ReadContentHandler implements OperationStepHandler {
             context.getResult().set(readFile(file));
         } catch (IOException e) {
             throw ServerLogger.ROOT_LOGGER.failedToLoadFile(file, e);
+        } finally {
+            contentRepository.releaseContent(content);
         }
     }
 
@@ -1496,6 +1496,18 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 315, value = "Failed to restore file %s after failing to initialize the git repository %s -- Cause: %s")
     void failedToRestoreConfiguration(Path failed, String repository, String cause);
 
+    @LogMessage(level = WARN)
+    @Message(id = 316, value = "Failed to write the profiles of the deployments to %s")
+    void failedToWriteDeploymentProfiles(@Cause Throwable cause, String file);
+
+    @LogMessage(level = INFO)
+    @Message(id = 317, value = "Executed %d deployment phases on %d threads, with up to %d and on average %.1f of them executing concurrently")
+    void parallelDeploymentPhases(int phases, int threads, int maxConcurrent, double averageConcurrent);
+
+    @LogMessage(level = WARN)
+    @Message(id = 318, value = "Invalid value '%s' for system property '%s' -- using the default value %d")
+    void invalidIntegerSystemProperty(String val, String sysProp, long defaultValue);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
@@ -20,6 +20,7 @@ import javax.net.ssl.SSLContext;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.management.HttpInterfaceCommonPolicy.Header;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.domain.http.server.ConsoleAvailability;
 import org.jboss.as.domain.http.server.ConsoleMode;
 import org.jboss.as.domain.http.server.ManagementHttpRequestProcessor;
@@ -75,6 +76,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
     private final Consumer<HttpManagement> httpManagementConsumer;
     private final Supplier<ListenerRegistry> listenerRegistrySupplier;
     private final Supplier<ModelController> modelControllerSupplier;
+    private final ImmutableManagementResourceRegistration rootResourceRegistration;
     private final Supplier<SocketBinding> socketBindingSupplier;
     private final Supplier<SocketBinding> secureSocketBindingSupplier;
     private final Supplier<NetworkInterfaceBinding> interfaceBindingSupplier;
@@ -197,6 +199,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
     public UndertowHttpManagementService(final Consumer<HttpManagement> httpManagementConsumer,
                                          final Supplier<ListenerRegistry> listenerRegistrySupplier,
                                          final Supplier<ModelController> modelControllerSupplier,
+                                         final ImmutableManagementResourceRegistration rootResourceRegistration,
                                          final Supplier<SocketBinding> socketBindingSupplier,
                                          final Supplier<SocketBinding> secureSocketBindingSupplier,
                                          final Supplier<SocketBindingManager> socketBindingManagerSupplier,
@@ -218,7 +221,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
                                          final Integer noRequestTimeout,
                                          final Integer connectionHighWater,
                                          final Integer connectionLowWater) {
-        this(httpManagementConsumer, listenerRegistrySupplier, modelControllerSupplier, socketBindingSupplier,
+        this(httpManagementConsumer, listenerRegistrySupplier, modelControllerSupplier, rootResourceRegistration, socketBindingSupplier,
                 secureSocketBindingSupplier, socketBindingManagerSupplier, interfaceBindingSupplier, secureInterfaceBindingSupplier,
                 requestProcessorSupplier, workerSupplier, executorSupplier, httpAuthFactorySupplier, sslContextSupplier, port, securePort,
                 allowedOrigins, consoleMode, consoleSlot, constantHeaders, consoleAvailabilitySupplier, null, null,
@@ -228,6 +231,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
     public UndertowHttpManagementService(final Consumer<HttpManagement> httpManagementConsumer,
                                          final Supplier<ListenerRegistry> listenerRegistrySupplier,
                                          final Supplier<ModelController> modelControllerSupplier,
+                                         final ImmutableManagementResourceRegistration rootResourceRegistration,
                                          final Supplier<SocketBinding> socketBindingSupplier,
                                          final Supplier<SocketBinding> secureSocketBindingSupplier,
                                          final Supplier<SocketBindingManager> socketBindingManagerSupplier,
@@ -254,6 +258,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
         this.httpManagementConsumer = httpManagementConsumer;
         this.listenerRegistrySupplier = listenerRegistrySupplier;
         this.modelControllerSupplier = modelControllerSupplier;
+        this.rootResourceRegistration = rootResourceRegistration;
         this.socketBindingSupplier = socketBindingSupplier;
         this.secureSocketBindingSupplier = secureSocketBindingSupplier;
         this.socketBindingManagerSupplier = socketBindingManagerSupplier;
@@ -365,6 +370,7 @@ public class UndertowHttpManagementService implements Service<HttpManagement> {
                     .setBindAddress(bindAddress)
                     .setSecureBindAddress(secureBindAddress)
                     .setModelController(modelController)
+                    .setRootResourceRegistration(rootResourceRegistration)
                     .setSSLContext(sslContext)
                     .setConsoleMode(consoleMode)
                     .setConsoleSlot(consoleSlot.get())
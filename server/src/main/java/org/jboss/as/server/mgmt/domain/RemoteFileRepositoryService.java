@@ -17,6 +17,7 @@ import org.jboss.as.repository.ContentFilter;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.repository.ContentRepositoryElement;
+import org.jboss.as.repository.ContentStorageStatistics;
 import org.jboss.as.repository.DeploymentFileRepository;
 import org.jboss.as.repository.ExplodedContent;
 import org.jboss.as.repository.ExplodedContentException;
@@ -85,11 +86,21 @@ public class RemoteFileRepositoryService implements CompositeContentRepository,
         return contentRepository.addContent(stream);
     }
 
+    @Override
+    public byte[] addContentDelta(byte[] baseHash, InputStream delta, byte[] hash) throws IOException {
+        return contentRepository.addContentDelta(baseHash, delta, hash);
+    }
+
     @Override
     public VirtualFile getContent(byte[] hash) {
         return contentRepository.getContent(hash);
     }
 
+    @Override
+    public void releaseContent(byte[] hash) {
+        contentRepository.releaseContent(hash);
+    }
+
     @Override
     public boolean syncContent(ContentReference reference) {
         if (!contentRepository.hasContent(reference.getHash())) {
@@ -153,6 +164,11 @@ public class RemoteFileRepositoryService implements CompositeContentRepository,
         return contentRepository.cleanObsoleteContent();
     }
 
+    @Override
+    public ContentStorageStatistics getStorageStatistics() {
+        return contentRepository.getStorageStatistics();
+    }
+
     @Override
     public byte[] removeContentFromExploded(byte[] deploymentHash, List<String> paths) throws ExplodedContentException {
         return contentRepository.removeContentFromExploded(deploymentHash, paths);
@@ -0,0 +1,173 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootDeploymentExecutor}.
+ */
+public class BootDeploymentExecutorTestCase {
+
+    private static final String PROPERTY = "org.jboss.as.server.test.boot_deployment_threads";
+
+    @Test
+    public void testPhaseExecutedInlineWhenPoolIsBusy() throws Exception {
+        final BootDeploymentExecutor executor = new BootDeploymentExecutor(1);
+        try {
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final CountDownLatch completed = new CountDownLatch(1);
+            assertTrue(executor.submit(createContext(completed), () -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            // The only thread is busy, e.g. with a phase waiting for another deployment, which is then not queued behind it
+            assertFalse(executor.submit(createContext(new CountDownLatch(1)), () -> { }));
+
+            blocked.countDown();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+            // The thread is free again once the service of the first phase is started
+            final CountDownLatch next = new CountDownLatch(1);
+            assertTrue(executor.submit(createContext(next), () -> { }));
+            assertTrue(next.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testThreadContext() throws Exception {
+        final BootDeploymentExecutor executor = new BootDeploymentExecutor(1);
+        final ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[0], original)) {
+            // The thread of the pool is created by a first phase
+            final CountDownLatch first = new CountDownLatch(1);
+            assertTrue(executor.submit(createContext(first), () -> { }));
+            assertTrue(first.await(10, TimeUnit.SECONDS));
+
+            final AtomicReference<Thread> thread = new AtomicReference<>();
+            final AtomicReference<ClassLoader> contextClassLoader = new AtomicReference<>();
+            final CountDownLatch second = new CountDownLatch(1);
+            Thread.currentThread().setContextClassLoader(loader);
+            assertTrue(executor.submit(createContext(second), () -> {
+                thread.set(Thread.currentThread());
+                contextClassLoader.set(Thread.currentThread().getContextClassLoader());
+            }));
+            Thread.currentThread().setContextClassLoader(original);
+            assertTrue(second.await(10, TimeUnit.SECONDS));
+            // The phase is executed with the context class loader of the thread starting its service, as it would be on it
+            assertSame(loader, contextClassLoader.get());
+            assertTrue(thread.get().getName(), thread.get().getName().startsWith("Boot Deployment Phase -- "));
+            assertTrue(thread.get().isDaemon());
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDependentDeployment() throws Exception {
+        final BootDeploymentExecutor executor = new BootDeploymentExecutor(2);
+        final ServiceContainer container = ServiceContainer.Factory.create(BootDeploymentExecutorTestCase.class.getSimpleName());
+        try {
+            final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            final ServiceName first = ServiceName.of("first");
+            final ServiceName second = ServiceName.of("second");
+            // The dependent deployment is installed first, but only deployed once the deployment it depends on is
+            install(container, executor, second, executed, first);
+            install(container, executor, first, executed);
+            container.awaitStability(10, TimeUnit.SECONDS);
+
+            assertEquals(List.of("first", "second"), executed);
+            assertEquals(ServiceController.State.UP, container.getRequiredService(second).getState());
+        } finally {
+            executor.shutdown();
+            container.shutdown();
+            container.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testInvalidThreadCount() {
+        try {
+            System.setProperty(PROPERTY, " 4 ");
+            assertEquals(4, BootDeploymentExecutor.getIntProperty(PROPERTY, 0));
+            System.setProperty(PROPERTY, "four");
+            assertEquals(0, BootDeploymentExecutor.getIntProperty(PROPERTY, 0));
+            System.clearProperty(PROPERTY);
+            assertEquals(0, BootDeploymentExecutor.getIntProperty(PROPERTY, 0));
+        } finally {
+            System.clearProperty(PROPERTY);
+        }
+    }
+
+    private static void install(final ServiceContainer container, final BootDeploymentExecutor executor, final ServiceName name,
+                                final List<String> executed, final ServiceName... dependencies) {
+        final ServiceBuilder<?> builder = container.addService(name);
+        for (ServiceName dependency : dependencies) {
+            builder.requires(dependency);
+        }
+        builder.setInstance(new Service() {
+            @Override
+            public void start(final StartContext context) throws StartException {
+                // Started like a phase service
+                final BootDeploymentExecutor.Task task = () -> {
+                    try {
+                        // Long enough for the dependent deployment to be deployed first, if it was not waiting
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    executed.add(name.getSimpleName());
+                };
+                if (!executor.submit(context, task)) {
+                    task.execute();
+                }
+            }
+
+            @Override
+            public void stop(final StopContext context) {
+            }
+        });
+        builder.install();
+    }
+
+    private static StartContext createContext(final CountDownLatch completed) {
+        return (StartContext) Proxy.newProxyInstance(StartContext.class.getClassLoader(), new Class<?>[]{StartContext.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("complete")) {
+                        completed.countDown();
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.version.Stability;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentOverlayDeploymentUnitProcessor}.
+ */
+public class DeploymentOverlayDeploymentUnitProcessorTestCase {
+
+    private static final byte[] HASH = new byte[20];
+
+    private Path dir;
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("deployment-overlay");
+    }
+
+    @After
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testOverlayContentReleasedOnUndeploy() throws Exception {
+        final Path stored = Files.write(dir.resolve("stored"), "overlay".getBytes(StandardCharsets.UTF_8));
+        // A copy of the content, like the one reassembled from chunks, which is deleted once released
+        final Path copy = dir.resolve("copy");
+        final ContentRepository repository = (ContentRepository) Proxy.newProxyInstance(ContentRepository.class.getClassLoader(),
+                new Class<?>[]{ContentRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContent":
+                            Files.copy(stored, copy);
+                            return VFS.getChild(copy.toUri());
+                        case "releaseContent":
+                            Files.delete(copy);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        final Path root = Files.createDirectory(dir.resolve("test.war"));
+        final DeploymentUnit unit = new DeploymentUnitImpl(null, "test.war", null, Stability.DEFAULT);
+        unit.putAttachment(Attachments.DEPLOYMENT_ROOT, new ResourceRoot(VFS.getChild(root.toUri()), null));
+        final DeploymentPhaseContext phaseContext = (DeploymentPhaseContext) Proxy.newProxyInstance(DeploymentPhaseContext.class.getClassLoader(),
+                new Class<?>[]{DeploymentPhaseContext.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getDeploymentUnit")) {
+                        return unit;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        final DeploymentOverlayDeploymentUnitProcessor processor = new DeploymentOverlayDeploymentUnitProcessor(repository) {
+            @Override
+            protected Map<String, byte[]> getOverlays(final DeploymentUnit deploymentUnit) {
+                return Map.of("/overlay.txt", HASH);
+            }
+        };
+
+        processor.deploy(phaseContext);
+        final VirtualFile overlay = VFS.getChild(root.resolve("overlay.txt").toUri());
+        try (InputStream in = overlay.openStream()) {
+            assertEquals("overlay", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        // The content is used until the deployment is undeployed
+        assertTrue(Files.exists(copy));
+
+        processor.undeploy(unit);
+        assertFalse(Files.exists(copy));
+        // The content is only released once, even if another overlay processor of the deployment undeploys too
+        processor.undeploy(unit);
+    }
+}
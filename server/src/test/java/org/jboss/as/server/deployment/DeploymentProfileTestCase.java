@@ -0,0 +1,73 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentProfile}.
+ */
+public class DeploymentProfileTestCase {
+
+    @Test
+    public void testRecord() {
+        final DeploymentUnit unit = new DeploymentUnitImpl(null, "test.war", null, Stability.DEFAULT);
+        final DeploymentProfile profile = DeploymentProfile.get(unit);
+        assertSame(profile, DeploymentProfile.get(unit));
+
+        final RegisteredDeploymentUnitProcessor first = new RegisteredDeploymentUnitProcessor(1, new FirstProcessor(), "first");
+        final RegisteredDeploymentUnitProcessor second = new RegisteredDeploymentUnitProcessor(2, new SecondProcessor(), null);
+        final long now = System.nanoTime();
+        profile.record(Phase.PARSE, first, now - TimeUnit.MILLISECONDS.toNanos(2), -1);
+        profile.record(Phase.PARSE, second, now - TimeUnit.MILLISECONDS.toNanos(3), -1);
+
+        final ModelNode model = profile.getModel(Phase.PARSE);
+        final List<ModelNode> processors = model.get(DeploymentProfile.PROCESSORS).asList();
+        assertEquals(2, processors.size());
+        assertEquals(FirstProcessor.class.getName(), processors.get(0).get(DeploymentProfile.PROCESSOR).asString());
+        assertEquals("first", processors.get(0).get(ModelDescriptionConstants.SUBSYSTEM).asString());
+        assertEquals(1, processors.get(0).get(DeploymentProfile.PRIORITY).asInt());
+        assertTrue(processors.get(0).get(DeploymentProfile.TIME).asLong() >= 2000);
+        // The allocations are not recorded if they were not measured before the processor was run
+        assertFalse(processors.get(0).hasDefined(DeploymentProfile.ALLOCATED_BYTES));
+        assertFalse(processors.get(1).hasDefined(ModelDescriptionConstants.SUBSYSTEM));
+        assertEquals(processors.get(0).get(DeploymentProfile.TIME).asLong() + processors.get(1).get(DeploymentProfile.TIME).asLong(),
+                model.get(DeploymentProfile.TIME).asLong());
+
+        // A phase without processor run has an empty profile
+        final ModelNode empty = profile.getModel(Phase.INSTALL);
+        assertEquals(0, empty.get(DeploymentProfile.TIME).asLong());
+        assertTrue(empty.get(DeploymentProfile.PROCESSORS).asList().isEmpty());
+    }
+
+    @Test
+    public void testName() {
+        assertEquals("first-module-use", DeploymentProfile.getName(Phase.FIRST_MODULE_USE));
+    }
+
+    private static class FirstProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(final DeploymentPhaseContext phaseContext) {
+        }
+    }
+
+    private static class SecondProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(final DeploymentPhaseContext phaseContext) {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ClassFileIndexer}.
+ */
+public class ClassFileIndexerTestCase {
+
+    private static final Class<?>[] CLASSES = {ClassFileIndexer.class, ClassFileIndexerTestCase.class, PersistentIndexCache.class, ResourceRootIndexer.class};
+
+    @Test
+    public void testSequentialIndexing() {
+        testIndexing(CLASSES.length * 2);
+    }
+
+    @Test
+    public void testParallelIndexing() {
+        // Enough class files to be read in parallel, in more than one batch
+        testIndexing(Math.max(ClassFileIndexer.PARALLEL_THRESHOLD, 1) + 300);
+    }
+
+    @Test
+    public void testPoolThreads() {
+        final int count = Math.max(ClassFileIndexer.PARALLEL_THRESHOLD, 1) + 300;
+        final List<Class<?>> classFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            classFiles.add(CLASSES[i % CLASSES.length]);
+        }
+        final Map<Thread, ClassLoader> threads = new ConcurrentHashMap<>();
+        final Thread caller = Thread.currentThread();
+        final ClassLoader deploymentClassLoader = new URLClassLoader(new URL[0], null);
+        final ClassLoader original = caller.getContextClassLoader();
+        caller.setContextClassLoader(deploymentClassLoader);
+        try {
+            assertTrue(ClassFileIndexer.index(new Indexer(), classFiles, clazz -> {
+                threads.putIfAbsent(Thread.currentThread(), Thread.currentThread().getContextClassLoader());
+                return open(clazz);
+            }, (classFile, e) -> {}));
+        } finally {
+            caller.setContextClassLoader(original);
+        }
+        for (Map.Entry<Thread, ClassLoader> entry : threads.entrySet()) {
+            final Thread thread = entry.getKey();
+            if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() != ForkJoinPool.commonPool()) {
+                // The pool threads are recognizable and do not hold on to the class loader of the deployment being indexed
+                assertTrue(thread.getName(), thread.getName().startsWith("Annotation Indexer -- "));
+                assertTrue(thread.isDaemon());
+                assertSame(ClassFileIndexer.class.getClassLoader(), entry.getValue());
+            }
+        }
+    }
+
+    private static void testIndexing(final int count) {
+        final List<Class<?>> classFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            classFiles.add(CLASSES[i % CLASSES.length]);
+        }
+        final Indexer indexer = new Indexer();
+        final Set<Class<?>> failed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        assertTrue(ClassFileIndexer.index(indexer, classFiles, ClassFileIndexerTestCase::open, (classFile, e) -> failed.add(classFile)));
+        assertTrue(failed.isEmpty());
+        final Index index = indexer.complete();
+        assertEquals(CLASSES.length, index.getKnownClasses().size());
+        for (Class<?> clazz : CLASSES) {
+            assertNotNull(index.getClassByName(DotName.createSimple(clazz.getName())));
+        }
+
+        // A class file that cannot be read is reported, and the others are still indexed
+        classFiles.set(count / 2, Object.class);
+        final Indexer partial = new Indexer();
+        assertFalse(ClassFileIndexer.index(partial, classFiles, ClassFileIndexerTestCase::open, (classFile, e) -> failed.add(classFile)));
+        assertEquals(Collections.singleton(Object.class), failed);
+        assertEquals(CLASSES.length, partial.complete().getKnownClasses().size());
+    }
+
+    private static InputStream open(final Class<?> clazz) throws FileNotFoundException {
+        if (clazz == Object.class) {
+            throw new FileNotFoundException(clazz.getName());
+        }
+        return clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link PersistentIndexCache}.
+ */
+public class PersistentIndexCacheTestCase {
+
+    private static final byte[] HASH = {1, 2, 3, 4};
+
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("annotation-index");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testIndexSurvivesRestart() throws IOException {
+        final String key = PersistentIndexCache.createKey(HASH, "lib/a.jar", null, null);
+        PersistentIndexCache cache = new PersistentIndexCache(directory, Long.MAX_VALUE);
+        assertNull(cache.get(key));
+        cache.put(key, createIndex());
+        assertEquals(1, cache.getEntryCount());
+        assertTrue(cache.getSize() > 0);
+
+        // A new instance finds the index stored by the previous one
+        cache = new PersistentIndexCache(directory, Long.MAX_VALUE);
+        assertEquals(1, cache.getEntryCount());
+        final Index index = cache.get(key);
+        assertNotNull(index);
+        assertNotNull(index.getClassByName(DotName.createSimple(PersistentIndexCacheTestCase.class.getName())));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeyIdentifiesContent() {
+        final String key = PersistentIndexCache.createKey(HASH, "lib/a.jar", null, null);
+        assertEquals(key, PersistentIndexCache.createKey(HASH, "lib/a.jar", Collections.emptyList(), Collections.emptyMap()));
+        assertNotEquals(key, PersistentIndexCache.createKey(new byte[] {1, 2, 3, 5}, "lib/a.jar", null, null));
+        assertNotEquals(key, PersistentIndexCache.createKey(HASH, "lib/b.jar", null, null));
+        assertNotEquals(key, PersistentIndexCache.createKey(HASH, "lib/a.jar", Collections.singletonList("org/example"), null));
+        assertNotEquals(key, PersistentIndexCache.createKey(HASH, "lib/a.jar", null, Collections.singletonMap("a.war/WEB-INF/web.xml", HASH)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIndexEvicted() throws IOException {
+        final Index index = createIndex();
+        final String first = PersistentIndexCache.createKey(HASH, "first", null, null);
+        final String second = PersistentIndexCache.createKey(HASH, "second", null, null);
+        final String third = PersistentIndexCache.createKey(HASH, "third", null, null);
+
+        new PersistentIndexCache(directory, Long.MAX_VALUE).put(first, index);
+        final long indexSize = Files.size(directory.resolve(first + ".idx"));
+
+        // Room for two indexes
+        final PersistentIndexCache cache = new PersistentIndexCache(directory, indexSize * 2 + indexSize / 2);
+        cache.put(second, index);
+        Files.setLastModifiedTime(directory.resolve(first + ".idx"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(directory.resolve(second + ".idx"), FileTime.fromMillis(2000));
+        cache.put(third, index);
+
+        assertNull(cache.get(first));
+        assertNotNull(cache.get(second));
+        assertNotNull(cache.get(third));
+        assertEquals(2, cache.getEntryCount());
+        assertTrue(cache.getSize() <= indexSize * 2 + indexSize / 2);
+    }
+
+    @Test
+    public void testUnreadableIndexDiscarded() throws IOException {
+        final String key = PersistentIndexCache.createKey(HASH, "", null, null);
+        final PersistentIndexCache cache = new PersistentIndexCache(directory, Long.MAX_VALUE);
+        Files.write(directory.resolve(key + ".idx"), new byte[] {0, 1, 2, 3});
+        assertNull(cache.get(key));
+        assertEquals(1, cache.getMissCount());
+        assertTrue(Files.notExists(directory.resolve(key + ".idx")));
+    }
+
+    private static Index createIndex() throws IOException {
+        final Indexer indexer = new Indexer();
+        try (InputStream in = PersistentIndexCacheTestCase.class.getResourceAsStream(PersistentIndexCacheTestCase.class.getSimpleName() + ".class")) {
+            indexer.index(in);
+        }
+        return indexer.complete();
+    }
+}
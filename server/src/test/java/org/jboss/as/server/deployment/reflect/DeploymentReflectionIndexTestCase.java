@@ -0,0 +1,88 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentReflectionIndex}.
+ */
+public class DeploymentReflectionIndexTestCase {
+
+    private static final Class<?>[] CLASSES = {DeploymentReflectionIndex.class, ClassReflectionIndex.class,
+            ClassReflectionIndexUtil.class, DeploymentReflectionIndexTestCase.class, Base.class, Derived.class};
+
+    @Test
+    public void testConcurrentIndexing() throws Exception {
+        final DeploymentReflectionIndex index = new DeploymentReflectionIndex();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<ClassReflectionIndex[]>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final ClassReflectionIndex[] indexes = new ClassReflectionIndex[CLASSES.length];
+                    for (int j = 0; j < 1000; j++) {
+                        for (int k = 0; k < CLASSES.length; k++) {
+                            indexes[k] = index.getClassIndex(CLASSES[k]);
+                        }
+                    }
+                    return indexes;
+                }));
+            }
+            start.countDown();
+            final ClassReflectionIndex[] expected = results.get(0).get();
+            for (int k = 0; k < CLASSES.length; k++) {
+                assertNotNull(expected[k]);
+                assertEquals(CLASSES[k], expected[k].getIndexedClass());
+            }
+            // Every thread got the same index for each class, as each class is indexed once
+            for (Future<ClassReflectionIndex[]> result : results) {
+                final ClassReflectionIndex[] indexes = result.get();
+                for (int k = 0; k < CLASSES.length; k++) {
+                    assertSame(expected[k], indexes[k]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSuperclassMethods() {
+        final DeploymentReflectionIndex index = new DeploymentReflectionIndex();
+        // The superclass is indexed while the methods of the subclass are looked up
+        final Collection<Method> methods = ClassReflectionIndexUtil.findAllMethodsByName(index, index.getClassIndex(Derived.class), "run");
+        assertEquals(1, methods.size());
+        assertEquals(Base.class, methods.iterator().next().getDeclaringClass());
+        assertSame(index.getClassIndex(Base.class), index.getClassIndex(Base.class));
+    }
+
+    static class Base {
+        void run() {
+        }
+    }
+
+    static class Derived extends Base {
+        void stop() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deploymentoverlay;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CONTENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT_OVERLAY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.dmr.ModelNode;
+import org.jboss.vfs.VFS;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ReadContentHandler}.
+ */
+public class ReadContentHandlerTestCase {
+
+    @Test
+    public void testContentReleasedOnceRead() throws Exception {
+        final Path dir = Files.createTempDirectory("read-content");
+        // A copy of the content, like the one reassembled from chunks, which is deleted once released
+        final Path copy = Files.write(dir.resolve("copy"), "overlay".getBytes(StandardCharsets.UTF_8));
+        final ContentRepository repository = (ContentRepository) Proxy.newProxyInstance(ContentRepository.class.getClassLoader(),
+                new Class<?>[]{ContentRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getContent":
+                            return VFS.getChild(copy.toUri());
+                        case "releaseContent":
+                            Files.delete(copy);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        final PathAddress address = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT_OVERLAY, "overlay"),
+                PathElement.pathElement(CONTENT, "overlay.txt"));
+        final Resource root = Resource.Factory.create();
+        final Resource overlay = Resource.Factory.create();
+        final Resource content = Resource.Factory.create();
+        content.getModel().get(CONTENT).set(new byte[20]);
+        root.registerChild(address.getElement(0), overlay);
+        overlay.registerChild(address.getElement(1), content);
+        final ModelNode result = new ModelNode();
+        final OperationContext context = (OperationContext) Proxy.newProxyInstance(OperationContext.class.getClassLoader(),
+                new Class<?>[]{OperationContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getOriginalRootResource":
+                            return root;
+                        case "getResult":
+                            return result;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        final ModelNode operation = new ModelNode();
+        operation.get(OP_ADDR).set(address.toModelNode());
+
+        try {
+            new ReadContentHandler(repository).execute(context, operation);
+            assertEquals("overlay", result.asString());
+            assertFalse(Files.exists(copy));
+        } finally {
+            Files.deleteIfExists(copy);
+            Files.delete(dir);
+        }
+    }
+}